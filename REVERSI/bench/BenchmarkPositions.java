@@ -0,0 +1,79 @@
+import java.util.List;
+import java.util.Random;
+import model.BasicReversi;
+import model.BitboardSquareReversi;
+import model.Cell;
+import model.ReversiModel;
+import model.SquareReversi;
+
+
+/**
+ * Makes the fixed positions that the benchmarks are run on, so that every run of a benchmark
+ * measures the same positions.
+ */
+final class BenchmarkPositions {
+
+  //the seed of the random moves played to reach a mid-game position
+  static final long SEED = 20240501L;
+
+  private BenchmarkPositions() {
+  }
+
+
+  /**
+   * creates a new, unstarted model of the given type.
+   * @param boardType "hexagon", "square", or "bitboard".
+   * @return the model.
+   * @throws IllegalArgumentException if the board type does not exist.
+   */
+  static ReversiModel newModel(String boardType) {
+    if (boardType.equals("hexagon")) {
+      return new BasicReversi();
+    }
+    if (boardType.equals("square")) {
+      return new SquareReversi();
+    }
+    if (boardType.equals("bitboard")) {
+      return new BitboardSquareReversi();
+    }
+    else {
+      throw new IllegalArgumentException("invalid board type");
+    }
+  }
+
+
+  /**
+   * creates a game in the middle: a new game where random valid moves (from a fixed seed) have
+   * been played until about half of the empty cells are filled.
+   * @param boardType "hexagon", "square", or "bitboard".
+   * @param sideLength the side length of the board.
+   * @return the model of the game, where the current player has a valid move.
+   * @throws IllegalArgumentException if the board type does not exist.
+   */
+  static ReversiModel midGame(String boardType, int sideLength) {
+    ReversiModel model = newModel(boardType);
+    model.startGame(sideLength);
+    Random random = new Random(SEED);
+    int cells = 0;
+    for (List<Cell> row : model.getGameBoard()) {
+      cells += row.size();
+    }
+    int moves = (cells - 6) / 2;
+    for (int i = 0; i < moves && !model.isGameOver(); i++) {
+      List<Cell> valids = model.getValidMoves();
+      if (valids.isEmpty()) {
+        model.applyPass();
+      }
+      else {
+        Cell cell = valids.get(random.nextInt(valids.size()));
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      }
+    }
+    //takes back moves until the current player can move, so that every benchmark has a move
+    while (model.isGameOver() || model.forcedPass()) {
+      model.undoMove();
+    }
+    return model;
+  }
+
+}
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.BoardView;
+import model.Cell;
+import model.PlayerEnum;
+import model.ReversiModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Benchmarks of the methods of the models that the AI players call the most, on a fixed game in
+ * the middle for each type and size of board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+  @Param({"hexagon", "square", "bitboard"})
+  public String boardType;
+
+  @Param({"4", "6", "8"})
+  public int sideLength;
+
+  private ReversiModel model;
+  //every cell of the board, and the cells the current player can move to
+  private List<Cell> cells;
+  private Cell move;
+
+
+  /**
+   * makes the mid-game position measured.
+   */
+  @Setup
+  public void setUp() {
+    this.model = BenchmarkPositions.midGame(this.boardType, this.sideLength);
+    this.cells = new ArrayList<>();
+    for (List<Cell> row : this.model.getGameBoard()) {
+      this.cells.addAll(row);
+    }
+    this.move = this.model.getValidMoves().get(0);
+  }
+
+
+  //starts a new game on a new model
+  @Benchmark
+  public ReversiModel startGame() {
+    ReversiModel fresh = BenchmarkPositions.newModel(this.boardType);
+    fresh.startGame(this.sideLength);
+    return fresh;
+  }
+
+  //checks whether every cell of the board is a valid move
+  @Benchmark
+  public void checkValid(Blackhole blackhole) {
+    for (Cell cell : this.cells) {
+      blackhole.consume(this.model.checkValid(cell.getDiagonalPos(), cell.getRowPos()));
+    }
+  }
+
+  //counts the pieces gained by moving to every cell of the board
+  @Benchmark
+  public void countPiecesGained(Blackhole blackhole) {
+    for (Cell cell : this.cells) {
+      blackhole.consume(this.model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos()));
+    }
+  }
+
+  //makes a move, notifying listeners, and takes it back so the position stays the same
+  @Benchmark
+  public void playerMove() {
+    this.model.playerMove(this.move.getDiagonalPos(), this.move.getRowPos(),
+        this.model.getPlayerTurn().toString().equals(PlayerEnum.X.toString())
+            ? PlayerEnum.X : PlayerEnum.O);
+    this.model.undoMove();
+  }
+
+  //makes a move without notifying listeners, and takes it back
+  @Benchmark
+  public void applyMove() {
+    this.model.applyMove(this.move.getDiagonalPos(), this.move.getRowPos());
+    this.model.undoMove();
+  }
+
+  //checks whether the current player has to pass
+  @Benchmark
+  public boolean forcedPass() {
+    return this.model.forcedPass();
+  }
+
+  //gets a copy of the game board
+  @Benchmark
+  public ArrayList<ArrayList<Cell>> getGameBoard() {
+    return this.model.getGameBoard();
+  }
+
+  //reads the state of every cell through the board view, which does not copy the board
+  @Benchmark
+  public void getBoardView(Blackhole blackhole) {
+    BoardView view = this.model.getBoardView();
+    for (int index = 0; index < view.size(); index++) {
+      blackhole.consume(view.getState(index));
+    }
+  }
+
+  //finds every valid move of the current player
+  @Benchmark
+  public List<Cell> getValidMoves() {
+    return this.model.getValidMoves();
+  }
+
+}
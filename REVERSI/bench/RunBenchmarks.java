@@ -0,0 +1,31 @@
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * A class which holds the main method that runs the benchmarks.
+ */
+public final class RunBenchmarks {
+
+  /**
+   * runs the benchmarks.
+   * Note: to run only some of the benchmarks, enter a regular expression matching their names,
+   *       for example "ModelBenchmark" or "StrategyBenchmark.chooseMove".
+   * @param args the benchmarks to run, or nothing to run all of them.
+   * @throws RunnerException if the benchmarks could not be run.
+   */
+  public static void main(String[] args) throws RunnerException {
+    OptionsBuilder builder = new OptionsBuilder();
+    if (args.length == 0) {
+      builder.include("Benchmark");
+    }
+    for (String arg : args) {
+      builder.include(arg);
+    }
+    Options options = builder.build();
+    new Runner(options).run();
+  }
+
+}
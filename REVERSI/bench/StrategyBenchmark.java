@@ -0,0 +1,113 @@
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.PlayerEnum;
+import model.ReversiModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import strategy.AlphaBetaSearch;
+import strategy.AvoidCorners;
+import strategy.CaptureMostPieces;
+import strategy.Coord;
+import strategy.GoForCorners;
+import strategy.MonteCarloTreeSearch;
+import strategy.RolloutPolicy;
+import strategy.Strategy;
+import strategy.TranspositionTable;
+import strategy.TryTwo;
+
+
+/**
+ * Benchmarks of choosing one move with each strategy, on a fixed game in the middle for each type
+ * and size of board. The searches are limited by depth or number of playouts instead of time, so
+ * that each one does the same amount of work on every run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+  //the depth of the alpha-beta searches, and the playouts of the Monte Carlo searches
+  private static final int SEARCH_DEPTH = 4;
+  private static final int PLAYOUTS = 1000;
+  //a time budget long enough that the searches are never stopped by it
+  private static final long NO_TIME_LIMIT = 1000000;
+
+  @Param({"easy", "medium", "hard", "alphabeta", "mcts"})
+  public String strategyName;
+
+  @Param({"hexagon", "square", "bitboard"})
+  public String boardType;
+
+  @Param({"4", "6", "8"})
+  public int sideLength;
+
+  private ReversiModel model;
+  private PlayerEnum player;
+  private TranspositionTable table;
+  private Strategy strategy;
+
+
+  /**
+   * makes the mid-game position measured.
+   */
+  @Setup
+  public void setUp() {
+    this.model = BenchmarkPositions.midGame(this.boardType, this.sideLength);
+    this.player = this.model.getPlayerTurn().toString().equals(PlayerEnum.X.toString())
+        ? PlayerEnum.X : PlayerEnum.O;
+    this.table = new TranspositionTable(AlphaBetaSearch.DEFAULT_TABLE_SIZE);
+  }
+
+
+  /**
+   * makes a new strategy before every move, so that no search starts from what it remembered
+   * from the move before.
+   */
+  @Setup(Level.Invocation)
+  public void newStrategy() {
+    Strategy easy = new CaptureMostPieces();
+    Strategy medium = new TryTwo(new AvoidCorners(), easy);
+    Strategy hard = new TryTwo(new GoForCorners(), medium);
+    if (this.strategyName.equals("easy")) {
+      this.strategy = easy;
+    }
+    else if (this.strategyName.equals("medium")) {
+      this.strategy = medium;
+    }
+    else if (this.strategyName.equals("hard")) {
+      this.strategy = hard;
+    }
+    else if (this.strategyName.equals("alphabeta")) {
+      this.table.clear();
+      this.strategy = new AlphaBetaSearch(NO_TIME_LIMIT, SEARCH_DEPTH, this.table);
+    }
+    else if (this.strategyName.equals("mcts")) {
+      this.strategy = new MonteCarloTreeSearch(RolloutPolicy.RANDOM, PLAYOUTS, NO_TIME_LIMIT,
+          new Random(BenchmarkPositions.SEED));
+    }
+    else {
+      throw new IllegalArgumentException("invalid strategy");
+    }
+  }
+
+
+  //chooses one move for the current player
+  @Benchmark
+  public Coord chooseMove() {
+    return this.strategy.chooseMove(this.model, this.player);
+  }
+
+}
@@ -1,18 +1,31 @@
 
 import controller.ReversiController;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import model.BasicReversi;
+import model.BitboardHexReversi;
+import model.BitboardSquareReversi;
 import model.Player;
 import model.PlayerEnum;
 import model.ReversiModel;
 import model.SquareReversi;
+import perft.Perft;
 import player.AIPlayer;
 import player.ActivePlayer;
 import player.HumanPlayer;
+import strategy.AlphaBetaSearch;
 import strategy.AvoidCorners;
 import strategy.CaptureMostPieces;
+import strategy.EndgameSolver;
 import strategy.GoForCorners;
+import strategy.OpeningBook;
+import strategy.OpeningBookBuilder;
+import strategy.ParallelAlphaBetaSearch;
 import strategy.Strategy;
 import strategy.TryTwo;
+import tournament.Tournament;
+import tournament.TournamentResult;
 import view.gui.ReversiFrame;
 
 
@@ -26,10 +39,31 @@ public final class Reversi {
    * starts and opens a game of Reversi.
    * Note: if you want to pick the board size, enter the side length as the first argument.
    *       if you want a human player, enter "human".
-   *       if you want an AI player, enter "easy", "medium", or "hard".
+   *       if you want an AI player, enter "easy", "medium", "hard", or "expert".
+   *       if you want an "expert" player on a square board with a side length of at most 8,
+   *       enter the "bitboard" game type rather than "square": in the same time, it searches
+   *       about 8 moves ahead on a bitboard but only about 6 on the plain square board.
+   *       if you want to play many games between two AI players without a window, enter
+   *       "tournament" first, and the number of games before the two players.
+   *       if you want to build an opening book for the "expert" player, enter "book" first, then
+   *       the game type, an optional side length, and the number of moves to put in the book.
+   *       if you want to count every line of moves and measure the nodes a second of a game type,
+   *       enter "perft" first, then the game type, an optional side length, and the depth.
    * @param args inputted arguments that control the game.
    */
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("tournament")) {
+      runTournament(args);
+      return;
+    }
+    if (args.length > 0 && args[0].equals("book")) {
+      buildBook(args);
+      return;
+    }
+    if (args.length > 0 && args[0].equals("perft")) {
+      runPerft(args);
+      return;
+    }
     if (args.length < 3) {
       throw new IllegalArgumentException("enter a valid command");
     }
@@ -43,19 +77,14 @@ public final class Reversi {
     if (args.length == 4) {
       model = createModel(args[0]);
       sideLength = Integer.parseInt(args[1]);
-      p1 = makePlayer(args[2], model, PlayerEnum.X);
-      p2 = makePlayer(args[3], model, PlayerEnum.O);
+      p1 = makePlayer(args[2], model, PlayerEnum.X, sideLength);
+      p2 = makePlayer(args[3], model, PlayerEnum.O, sideLength);
     }
     else {
       model = createModel(args[0]);
-      if (model.isSquareReversi()) {
-        sideLength = 8;
-      }
-      else {
-        sideLength = 4;
-      }
-      p1 = makePlayer(args[1], model, PlayerEnum.X);
-      p2 = makePlayer(args[2], model, PlayerEnum.O);
+      sideLength = defaultSideLength(args[0]);
+      p1 = makePlayer(args[1], model, PlayerEnum.X, sideLength);
+      p2 = makePlayer(args[2], model, PlayerEnum.O, sideLength);
     }
 
     ReversiFrame viewP1 = new ReversiFrame(model);
@@ -65,22 +94,145 @@ public final class Reversi {
     model.startGame(sideLength);
   }
 
-  private static ActivePlayer makePlayer(String command, ReversiModel model, Player player) {
-    Strategy easy = new CaptureMostPieces();
-    Strategy medium = new TryTwo(new AvoidCorners(), easy);
-    Strategy hard = new TryTwo(new GoForCorners(), medium);
+  /**
+   * plays many games between two AI players with no view or controller, and prints the results.
+   * the arguments are "tournament", the game type, an optional side length, the number of games,
+   * and the two players.
+   * @param args inputted arguments that control the tournament.
+   */
+  private static void runTournament(String[] args) {
+    if (args.length != 5 && args.length != 6) {
+      throw new IllegalArgumentException("enter a valid command");
+    }
+    String gameType = args[1];
+    boolean square = createModel(gameType).isSquareReversi();
+    int sideLength;
+    if (args.length == 6) {
+      sideLength = Integer.parseInt(args[2]);
+    }
+    else {
+      sideLength = defaultSideLength(gameType);
+    }
+    int games = Integer.parseInt(args[args.length - 3]);
+    String first = args[args.length - 2];
+    String second = args[args.length - 1];
+    //checks both commands before any games are played
+    makeStrategy(first, 1, square, sideLength).close();
+    makeStrategy(second, 1, square, sideLength).close();
 
+    //the games are already played on every core, so each search uses one thread
+    Tournament tournament = new Tournament(() -> createModel(gameType), sideLength,
+        () -> makeStrategy(first, 1, square, sideLength),
+        () -> makeStrategy(second, 1, square, sideLength),
+        Runtime.getRuntime().availableProcessors());
+    TournamentResult result = tournament.play(games);
+    System.out.println(first + " vs " + second);
+    System.out.println(result);
+  }
+
+  /**
+   * searches every position of the first moves of a game and writes the best moves to the
+   * opening book file of the game type and side length, in the working directory.
+   * the arguments are "book", the game type, an optional side length, and the number of moves.
+   * @param args inputted arguments that control the book.
+   */
+  private static void buildBook(String[] args) {
+    if (args.length != 3 && args.length != 4) {
+      throw new IllegalArgumentException("enter a valid command");
+    }
+    ReversiModel model = createModel(args[1]);
+    int sideLength;
+    if (args.length == 4) {
+      sideLength = Integer.parseInt(args[2]);
+    }
+    else {
+      sideLength = defaultSideLength(args[1]);
+    }
+    int depth = Integer.parseInt(args[args.length - 1]);
+    model.startGame(sideLength);
+    Path file = Paths.get(OpeningBook.fileName(model.isSquareReversi(), sideLength));
+    int positions = new OpeningBookBuilder(new AlphaBetaSearch(), depth).build(model, file);
+    System.out.println(positions + " positions written to " + file);
+  }
+
+  /**
+   * counts every line of moves from the start of a game to each depth up to the given one, and
+   * prints the counts and the nodes a second. a bitboard game type is also checked against the
+   * model it has to match, and the first difference is printed.
+   * the arguments are "perft", the game type, an optional side length, and the depth.
+   * @param args inputted arguments that control the count.
+   */
+  private static void runPerft(String[] args) {
+    if (args.length != 3 && args.length != 4) {
+      throw new IllegalArgumentException("enter a valid command");
+    }
+    String gameType = args[1];
+    int sideLength;
+    if (args.length == 4) {
+      sideLength = Integer.parseInt(args[2]);
+    }
+    else {
+      sideLength = defaultSideLength(gameType);
+    }
+    int depth = Integer.parseInt(args[args.length - 1]);
+    Perft perft = new Perft(() -> createModel(gameType), sideLength);
+    for (int i = 1; i <= depth; i++) {
+      System.out.println(perft.run(i));
+    }
+
+    String reference = null;
+    if (gameType.equals("bitboard")) {
+      reference = "square";
+    }
+    else if (gameType.equals("hexagon-bitboard")) {
+      reference = "hexagon";
+    }
+    if (reference != null) {
+      String referenceType = reference;
+      String difference = new Perft(() -> createModel(referenceType), sideLength)
+          .compare(() -> createModel(gameType), depth);
+      System.out.println(difference == null ? "matches " + reference
+          : "differs from " + reference + " " + difference);
+    }
+  }
+
+  private static ActivePlayer makePlayer(String command, ReversiModel model, Player player,
+      int sideLength) {
     if (command.equals("human")) {
       return new HumanPlayer(model, player);
     }
+    else {
+      return new AIPlayer(makeStrategy(command, Runtime.getRuntime().availableProcessors(),
+          model.isSquareReversi(), sideLength), model, player);
+    }
+  }
+
+  private static Strategy makeStrategy(String command, int searchThreads, boolean square,
+      int sideLength) {
+    Strategy easy = new CaptureMostPieces();
+    Strategy medium = new TryTwo(new AvoidCorners(), easy);
+    Strategy hard = new TryTwo(new GoForCorners(), medium);
+
     if (command.equals("easy")) {
-      return new AIPlayer(easy, model, player);
+      return easy;
     }
     if (command.equals("medium")) {
-      return new AIPlayer(medium, model, player);
+      return medium;
     }
     if (command.equals("hard")) {
-      return new AIPlayer(hard, model, player);
+      //plays the end of the game perfectly once few enough cells are empty
+      return new TryTwo(new EndgameSolver(), hard);
+    }
+    if (command.equals("expert")) {
+      //searches on several cores, so the same time budget searches deeper
+      Strategy search = new TryTwo(new EndgameSolver(),
+          new ParallelAlphaBetaSearch(AlphaBetaSearch.DEFAULT_TIME_BUDGET, searchThreads));
+      //plays the first moves from the opening book of this board, if one has been built
+      Path book = Paths.get(OpeningBook.fileName(square, sideLength));
+      if (Files.isRegularFile(book)) {
+        return new OpeningBook(book, search);
+      }
+      return search;
     }
     else {
       throw new IllegalArgumentException("enter a valid command.");
@@ -94,6 +246,25 @@ public final class Reversi {
     if (arg.equals("square")) {
       return new SquareReversi();
     }
+    if (arg.equals("bitboard")) {
+      return new BitboardSquareReversi();
+    }
+    if (arg.equals("hexagon-bitboard")) {
+      return new BitboardHexReversi();
+    }
+    else {
+      throw new IllegalArgumentException("enter a valid game type.");
+    }
+  }
+
+  //the side length of a game type when none is entered: 8 for a square board, 4 for a hexagon
+  private static int defaultSideLength(String arg) {
+    if (arg.equals("square") || arg.equals("bitboard")) {
+      return 8;
+    }
+    if (arg.equals("hexagon") || arg.equals("hexagon-bitboard")) {
+      return 4;
+    }
     else {
       throw new IllegalArgumentException("enter a valid game type.");
     }
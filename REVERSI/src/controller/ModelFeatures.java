@@ -1,5 +1,7 @@
 package controller;
 
+import model.ModelChange;
+
 
 /**
  * An interface that communicates with the controller to update the view after a move is
@@ -7,6 +9,13 @@ package controller;
  */
 public interface ModelFeatures {
 
+  /**
+   * Signals one change to the model (the start of the game, a move, or a pass), once for the
+   * whole change, so the listener can react to all of it at once.
+   * @param change the change made to the model.
+   */
+  void modelChanged(ModelChange change);
+
   /**
    * Updates the every view that references the model by repainting the view panel.
    */
@@ -1,5 +1,6 @@
 package controller;
 
+import model.ModelChange;
 import model.Player;
 import model.ReversiModel;
 import player.ActivePlayer;
@@ -14,6 +15,9 @@ public class ReversiController implements ViewFeatures, ModelFeatures, PlayerFea
   private final ReversiModel model;
   private final FrameView view;
   private final ActivePlayer player;
+  //the change to the model being reacted to, so that only the cells it touched are repainted,
+  //or null when the view is updated for any other reason
+  private ModelChange change;
 
 
   /**
@@ -42,14 +46,13 @@ public class ReversiController implements ViewFeatures, ModelFeatures, PlayerFea
   @Override
   public void playerMove(int diagonalPos, int rowPos) {
     try {
+      //the model signals the change once the move is made, which updates the view
       model.playerMove(diagonalPos, rowPos, player.getPlayer());
     } catch (IllegalArgumentException | IllegalStateException e) {
       view.showMessageDialog(e.getMessage());
       view.deselectAll();
       view.refresh();
     }
-    view.deselectAll();
-    view.refresh();
   }
 
 
@@ -65,17 +68,37 @@ public class ReversiController implements ViewFeatures, ModelFeatures, PlayerFea
       view.deselectAll();
       view.refresh();
     }
-    view.deselectAll();
-    view.refresh();
+  }
+
+
+  /**
+   * Reacts to one change to the model all at once: updates the view a single time, notifies the
+   * player if it is their turn, starts an AI move, and displays the winner if the game is over.
+   * @param change the change made to the model.
+   */
+  @Override
+  public void modelChanged(ModelChange change) {
+    this.change = change;
+    try {
+      this.update();
+    }
+    finally {
+      this.change = null;
+    }
+    this.notifyPlayerTurn();
+    this.makeMoveIfAI();
+    this.displayGameOver();
   }
 
 
   /**
    * Displays a message that the game is over and who the winner is when the game is over.
+   * Also stops an AI player from choosing a move that can no longer be made.
    */
   @Override
   public void displayGameOver() {
     if (model.isGameOver()) {
+      player.cancelMove();
       view.showMessageDialog("Game Over. " + getWinnerMessage(model.getWinner()));
     }
   }
@@ -83,11 +106,17 @@ public class ReversiController implements ViewFeatures, ModelFeatures, PlayerFea
 
   /**
    * Updates the every view that references the model by repainting the view panel.
+   * While reacting to a change to the model, only the cells that changed are repainted.
    */
   @Override
   public void update() {
     view.deselectAll();
-    view.refresh();
+    if (this.change == null) {
+      view.refresh();
+    }
+    else {
+      view.refresh(this.change);
+    }
   }
 
 
@@ -110,16 +139,15 @@ public class ReversiController implements ViewFeatures, ModelFeatures, PlayerFea
 
   /**
    * Signals to the controller that if the next player is an AI player, they must make a move.
+   * The AI chooses its move on its own thread and makes it later on the event thread, so the
+   * view keeps responding, and AI players moving one after another do not call into each other.
    */
   @Override
   public void makeMoveIfAI() {
-    view.deselectAll();
-    view.refresh();
     if (!player.isHumanPlayer()) {
-      if (model.getPlayerTurn().toString().equals(player.getPlayer().toString())) {
-        player.makeMove();
-        view.deselectAll();
-        view.refresh();
+      if (model.getPlayerTurn().toString().equals(player.getPlayer().toString())
+          && !model.isGameOver()) {
+        player.makeMoveLater();
       }
     }
   }
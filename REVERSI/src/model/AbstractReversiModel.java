@@ -3,6 +3,7 @@ package model;
 import controller.ModelFeatures;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -21,6 +22,98 @@ public abstract class AbstractReversiModel implements ReversiModel {
   //      represents a player pass).
   protected List<Boolean> turnsTaken;
   protected final List<ModelFeatures> featuresListener;
+  //the cells of the game board indexed by position (see getIndex). positions in the array that
+  //are not on the game board are null. filled in by each model when the board is created.
+  protected Cell[] cells;
+  //the state of every cell, in the same layout as cells, as the codes of the players occupying
+  //them (see PlayerEnum.getCode). the cells of the game board are views of this array, and the
+  //model reads and changes the board through it.
+  protected byte[] states;
+  //for each position in cells and each direction on the board, the indices of the cells passed
+  //through walking from that position to the edge of the board.
+  protected int[][][] rays;
+  //the rays of every cell, numbered in board order like the board view (see BoardView.getRay)
+  protected int[][][] boardRays;
+  //the index in cells of every cell of the game board, in the same order as the game board
+  protected int[] boardOrder;
+  //the position in boardOrder of each position in cells, -1 for positions not on the board
+  protected int[] boardPlaces;
+  //the position in boardOrder where each row of the game board starts, followed by the number of
+  //cells on the board
+  protected int[] rowStarts;
+  //the row of the game board of each position in cells
+  protected int[] cellRows;
+  //the indices of the cells of the game board that are corners, that are next to a corner, and
+  //that are on an edge of the board. found once when the board is created.
+  protected final BitSet cornerCells;
+  protected final BitSet nearCornerCells;
+  protected final BitSet edgeCells;
+  //for each position in cells, how good it usually is to hold that cell (see getPositionWeight)
+  protected int[] positionWeights;
+  //for each symmetry of the game board (a rotation or reflection that maps the board onto
+  //itself), the index in cells that every position is moved to. symmetry 0 leaves the board as
+  //it is. found once when the board is created.
+  protected int[][] symmetries;
+  //the symmetry that undoes each symmetry
+  protected int[] inverseSymmetries;
+  //the indices of the empty cells that player X could move to
+  protected final BitSet xValidMoves;
+  //the indices of the empty cells that player O could move to
+  protected final BitSet oValidMoves;
+  //a record of every move and pass made since the start of the game, so they can be undone.
+  //each move is stored as the indices of the cells it turned over, followed by the index of the
+  //placed piece (-1 for a pass), the number of cells turned over, and the turns taken before it.
+  protected int[] undoStack;
+  //the number of values currently stored in the undo stack
+  protected int undoSize;
+  //for each position in cells, the random key of player X (at index * 2) and player O
+  //(at index * 2 + 1) occupying it. the keys only depend on the position, so the same position
+  //has the same key in every model with the same board.
+  protected long[] zobristKeys;
+  //the keys of every occupied cell and of the player turn xor-ed together, kept up to date
+  //whenever a cell changes or the turn switches
+  protected long positionKey;
+  //the number of cells of the game board in each state, indexed by the code of the state (see
+  //PlayerEnum.getCode), kept up to date whenever a cell changes
+  protected final int[] stateCounts;
+
+  //the codes of the states of a cell
+  protected static final byte EMPTY = 0;
+  protected static final byte X = 1;
+  protected static final byte O = 2;
+
+  //the weights of holding a corner, a cell next to a corner, any other cell on an edge, and any
+  //other cell
+  public static final int CORNER_WEIGHT = 25;
+  public static final int NEAR_CORNER_WEIGHT = -8;
+  public static final int EDGE_WEIGHT = 4;
+  public static final int INNER_WEIGHT = 1;
+
+  //the key xor-ed into the position key while it is player O's turn. mixKey(-1) is 0, so the
+  //keys that are not cell keys start from -2
+  static final long TURN_KEY = mixKey(-2);
+  //the keys xor-ed into the position key when the earlier or the latest turn was a pass
+  static final long EARLIER_PASS_KEY = mixKey(-3);
+  static final long LATEST_PASS_KEY = mixKey(-4);
+
+  //the view of the board handed out by getBoardView, which reads this model directly
+  private final BoardView boardView;
+  //the most recent snapshot made by getSnapshot and the layout of its board, null until the
+  //first snapshot of a game
+  private BoardSnapshot snapshot;
+  private BoardSnapshot.Layout snapshotLayout;
+  //the rows of the game board with a cell that changed since the most recent snapshot
+  private final BitSet changedRows;
+  //the valid moves of the current player found by evaluateMoves, null once a cell or the player
+  //turn has changed since
+  private EvaluatedMoves evaluatedMoves;
+  //the position key the canonical key was last worked out for, and the canonical key and
+  //symmetry found for it. the symmetry is -1 until it is first worked out for a board.
+  private long canonicalFor;
+  private long canonicalKey;
+  private int canonicalSymmetry;
+  //the key of the board turned by each symmetry, used while working out the canonical key
+  private long[] symmetryKeys;
 
   /**
    * constructs a game of reversi.
@@ -30,6 +123,34 @@ public abstract class AbstractReversiModel implements ReversiModel {
     this.playerTurn = PlayerEnum.X;
     this.turnsTaken = new ArrayList<>(Arrays.asList(true, true));
     this.featuresListener = new ArrayList<>();
+    this.cells = new Cell[0];
+    this.states = new byte[0];
+    this.rays = new int[0][][];
+    this.boardOrder = new int[0];
+    this.rowStarts = new int[] {0};
+    this.cellRows = new int[0];
+    this.boardView = new LiveBoardView();
+    this.snapshot = null;
+    this.snapshotLayout = null;
+    this.changedRows = new BitSet();
+    this.evaluatedMoves = null;
+    this.cornerCells = new BitSet();
+    this.nearCornerCells = new BitSet();
+    this.edgeCells = new BitSet();
+    this.positionWeights = new int[0];
+    this.symmetries = new int[][] {new int[0]};
+    this.inverseSymmetries = new int[] {0};
+    this.xValidMoves = new BitSet();
+    this.oValidMoves = new BitSet();
+    this.undoStack = new int[64];
+    this.undoSize = 0;
+    this.zobristKeys = new long[0];
+    this.positionKey = 0;
+    this.canonicalFor = 0;
+    this.canonicalKey = 0;
+    this.canonicalSymmetry = -1;
+    this.symmetryKeys = new long[1];
+    this.stateCounts = new int[3];
   }
 
   /**
@@ -47,6 +168,76 @@ public abstract class AbstractReversiModel implements ReversiModel {
   public abstract ArrayList<ArrayList<Cell>> getGameBoard();
 
 
+  /**
+   * returns a read-only view of the current game board, which reads this model directly instead
+   * of copying the board. the same view is returned every time, and it always shows the current
+   * state of the game.
+   * @return the view of the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public BoardView getBoardView() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    else {
+      return this.boardView;
+    }
+  }
+
+
+  /**
+   * returns an immutable snapshot of the current position, which can be kept and read by any
+   * thread. the snapshot only copies the rows of the board that changed since the previous
+   * snapshot, and shares the rest with it. if nothing changed since the previous snapshot, the
+   * previous snapshot is returned.
+   * note: this must be called on the thread that makes moves on this model.
+   * @return the snapshot of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public BoardSnapshot getSnapshot() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.snapshot != null && this.changedRows.isEmpty()
+        && this.snapshot.getPlayerTurn() == this.playerTurn
+        && this.snapshot.getTurnsTaken().equals(this.turnsTaken)) {
+      return this.snapshot;
+    }
+    if (this.snapshotLayout == null) {
+      int[] diagonals = new int[this.boardOrder.length];
+      int[] rowPositions = new int[this.boardOrder.length];
+      long[] cellKeys = new long[this.boardOrder.length * 2];
+      for (int i = 0; i < this.boardOrder.length; i++) {
+        diagonals[i] = this.cells[this.boardOrder[i]].getDiagonalPos();
+        rowPositions[i] = this.cells[this.boardOrder[i]].getRowPos();
+        cellKeys[i * 2] = this.cellKey(this.boardOrder[i], X);
+        cellKeys[(i * 2) + 1] = this.cellKey(this.boardOrder[i], O);
+      }
+      this.snapshotLayout = new BoardSnapshot.Layout(diagonals, rowPositions, this.rowStarts,
+          this.boardRays, cellKeys, this.isSquareReversi(), this.getBoardSideLength());
+    }
+    byte[][] rows = new byte[this.snapshotLayout.getRowCount()][];
+    for (int row = 0; row < rows.length; row++) {
+      if (this.snapshot != null && !this.changedRows.get(row)) {
+        rows[row] = this.snapshot.getRowStates(row);
+      }
+      else {
+        rows[row] = new byte[this.snapshotLayout.getRowLength(row)];
+        for (int i = 0; i < rows[row].length; i++) {
+          rows[row][i] = this.states[this.boardOrder[this.rowStarts[row] + i]];
+        }
+      }
+    }
+    this.snapshot = new BoardSnapshot(this.snapshotLayout, rows, this.playerTurn,
+        this.turnsTaken.get(0), this.turnsTaken.get(1), this.getPlayerScore(PlayerEnum.X),
+        this.getPlayerScore(PlayerEnum.O), this.getPositionKey());
+    this.changedRows.clear();
+    return this.snapshot;
+  }
+
+
   /**
    * the current player's turn in a reversi game.
    * @return the curent player turn in a reversi game.
@@ -114,7 +305,183 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * @return true if there are no valid moves in any of the empty cells for the current player.
    * @throws IllegalStateException if the game has not been started.
    */
-  public abstract boolean forcedPass();
+  @Override
+  public boolean forcedPass() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    return this.currentValidMoves().isEmpty();
+  }
+
+
+  /**
+   * returns all the cells that the current player can move to.
+   * note: the valid moves of both players are kept up to date after every move, so this
+   *     does not check every cell on the board.
+   * @return the cells in the game board that would currently be a valid move, in the same
+   *     order as they appear in the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public List<Cell> getValidMoves() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    BitSet moves = this.currentValidMoves();
+    List<Cell> valids = new ArrayList<>();
+    for (int index = moves.nextSetBit(0); index >= 0; index = moves.nextSetBit(index + 1)) {
+      valids.add(this.cells[index]);
+    }
+    return valids;
+  }
+
+
+  /**
+   * finds every cell the current player can move to and the number of pieces each move would
+   * turn over, all in one pass over the board. the result is kept until a cell or the player
+   * turn changes, so strategies asking about the same position share it.
+   * @return the valid moves and their pieces gained, in the same order as getValidMoves.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public EvaluatedMoves evaluateMoves() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.evaluatedMoves == null) {
+      this.evaluatedMoves = new EvaluatedMoves(this.packValidMoves());
+    }
+    return this.evaluatedMoves;
+  }
+
+
+  /**
+   * makes a copy of the current game that can be played on without changing this game.
+   * the copy has the same board, player turn, and turns taken, but no listeners and no moves
+   * to undo.
+   * @return a started model of the same type as this one, in the same position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public ReversiModel copy() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    AbstractReversiModel copy = this.newModel();
+    copy.startGame(this.getBoardSideLength());
+    for (int index : this.boardOrder) {
+      copy.setCell(index, PlayerEnum.fromCode(this.states[index]));
+    }
+    copy.playerTurn = this.playerTurn;
+    copy.turnsTaken.set(0, this.turnsTaken.get(0));
+    copy.turnsTaken.set(1, this.turnsTaken.get(1));
+    copy.findAllValidMoves();
+    copy.resetPositionKey();
+    return copy;
+  }
+
+
+  /**
+   * a 64-bit key of the current position, made by xor-ing together a random key for every
+   * occupied cell, the player turn, and whether the recent turns were passes (Zobrist hashing).
+   * the same position always has the same key, and different positions almost never do.
+   * note: the key is kept up to date after every move, so this does not look at the board.
+   * @return the key of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public long getPositionKey() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    long key = this.positionKey;
+    if (!this.turnsTaken.get(0)) {
+      key ^= EARLIER_PASS_KEY;
+    }
+    if (!this.turnsTaken.get(1)) {
+      key ^= LATEST_PASS_KEY;
+    }
+    return key;
+  }
+
+
+  /**
+   * the number of rotations and reflections that map the game board onto itself, including
+   * leaving it as it is.
+   * @return 12 for a hexagon board, 8 for a square board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public int getSymmetryCount() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    return this.symmetries.length;
+  }
+
+
+  /**
+   * the smallest position key of the current position turned by any of the symmetries of the
+   * board, so every rotation and reflection of a position has the same canonical key.
+   * note: the keys of every symmetry are worked out together in one pass over the board, and
+   *     the result is kept until the position changes.
+   * @return the canonical key of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public long getCanonicalKey() {
+    this.findCanonicalKey();
+    return this.canonicalKey;
+  }
+
+
+  /**
+   * the symmetry that turns the current position into the orientation that has the canonical
+   * key, the lowest such symmetry if there are several.
+   * @return the number of the symmetry, from 0 up to the symmetry count.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public int getCanonicalSymmetry() {
+    this.findCanonicalKey();
+    return this.canonicalSymmetry;
+  }
+
+
+  /**
+   * the cell the given position is moved to by the given symmetry of the board.
+   * @param symmetry the number of the symmetry, from 0 up to the symmetry count.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the cell at the moved position.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the symmetry or the coordinates are not in the game.
+   */
+  @Override
+  public Cell transformCell(int symmetry, int diagonalPos, int rowPos) {
+    if (symmetry < 0 || symmetry >= this.getSymmetryCount()) {
+      throw new IllegalArgumentException("invalid symmetry");
+    }
+    Cell cell = this.getCellAtPosn(diagonalPos, rowPos);
+    return this.cells[this.symmetries[symmetry][this.getIndex(cell.getDiagonalPos(),
+        cell.getRowPos())]];
+  }
+
+
+  /**
+   * the symmetry that moves every position back to where the given symmetry found it.
+   * @param symmetry the number of the symmetry, from 0 up to the symmetry count.
+   * @return the number of the inverse symmetry.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the symmetry is not in the game.
+   */
+  @Override
+  public int inverseSymmetry(int symmetry) {
+    if (symmetry < 0 || symmetry >= this.getSymmetryCount()) {
+      throw new IllegalArgumentException("invalid symmetry");
+    }
+    return this.inverseSymmetries[symmetry];
+  }
 
 
   /**
@@ -156,7 +523,17 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * @throws IllegalStateException if the game has not been started.
    * @throws IllegalArgumentException if the coordinates are not in the game.
    */
-  public abstract boolean checkValid(int diagonalPos, int rowPos);
+  @Override
+  public boolean checkValid(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    //the valid moves are kept up to date after every move, and never contain an occupied cell
+    return this.currentValidMoves().get(this.getIndex(diagonalPos, rowPos));
+  }
 
 
 
@@ -166,7 +543,13 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * @return the current score of a given player.
    * @throws IllegalStateException if the game has not been started.
    */
-  public abstract int getPlayerScore(PlayerEnum player);
+  @Override
+  public int getPlayerScore(PlayerEnum player) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    return this.stateCounts[player.getCode()];
+  }
 
 
   /**
@@ -185,7 +568,16 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * @throws IllegalStateException if the game has not been started.
    * @throws IllegalArgumentException if the coordinates are not in the game.
    */
-  public abstract int countPiecesGained(int diagonalPos, int rowPos);
+  @Override
+  public int countPiecesGained(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    return this.findFlips(this.getIndex(diagonalPos, rowPos), this.playerTurn, null, 0);
+  }
 
 
   /**
@@ -204,33 +596,77 @@ public abstract class AbstractReversiModel implements ReversiModel {
     if (this.posnNotInGame(diagonalPos, rowPos)) {
       throw new IllegalArgumentException("invalid position");
     }
-    List<Cell> corners = this.getCorners();
-    //sets nextTo to true if this cell is next to any of the corner cells
-    boolean nextTo = false;
-    for (Cell cell : corners) {
-      int q = cell.getDiagonalPos();
-      int r = cell.getRowPos();
-      if (this.nextTo(diagonalPos, rowPos, q, r)) {
-        nextTo = true;
-        break;
-      }
+    //the cells next to a corner are found once, when the board is created
+    return this.nearCornerCells.get(this.getIndex(diagonalPos, rowPos));
+  }
+
+
+  /**
+   * determines if the given position is on an edge of the board, which includes the corners.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return true if the cell is on an edge.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public boolean posnOnEdge(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
     }
-    return nextTo;
+    return this.edgeCells.get(this.getIndex(diagonalPos, rowPos));
+  }
+
+
+  /**
+   * how good it usually is for a player to hold the cell at the given position: corners can
+   * never be turned over so they are worth the most, the cells next to a corner give the corner
+   * away so they are worth less than nothing, and the other edge cells are harder to turn over
+   * than the cells in the middle of the board.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return CORNER_WEIGHT, NEAR_CORNER_WEIGHT, EDGE_WEIGHT, or INNER_WEIGHT.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public int getPositionWeight(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    return this.positionWeights[this.getIndex(diagonalPos, rowPos)];
   }
 
 
 
   /**
    * determines if the given position is in the corner of the board.
-   * note: it is in the corner if the q,r,s coordinates are equal to 0, (side length - 1),
-   * and -(side length - 1).
+   * note: the corners are the cells with the fewest neighbours, which on a hexagonal board are
+   * the cells whose q,r,s coordinates are 0, (side length - 1), and -(side length - 1), and on
+   * a square board are the four cells at the ends of the first and last rows.
    * @param diagonalPos the diagonal position of the cell.
    * @param rowPos the row position of the cell.
    * @return true if the position given is at the corner of the reversi board.
    * @throws IllegalStateException if the game has not been started.
    * @throws IllegalArgumentException if the coordinates are not in the game.
    */
-  public abstract boolean posnInCorner(int diagonalPos, int rowPos);
+  @Override
+  public boolean posnInCorner(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    //the corners are found once, when the board is created
+    return this.cornerCells.get(this.getIndex(diagonalPos, rowPos));
+  }
 
 
 
@@ -263,26 +699,12 @@ public abstract class AbstractReversiModel implements ReversiModel {
       throw new IllegalStateException("invalid move");
     }
     else {
-      //adds a piece of the current player at the targeted cell
-      this.getCellAtPosn(diagonalPos, rowPos).changeCellState(playerTurn);
-      //turns over all opposing cells in a valid move
-      this.turnOverAllValid(diagonalPos, rowPos);
-      //switches the player turn to the next player
-      this.nextPlayer();
-      //updates the turnsTaken field to reflect a player move
-      this.madeMove(true);
-      for (ModelFeatures features : featuresListener) {
-        features.update();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.notifyPlayerTurn();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.makeMoveIfAI();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.displayGameOver();
-      }
+      //adds a piece of the current player at the targeted cell, turns over all opposing cells,
+      //and switches the player turn to the next player
+      PlayerEnum mover = this.playerTurn;
+      this.makeMove(this.getIndex(diagonalPos, rowPos));
+      //tells each listener about the whole move at once
+      this.fireModelChanged(this.lastChange(mover));
     }
   }
 
@@ -303,25 +725,83 @@ public abstract class AbstractReversiModel implements ReversiModel {
       throw new IllegalArgumentException("not this player's turn");
     }
     else {
-      //updates the turnsTaken field to reflect a player pass
-      this.madeMove(false);
-      //switches the player turn to the next player
-      this.nextPlayer();
-      for (ModelFeatures features : featuresListener) {
-        features.update();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.notifyPlayerTurn();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.makeMoveIfAI();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.makeMoveIfAI();
-      }
-      for (ModelFeatures features : featuresListener) {
-        features.displayGameOver();
+      //updates the turnsTaken field to reflect a player pass and switches the player turn
+      PlayerEnum mover = this.playerTurn;
+      this.makePass();
+      this.fireModelChanged(this.lastChange(mover));
+    }
+  }
+
+
+  /**
+   * Moves the current player to the given position without notifying any listeners.
+   * Used to search through future moves, which can then be taken back with undoMove.
+   * @param diagonalPos  diagonal position for the piece to be placed at.
+   * @param rowPos  row position for the piece to be placed at.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if either positions do not exist on the board.
+   * @throws IllegalStateException if the move is not allowable.
+   */
+  @Override
+  public void applyMove(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    if (!this.checkValid(diagonalPos, rowPos)) {
+      throw new IllegalStateException("invalid move");
+    }
+    this.makeMove(this.getIndex(diagonalPos, rowPos));
+  }
+
+
+  /**
+   * Passes the current player's turn without notifying any listeners.
+   * Used to search through future moves, which can then be taken back with undoMove.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public void applyPass() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    this.makePass();
+  }
+
+
+  /**
+   * Takes back the most recent move or pass, without notifying any listeners.
+   * The board, the player turn, the turns taken, and the valid moves are all returned to
+   * what they were before that move.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalStateException if there are no moves to undo.
+   */
+  @Override
+  public void undoMove() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.undoSize == 0) {
+      throw new IllegalStateException("no moves to undo");
+    }
+    int turns = this.undoStack[--this.undoSize];
+    int numFlipped = this.undoStack[--this.undoSize];
+    int placed = this.undoStack[--this.undoSize];
+    //switches the player turn back to the player who made the move
+    this.nextPlayer();
+    this.turnsTaken.set(0, (turns & 1) != 0);
+    this.turnsTaken.set(1, (turns & 2) != 0);
+    if (placed >= 0) {
+      int flippedFrom = this.undoSize - numFlipped;
+      PlayerEnum opponent = (this.playerTurn == PlayerEnum.X) ? PlayerEnum.O : PlayerEnum.X;
+      for (int i = flippedFrom; i < this.undoSize; i++) {
+        this.setCell(this.undoStack[i], opponent);
       }
+      this.setCell(placed, PlayerEnum.Empty);
+      this.updateValidMoves(placed, flippedFrom, this.undoSize);
+      this.undoSize = flippedFrom;
     }
   }
 
@@ -360,120 +840,350 @@ public abstract class AbstractReversiModel implements ReversiModel {
   protected abstract void assignInitialPieces(int sideLength);
 
 
+  /**
+   * records the order of the cells of the given game board, for the board view. the cells must
+   * already be laid out in the cells array.
+   * @param gameBoard the rows of the game board, from top to bottom.
+   */
+  protected void createBoardOrder(List<? extends List<? extends Cell>> gameBoard) {
+    int size = 0;
+    for (List<? extends Cell> row : gameBoard) {
+      size += row.size();
+    }
+    this.boardOrder = new int[size];
+    this.boardPlaces = new int[this.cells.length];
+    Arrays.fill(this.boardPlaces, -1);
+    this.rowStarts = new int[gameBoard.size() + 1];
+    this.cellRows = new int[this.cells.length];
+    int position = 0;
+    for (int row = 0; row < gameBoard.size(); row++) {
+      this.rowStarts[row] = position;
+      for (Cell cell : gameBoard.get(row)) {
+        int index = this.getIndex(cell.getDiagonalPos(), cell.getRowPos());
+        this.boardPlaces[index] = position;
+        this.boardOrder[position++] = index;
+        this.cellRows[index] = row;
+      }
+    }
+    this.rowStarts[gameBoard.size()] = size;
+    //the snapshots of an earlier game do not share anything with the new board
+    this.snapshot = null;
+    this.snapshotLayout = null;
+    this.changedRows.clear();
+    this.evaluatedMoves = null;
+  }
 
 
-
-  //HELPER METHODS FOR CHECKING A VALID MOVE/MAKING A MOVE:
   /**
-   * returns the list index of a cell with the given position.
-   * @param list the list in which we are checking the index in.
-   * @param diagonalPos the diagonal position of the cell.
-   * @param rowPos the row position of the cell.
-   * @return the index of the cell in the lists on the board.
+   * finds, for every cell of the game board and each of the given directions, the cells passed
+   * through walking from the cell to the edge of the board, both by index in cells and in board
+   * order. the cells must already be laid out in the cells array and in board order.
+   * @param directions the (diagonal, row) steps to each neighbour of a cell, which are the six
+   *     directions of a hexagonal board or the eight directions of a square board.
    */
-  protected int getListIndex(List<Cell> list, int diagonalPos, int rowPos) {
-    int index = 0;
-    for (Cell cell : list) {
-      if (cell.getDiagonalPos() == diagonalPos && cell.getRowPos() == rowPos) {
-        break;
+  protected void createRays(int[][] directions) {
+    this.rays = new int[this.cells.length][][];
+    int[] ray = new int[this.boardOrder.length];
+    for (int index : this.boardOrder) {
+      int diagonalPos = this.cells[index].getDiagonalPos();
+      int rowPos = this.cells[index].getRowPos();
+      this.rays[index] = new int[directions.length][];
+      for (int direction = 0; direction < directions.length; direction++) {
+        int length = 0;
+        int nextDiagonal = diagonalPos + directions[direction][0];
+        int nextRow = rowPos + directions[direction][1];
+        while (!this.posnNotInGame(nextDiagonal, nextRow)) {
+          ray[length++] = this.getIndex(nextDiagonal, nextRow);
+          nextDiagonal = nextDiagonal + directions[direction][0];
+          nextRow = nextRow + directions[direction][1];
+        }
+        this.rays[index][direction] = Arrays.copyOf(ray, length);
       }
-      else {
-        index = index + 1;
+    }
+    this.boardRays = new int[this.boardOrder.length][directions.length][];
+    for (int position = 0; position < this.boardOrder.length; position++) {
+      for (int direction = 0; direction < directions.length; direction++) {
+        int[] cellRay = this.rays[this.boardOrder[position]][direction];
+        this.boardRays[position][direction] = new int[cellRay.length];
+        for (int i = 0; i < cellRay.length; i++) {
+          this.boardRays[position][direction][i] = this.boardPlaces[cellRay[i]];
+        }
       }
     }
-    return index;
   }
 
+
   /**
-   * checks if a move is valid in ONE individual list.
-   * @param list the list of cells being checked for a valid move.
-   * @param index the index at which a piece will be potentially placed.
-   * @return true if the piece would create a sandwich in the list of at least
-   *     one of the opponents pieces.
+   * finds the corners, the cells next to a corner, and the edge cells of the game board, and
+   * works out the weight of every cell from them. the rays must already be found.
+   * note: an edge cell is missing a neighbour in at least one direction, and the corners are
+   *     the edge cells with the fewest neighbours. which cells are next to a corner depends on
+   *     the shape of the board (see nextTo).
    */
-  protected boolean checkValidHelper(List<Cell> list, int index) {
-    return this.scanForward(list, index) || this.scanBackward(list, index);
+  protected void createBoardMasks() {
+    this.cornerCells.clear();
+    this.nearCornerCells.clear();
+    this.edgeCells.clear();
+    int[] neighbours = new int[this.cells.length];
+    int fewest = Integer.MAX_VALUE;
+    for (int index : this.boardOrder) {
+      for (int[] ray : this.rays[index]) {
+        if (ray.length > 0) {
+          neighbours[index]++;
+        }
+      }
+      if (neighbours[index] < this.rays[index].length) {
+        this.edgeCells.set(index);
+        fewest = Math.min(fewest, neighbours[index]);
+      }
+    }
+    for (int index : this.boardOrder) {
+      if (this.edgeCells.get(index) && neighbours[index] == fewest) {
+        this.cornerCells.set(index);
+      }
+    }
+    for (int index : this.boardOrder) {
+      for (int corner = this.cornerCells.nextSetBit(0); corner >= 0;
+           corner = this.cornerCells.nextSetBit(corner + 1)) {
+        if (this.nextTo(this.cells[index].getDiagonalPos(), this.cells[index].getRowPos(),
+            this.cells[corner].getDiagonalPos(), this.cells[corner].getRowPos())) {
+          this.nearCornerCells.set(index);
+          break;
+        }
+      }
+    }
+    this.positionWeights = new int[this.cells.length];
+    for (int index : this.boardOrder) {
+      if (this.cornerCells.get(index)) {
+        this.positionWeights[index] = CORNER_WEIGHT;
+      }
+      else if (this.nearCornerCells.get(index)) {
+        this.positionWeights[index] = NEAR_CORNER_WEIGHT;
+      }
+      else if (this.edgeCells.get(index)) {
+        this.positionWeights[index] = EDGE_WEIGHT;
+      }
+      else {
+        this.positionWeights[index] = INNER_WEIGHT;
+      }
+    }
   }
 
+
   /**
-   * scans forward in a list and checks if a piece would make a sanwich with at least
-   * one of the other players pieces.
-   * @param list the list of cells being checked for a valid move.
-   * @param index the index at which a piece will potentially be placed.
-   * @return true if the piece makes a sandwich with the other player's pieces.
+   * finds where every position of the game board is moved to by each of its symmetries, and
+   * which symmetry undoes each one. the cells must already be laid out in the cells array.
+   * @param count the number of symmetries of the board (see symmetricIndex).
    */
-  protected boolean scanForward(List<Cell> list, int index) {
-    //automatically returns false if the index is the last item and cannot scan foward.
-    if (index == list.size() - 1) {
-      return false;
+  protected void createSymmetries(int count) {
+    this.symmetries = new int[count][this.cells.length];
+    for (int symmetry = 0; symmetry < count; symmetry++) {
+      for (int index : this.boardOrder) {
+        this.symmetries[symmetry][index] = this.symmetricIndex(symmetry, this.cells[index]);
+      }
     }
-    else {
-      boolean valid = false;
-      int opposites = 0;
-      for (int i = index + 1; i < list.size(); i++) {
-        Cell cell = list.get(i);
-        //breaks and returns false if the next piece is the same color.
-        if (cell.toString().equals(playerTurn.toString()) && opposites == 0) {
-          break;
+    this.inverseSymmetries = new int[count];
+    for (int symmetry = 0; symmetry < count; symmetry++) {
+      for (int other = 0; other < count; other++) {
+        boolean undoes = true;
+        for (int index : this.boardOrder) {
+          if (this.symmetries[other][this.symmetries[symmetry][index]] != index) {
+            undoes = false;
+            break;
+          }
         }
-        //breaks and returns false if any of the next pieces are empty.
-        if (cell.isEmpty()) {
-          break;
-        }
-        //adds one to opposites and keeps scanning if the next pieces belongs to
-        // the other player.
-        if (!cell.toString().equals(playerTurn.toString())) {
-          opposites = opposites + 1;
-        }
-        //breaks and returns true if the next piece is the same color and there are opposite
-        //pieces between them.
-        if (cell.toString().equals(playerTurn.toString()) && (opposites != 0)) {
-          valid = true;
+        if (undoes) {
+          this.inverseSymmetries[symmetry] = other;
           break;
         }
       }
-      return valid;
     }
+    this.symmetryKeys = new long[count];
+    this.canonicalSymmetry = -1;
   }
 
   /**
-   * scans backward in a list and checks if a piece would make a sanwich with at least
-   * one of the other players pieces.
-   * @param list the list of cells being checked for a valid move.
-   * @param index the index at which a piece will potentially be placed.
-   * @return true if the piece makes a sandwich with the other player's pieces.
+   * the index in the cells array of the position the given cell is moved to by the given
+   * symmetry. symmetry 0 must leave every cell where it is.
+   * @param symmetry the number of the symmetry, from 0 up to the symmetry count.
+   * @param cell a cell of the game board.
+   * @return the index of the moved position.
    */
-  protected boolean scanBackward(List<Cell> list, int index) {
-    //automatically returns false if the index is the last item and cannot scan backward.
-    if (index == 0) {
-      return false;
+  protected abstract int symmetricIndex(int symmetry, Cell cell);
+
+
+  /**
+   * clears the record of moves that can be undone, for the start of a new game.
+   */
+  protected void clearUndoStack() {
+    this.undoSize = 0;
+  }
+
+
+  /**
+   * finds the valid moves of both players by checking every empty cell on the board.
+   * only needs to be done once at the start of the game; after that the valid moves are
+   * updated by updateValidMoves.
+   */
+  protected void findAllValidMoves() {
+    this.xValidMoves.clear();
+    this.oValidMoves.clear();
+    for (int index : this.boardOrder) {
+      if (this.states[index] == EMPTY) {
+        this.xValidMoves.set(index, this.isValidAt(index, PlayerEnum.X));
+        this.oValidMoves.set(index, this.isValidAt(index, PlayerEnum.O));
+      }
+    }
+  }
+
+
+
+
+
+  //HELPER METHODS FOR CHECKING A VALID MOVE/MAKING A MOVE:
+  /**
+   * the index in the cells array of the given position.
+   * @param diagonalPos the diagonal position.
+   * @param rowPos the row position.
+   * @return the index of this position in the cells array.
+   */
+  protected abstract int getIndex(int diagonalPos, int rowPos);
+
+  /**
+   * a new, unstarted model of the same type as this one, used to make copies of this game.
+   * @return a new model with no listeners.
+   */
+  protected abstract AbstractReversiModel newModel();
+
+  /**
+   * the valid moves of the player whose turn it is.
+   * @return the indices of the cells the current player can move to.
+   */
+  protected BitSet currentValidMoves() {
+    if (this.playerTurn == PlayerEnum.X) {
+      return this.xValidMoves;
     }
     else {
-      boolean valid = false;
-      int opposites = 0;
-      for (int i = index - 1; i >= 0; i--) {
-        Cell cell = list.get(i);
-        //breaks and returns false if the previous piece is the same color.
-        if (cell.toString().equals(playerTurn.toString()) && opposites == 0) {
-          break;
-        }
-        //breaks and returns false if any of the previous pieces are empty.
-        if (cell.isEmpty()) {
-          break;
-        }
-        //adds one to opposites and keeps scanning if the previous pieces belongs to the
-        // other player.
-        if (!cell.toString().equals(playerTurn.toString())) {
-          opposites = opposites + 1;
-        }
-        //breaks and returns true if the previous piece is the same color and there are opposite
-        //pieces between them.
-        if (cell.toString().equals(playerTurn.toString()) && (opposites != 0)) {
-          valid = true;
+      return this.oValidMoves;
+    }
+  }
+
+  /**
+   * the valid moves of the player whose turn it is and the pieces each would turn over, packed
+   * one move after another as its diagonal position, row position, and number of pieces turned
+   * over (see EvaluatedMoves).
+   * @return the packed valid moves, in the same order as getValidMoves.
+   */
+  protected int[] packValidMoves() {
+    BitSet moves = this.currentValidMoves();
+    int[] packed = new int[moves.cardinality() * EvaluatedMoves.STRIDE];
+    int position = 0;
+    for (int index = moves.nextSetBit(0); index >= 0; index = moves.nextSetBit(index + 1)) {
+      packed[position++] = this.cells[index].getDiagonalPos();
+      packed[position++] = this.cells[index].getRowPos();
+      packed[position++] = this.findFlips(index, this.playerTurn, null, 0);
+    }
+    return packed;
+  }
+
+  /**
+   * determines if the given player placing a piece at the cell with the given index would
+   * sandwich at least one of the other player's pieces in any direction.
+   * @param index the index of the cell in the cells array.
+   * @param player the player placing the piece.
+   * @return true if a piece placed here turns over at least one piece.
+   */
+  protected boolean isValidAt(int index, PlayerEnum player) {
+    for (int[] ray : this.rays[index]) {
+      if (this.sandwiched(ray, player) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * the number of the other player's pieces that the given player would sandwich in one
+   * direction, walking out along the given ray.
+   * @param ray the indices of the cells in one direction from the placed piece.
+   * @param player the player placing the piece.
+   * @return the number of pieces turned over in this direction, 0 if there is no sandwich.
+   */
+  protected int sandwiched(int[] ray, PlayerEnum player) {
+    byte own = player.getCode();
+    int opposites = 0;
+    for (int index : ray) {
+      byte state = this.states[index];
+      //an empty cell ends the line without a sandwich
+      if (state == EMPTY) {
+        return 0;
+      }
+      //one of the player's own pieces closes the sandwich
+      if (state == own) {
+        return opposites;
+      }
+      opposites = opposites + 1;
+    }
+    //reached the edge of the board without a sandwich
+    return 0;
+  }
+
+  /**
+   * walks out from the cell with the given index along every ray, and finds all the pieces of
+   * the other player that the given player would turn over by placing a piece there. every ray
+   * is walked once, and the turned over cells can be written out as they are found.
+   * @param index the index of the cell in the cells array.
+   * @param player the player placing the piece.
+   * @param flips the array the indices of the turned over cells are written into, or null to
+   *     only count them. must have room for every cell on the board after the offset.
+   * @param offset the position in flips of the first turned over cell.
+   * @return the number of pieces turned over, 0 if the move is not valid.
+   */
+  protected int findFlips(int index, PlayerEnum player, int[] flips, int offset) {
+    int total = 0;
+    for (int[] ray : this.rays[index]) {
+      int sandwiched = this.sandwiched(ray, player);
+      if (flips != null) {
+        System.arraycopy(ray, 0, flips, offset + total, sandwiched);
+      }
+      total = total + sandwiched;
+    }
+    return total;
+  }
+
+  /**
+   * updates the valid moves of both players after a piece was placed at (or taken back from) the
+   * given cell and the pieces in the given part of the undo stack were turned over.
+   * note: only the empty cells with a line to a changed piece can have changed, and only the
+   *     first empty cell walking out from a changed piece in each direction has such a line.
+   * @param placed the index of the cell that was placed at or taken back from.
+   * @param flippedFrom the position in the undo stack of the first turned over cell.
+   * @param flippedTo the position in the undo stack after the last turned over cell.
+   */
+  protected void updateValidMoves(int placed, int flippedFrom, int flippedTo) {
+    boolean empty = this.states[placed] == EMPTY;
+    this.xValidMoves.set(placed, empty && this.isValidAt(placed, PlayerEnum.X));
+    this.oValidMoves.set(placed, empty && this.isValidAt(placed, PlayerEnum.O));
+    this.updateValidMovesAround(placed);
+    for (int i = flippedFrom; i < flippedTo; i++) {
+      this.updateValidMovesAround(this.undoStack[i]);
+    }
+  }
+
+  /**
+   * rechecks the valid moves of both players at the first empty cell in every direction
+   * from the given changed cell.
+   * @param changed the index of a cell whose piece has changed.
+   */
+  private void updateValidMovesAround(int changed) {
+    for (int[] ray : this.rays[changed]) {
+      for (int index : ray) {
+        if (this.states[index] == EMPTY) {
+          this.xValidMoves.set(index, this.isValidAt(index, PlayerEnum.X));
+          this.oValidMoves.set(index, this.isValidAt(index, PlayerEnum.O));
           break;
         }
       }
-      return valid;
     }
   }
 
@@ -485,12 +1195,12 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * If PlayerEnum is O -> X.
    */
   protected void nextPlayer() {
-    if (this.playerTurn.toString().equals("X")) {
+    this.positionKey ^= TURN_KEY;
+    this.evaluatedMoves = null;
+    if (this.playerTurn == PlayerEnum.X) {
       this.playerTurn = PlayerEnum.O;
     }
     else {
-      // need to ensure that it doesnt switch X -> O -> X
-      // if (this.playerTurn.toString().equals("0")) {
       this.playerTurn = PlayerEnum.X;
     }
   }
@@ -509,38 +1219,198 @@ public abstract class AbstractReversiModel implements ReversiModel {
   }
 
   /**
-   * turns over all opposing cells that are sandwiched in a valid move.
-   * does NOT add a piece to the index, the cell at the index remains empty!!!!
-   * @param diagonalPos the diagonal position of the placed piece.
-   * @param rowPos the row position of the placed piece.
+   * places a piece of the current player at the cell with the given index, turns over all the
+   * opposing pieces it sandwiches, records the move in the undo stack, and switches the player
+   * turn to the next player. Does not check that the move is valid or notify any listeners.
+   * @param placed the index of the cell the piece is placed at.
    */
-  protected abstract void turnOverAllValid(int diagonalPos, int rowPos);
+  protected void makeMove(int placed) {
+    int flippedFrom = this.undoSize;
+    //finds every sandwiched piece before turning any over, writing them straight into the
+    //undo stack
+    this.reserveUndo(this.boardOrder.length);
+    this.undoSize += this.findFlips(placed, this.playerTurn, this.undoStack, flippedFrom);
+    for (int i = flippedFrom; i < this.undoSize; i++) {
+      this.setCell(this.undoStack[i], this.playerTurn);
+    }
+    this.setCell(placed, this.playerTurn);
+    this.updateValidMoves(placed, flippedFrom, this.undoSize);
+    this.finishMove(placed, this.undoSize - flippedFrom, true);
+  }
 
   /**
-   * turns over all opposite pieces between the current players pieces if the move is valid.
-   * does NOT add a piece to the index, the cell at the index remains empty!!!!
-   * @param list the list that is scanned through to turn over pieces.
-   * @param index the starting index of the list, where the piece would be placed.
+   * passes the current player's turn, records the pass in the undo stack, and switches the
+   * player turn to the next player. Does not notify any listeners.
    */
-  protected void turnOverOpposites(List<Cell> list, int index) {
-    if (this.scanForward(list, index)) {
-      for (int i = index + 1; i < list.size(); i++) {
-        Cell cell = list.get(i);
-        if (cell.toString().equals(playerTurn.toString())) {
-          break;
-        }
-        cell.changeCellState(playerTurn);
+  protected void makePass() {
+    this.finishMove(-1, 0, false);
+  }
+
+  /**
+   * records the end of a move or pass in the undo stack (after the turned over cells, which
+   * have already been added) and switches the player turn to the next player.
+   * @param placed the index of the placed piece, or -1 for a pass.
+   * @param numFlipped the number of pieces turned over.
+   * @param move true if a piece was placed, false for a pass.
+   */
+  protected void finishMove(int placed, int numFlipped, boolean move) {
+    int turns = (this.turnsTaken.get(0) ? 1 : 0) | (this.turnsTaken.get(1) ? 2 : 0);
+    this.pushUndo(placed);
+    this.pushUndo(numFlipped);
+    this.pushUndo(turns);
+    //updates the turnsTaken field to reflect a player move or pass
+    this.madeMove(move);
+    //switches the player turn to the next player
+    this.nextPlayer();
+  }
+
+  /**
+   * adds a value to the top of the undo stack, growing it if it is full.
+   * @param value the value added.
+   */
+  protected void pushUndo(int value) {
+    this.reserveUndo(1);
+    this.undoStack[this.undoSize++] = value;
+  }
+
+  /**
+   * grows the undo stack, if needed, so that it has room for the given number of values above
+   * its top.
+   * @param values the number of values that will be added.
+   */
+  protected void reserveUndo(int values) {
+    if (this.undoSize + values > this.undoStack.length) {
+      this.undoStack = Arrays.copyOf(this.undoStack,
+          Math.max(this.undoStack.length * 2, this.undoSize + values));
+    }
+  }
+
+  /**
+   * changes the state of the cell with the given index.
+   * @param index the index of the cell in the cells array.
+   * @param state the player that will occupy the cell, or empty.
+   */
+  protected void setCell(int index, PlayerEnum state) {
+    byte code = state.getCode();
+    this.positionKey ^= this.cellKey(index, this.states[index]) ^ this.cellKey(index, code);
+    this.stateCounts[this.states[index]]--;
+    this.stateCounts[code]++;
+    this.states[index] = code;
+    this.changedRows.set(this.cellRows[index]);
+    this.evaluatedMoves = null;
+  }
+
+  /**
+   * the random key of the given player occupying the cell with the given index.
+   * @param index the index of the cell in the cells array.
+   * @param state the code of the player occupying the cell, or EMPTY.
+   * @return the key of the cell, 0 if it is empty.
+   */
+  protected long cellKey(int index, byte state) {
+    if (state == EMPTY) {
+      return 0;
+    }
+    return this.zobristKeys[(index * 2) + state - 1];
+  }
+
+  /**
+   * changes the state of the cell with the given index from outside of a move, as asked by a cell
+   * of the game board, and rechecks the valid moves the change could have affected.
+   * @param index the index of the cell in the cells array.
+   * @param state the player that will occupy the cell, or empty.
+   */
+  void changeCell(int index, PlayerEnum state) {
+    this.setCell(index, state);
+    this.updateValidMoves(index, 0, 0);
+  }
+
+  /**
+   * puts a starting piece on the given cell while the board is set up, before the position key,
+   * the counts of the cells in each state and the valid moves are worked out.
+   * @param cell a cell of the game board.
+   * @param player the player whose piece is put on the cell.
+   */
+  protected void placeInitialPiece(Cell cell, PlayerEnum player) {
+    this.states[this.getIndex(cell.getDiagonalPos(), cell.getRowPos())] = player.getCode();
+  }
+
+  /**
+   * works out the position key from scratch from every cell on the board and the player turn,
+   * making the cell keys first if the board has changed size.
+   * called whenever the board is set up without going through setCell.
+   */
+  protected void resetPositionKey() {
+    if (this.zobristKeys.length != this.cells.length * 2) {
+      this.zobristKeys = new long[this.cells.length * 2];
+      for (int i = 0; i < this.zobristKeys.length; i++) {
+        this.zobristKeys[i] = mixKey(i);
       }
     }
-    if (this.scanBackward(list, index)) {
-      for (int i = index - 1; i >= 0; i--) {
-        Cell cell = list.get(i);
-        if (cell.toString().equals(playerTurn.toString())) {
-          break;
+    this.positionKey = 0;
+    for (int index : this.boardOrder) {
+      this.positionKey ^= this.cellKey(index, this.states[index]);
+    }
+    if (this.playerTurn == PlayerEnum.O) {
+      this.positionKey ^= TURN_KEY;
+    }
+  }
+
+  /**
+   * works out the key of the current position turned by every symmetry of the board, and keeps
+   * the smallest as the canonical key along with its symmetry, unless they were already worked
+   * out for this position. the turn and the recent passes are not changed by a symmetry, so
+   * they are xor-ed into every key the same way.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  private void findCanonicalKey() {
+    long key = this.getPositionKey();
+    if (this.canonicalSymmetry >= 0 && this.canonicalFor == key) {
+      return;
+    }
+    Arrays.fill(this.symmetryKeys, 0);
+    for (int index : this.boardOrder) {
+      byte state = this.states[index];
+      if (state != EMPTY) {
+        for (int symmetry = 0; symmetry < this.symmetries.length; symmetry++) {
+          this.symmetryKeys[symmetry] ^= this.cellKey(this.symmetries[symmetry][index], state);
         }
-        cell.changeCellState(playerTurn);
       }
     }
+    //symmetry 0 leaves the board as it is, so its key only differs by the turn and passes
+    long others = key ^ this.symmetryKeys[0];
+    this.canonicalKey = key;
+    this.canonicalSymmetry = 0;
+    for (int symmetry = 1; symmetry < this.symmetries.length; symmetry++) {
+      if ((this.symmetryKeys[symmetry] ^ others) < this.canonicalKey) {
+        this.canonicalKey = this.symmetryKeys[symmetry] ^ others;
+        this.canonicalSymmetry = symmetry;
+      }
+    }
+    this.canonicalFor = key;
+  }
+
+  /**
+   * counts the cells of the game board in each state from scratch.
+   * called whenever the board is set up without going through setCell.
+   */
+  protected void recountStates() {
+    Arrays.fill(this.stateCounts, 0);
+    for (int index : this.boardOrder) {
+      this.stateCounts[this.states[index]]++;
+    }
+  }
+
+  /**
+   * scrambles a number into a random-looking 64-bit key (the SplitMix64 mixing function), so
+   * that the keys are always the same without having to be stored anywhere else.
+   * @param seed the number scrambled.
+   * @return the key made from the number.
+   */
+  private static long mixKey(long seed) {
+    long z = (seed + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
   }
 
   /**
@@ -555,6 +1425,55 @@ public abstract class AbstractReversiModel implements ReversiModel {
 
 
 
+  //HELPER METHODS FOR NOTIFYING LISTENERS:
+
+
+  /**
+   * tells every listener about a change to the game, once each.
+   * @param change the change made to the game.
+   */
+  protected void fireModelChanged(ModelChange change) {
+    for (ModelFeatures features : featuresListener) {
+      features.modelChanged(change);
+    }
+  }
+
+  /**
+   * the change made by starting the game.
+   * @return the start of the game, with no move or pieces turned over.
+   */
+  protected ModelChange startChange() {
+    return new ModelChange(ModelChange.Kind.START, null, 0, 0, new int[0],
+        this.playerTurn, this.isGameOver());
+  }
+
+  /**
+   * the change made by the last move or pass, read from the top of the undo stack.
+   * @param player the player that made the move or pass.
+   * @return the last move or pass, with the pieces it turned over.
+   */
+  protected ModelChange lastChange(PlayerEnum player) {
+    int numFlipped = this.undoStack[this.undoSize - 2];
+    int placed = this.undoStack[this.undoSize - 3];
+    if (placed < 0) {
+      return new ModelChange(ModelChange.Kind.PASS, player, 0, 0, new int[0],
+          this.playerTurn, this.isGameOver());
+    }
+    int flippedFrom = this.undoSize - 3 - numFlipped;
+    int[] flipped = new int[numFlipped * 2];
+    for (int i = 0; i < numFlipped; i++) {
+      Cell cell = this.cells[this.undoStack[flippedFrom + i]];
+      flipped[i * 2] = cell.getDiagonalPos();
+      flipped[(i * 2) + 1] = cell.getRowPos();
+    }
+    return new ModelChange(ModelChange.Kind.MOVE, player, this.cells[placed].getDiagonalPos(),
+        this.cells[placed].getRowPos(), flipped, this.playerTurn, this.isGameOver());
+  }
+
+
+
+
+
   //HELPER METHODS FOR IS GAME OVER:
 
 
@@ -562,13 +1481,17 @@ public abstract class AbstractReversiModel implements ReversiModel {
    * Determines if the board is full.
    * @return return true if there are no empty cells.
    */
-  protected abstract boolean isBoardFull();
+  protected boolean isBoardFull() {
+    return this.stateCounts[EMPTY] == 0;
+  }
 
   /**
    * determines if all the occupied cells are the same color.
    * @return true if all the occupied cells have the same cell state.
    */
-  protected abstract boolean monochromeCells();
+  protected boolean monochromeCells() {
+    return this.stateCounts[X] == 0 || this.stateCounts[O] == 0;
+  }
 
   /**
    * Have there been two passes in a row by players? check.
@@ -581,38 +1504,6 @@ public abstract class AbstractReversiModel implements ReversiModel {
 
 
 
-  /**
-   * the number of pieces a player WOULD turn over in a row if making a move at this
-   * index in the row.
-   * @param list the list or row of cells that a player is moving in.
-   * @param index the index in the list.
-   * @return the number of cells the player would gain from placing a piece at this index.
-   */
-  protected int countAllHelper(List<Cell> list, int index) {
-    List<Cell> piecesWon = new ArrayList<>();
-    if (this.scanForward(list, index)) {
-      for (int i = index + 1; i < list.size(); i++) {
-        Cell cell = list.get(i);
-        if (cell.toString().equals(playerTurn.toString())) {
-          break;
-        }
-        piecesWon.add(cell);
-      }
-    }
-    if (this.scanBackward(list, index)) {
-      for (int i = index - 1; i >= 0; i--) {
-        Cell cell = list.get(i);
-        if (cell.toString().equals(playerTurn.toString())) {
-          break;
-        }
-        piecesWon.add(cell);
-      }
-    }
-    return piecesWon.size();
-  }
-
-
-
 
 
   //HELPER FOR POSN NEXT TO CORNER
@@ -632,8 +1523,92 @@ public abstract class AbstractReversiModel implements ReversiModel {
 
 
 
-  //HELPER FOR POSN IN CORNER
 
-  abstract List<Cell> getCorners();
+
+  /**
+   * The view of the board of this model, which reads the cells array in the order of the game
+   * board.
+   */
+  private final class LiveBoardView implements BoardView {
+
+    @Override
+    public int size() {
+      return boardOrder.length;
+    }
+
+    @Override
+    public int getRowCount() {
+      return rowStarts.length - 1;
+    }
+
+    @Override
+    public int getRowStart(int row) {
+      if (row < 0 || row >= this.getRowCount()) {
+        throw new IndexOutOfBoundsException("invalid row");
+      }
+      return rowStarts[row];
+    }
+
+    @Override
+    public int getRowLength(int row) {
+      return rowStarts[row + 1] - this.getRowStart(row);
+    }
+
+    @Override
+    public int getDiagonalPos(int index) {
+      return cells[boardOrder[index]].getDiagonalPos();
+    }
+
+    @Override
+    public int getRowPos(int index) {
+      return cells[boardOrder[index]].getRowPos();
+    }
+
+    @Override
+    public PlayerEnum getState(int index) {
+      return PlayerEnum.fromCode(states[boardOrder[index]]);
+    }
+
+    @Override
+    public PlayerEnum getStateAtPosn(int diagonalPos, int rowPos) {
+      if (posnNotInGame(diagonalPos, rowPos)) {
+        throw new IllegalArgumentException("invalid position");
+      }
+      return PlayerEnum.fromCode(states[getIndex(diagonalPos, rowPos)]);
+    }
+
+    @Override
+    public int getIndexAtPosn(int diagonalPos, int rowPos) {
+      if (posnNotInGame(diagonalPos, rowPos)) {
+        throw new IllegalArgumentException("invalid position");
+      }
+      return boardPlaces[getIndex(diagonalPos, rowPos)];
+    }
+
+    @Override
+    public int getDirectionCount() {
+      return boardRays[0].length;
+    }
+
+    @Override
+    public int[] getRay(int index, int direction) {
+      return boardRays[index][direction].clone();
+    }
+
+    @Override
+    public long getCellKey(int index, PlayerEnum player) {
+      return cellKey(boardOrder[index], player.getCode());
+    }
+
+    @Override
+    public long getTurnKey() {
+      return TURN_KEY;
+    }
+
+    @Override
+    public long getPassKey(boolean latest) {
+      return latest ? LATEST_PASS_KEY : EARLIER_PASS_KEY;
+    }
+  }
 
 }
@@ -1,9 +1,6 @@
 package model;
 
-import controller.ModelFeatures;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,8 +10,17 @@ import java.util.Objects;
  */
 public class BasicReversi extends AbstractReversiModel {
 
+  //the change in (q, r) coordinates of one step in each of the six directions on the board:
+  //along the row, along the q diagonal, and along the s diagonal, each way
+  private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, -1}, {-1, 1}};
+  //the number of symmetries of a hexagon board: six rotations, each with or without a reflection
+  private static final int SYMMETRIES = 12;
+
   private List<List<HexagonCell>> gameBoard;
-  //the player whose turn it is
+  //the number of positions in one row of the cells array. the cells are laid out in a
+  //(2 * side length - 1) square array, indexed by their offset (q, r) coordinates, and the
+  //positions that are not on the hexagon are null.
+  private int width;
 
   /**
    * constructs a game of reversi.
@@ -37,16 +43,18 @@ public class BasicReversi extends AbstractReversiModel {
     }
     //adjusts the start game field to true
     this.gameStarted = true;
+    //forgets the moves of any previous game
+    this.clearUndoStack();
     //creates a hexagonal board of the given side length (all empty cells)
     this.createDefaultGameBoard(sideLength);
     //adds the starting pieces to the game board
     this.assignInitialPieces(sideLength);
-    for (ModelFeatures features : featuresListener) {
-      features.notifyPlayerTurn();
-    }
-    for (ModelFeatures features : featuresListener) {
-      features.makeMoveIfAI();
-    }
+    //finds the moves each player can make from the starting pieces
+    this.findAllValidMoves();
+    //works out the key of the starting position and counts its pieces
+    this.resetPositionKey();
+    this.recountStates();
+    this.fireModelChanged(this.startChange());
   }
 
 
@@ -91,111 +99,9 @@ public class BasicReversi extends AbstractReversiModel {
       throw new IllegalArgumentException("invalid position");
     }
     else {
-      //cellAtPosn will never return as null because it will always be updated since
-      //it is guarantees that this position exists in the game board (exception above).
-      HexagonCell cellAtPosn = null;
-      for (List<HexagonCell> list : gameBoard) {
-        for (HexagonCell cell : list) {
-          if (cell.getDiagonalPos() == diagonalPos && cell.getRowPos() == rowPos) {
-            cellAtPosn = cell;
-          }
-        }
-      }
-      return cellAtPosn;
-    }
-  }
-
-
-
-
-  /**
-   * determines if a player must have to make a forced pass.
-   * @return true if there are no valid moves in any of the empty cells for the current player.
-   * @throws IllegalStateException if the game has not been started.
-   */
-  @Override
-  public boolean forcedPass() {
-    if (!this.gameStarted) {
-      throw new IllegalStateException("game not started");
-    }
-    //filters the game board to get only the empty cells
-    else {
-      List<HexagonCell> empties = new ArrayList<>();
-      boolean pass = true;
-      for (List<HexagonCell> list : gameBoard) {
-        for (HexagonCell cell : list) {
-          if (cell.isEmpty()) {
-            empties.add(cell);
-          }
-        }
-      }
-      //checks if there are any valid moves to be made in the empty cells
-      for (HexagonCell emptyCell : empties) {
-        int cellDiagonalPos = emptyCell.getDiagonalPos();
-        int cellRowPos = emptyCell.getRowPos();
-        if (this.checkValid(cellDiagonalPos, cellRowPos)) {
-          pass = false;
-        }
-      }
-      return pass;
-    }
-  }
-
-
-
-
-  /**
-   * checks if a player move to a given cell position is valid.
-   * @param diagonalPos the diagonal position that they are playing a piece on.
-   * @param rowPos the row position that they are playing a piece on.
-   * @return true if the move is valid (if they sandwich at least one of the other pieces).
-   * @throws IllegalStateException if the game has not been started.
-   * @throws IllegalArgumentException if the coordinates are not in the game.
-   */
-  @Override
-  public boolean checkValid(int diagonalPos, int rowPos) {
-    if (!this.gameStarted) {
-      throw new IllegalStateException("game not started");
-    }
-    if (this.posnNotInGame(diagonalPos, rowPos)) {
-      throw new IllegalArgumentException("invalid position");
-    }
-    if (!this.getCellAtPosn(diagonalPos,rowPos).isEmpty()) {
-      return false;
-    }
-    List<Cell> row = this.getRow(rowPos);
-    List<Cell> qDiagonal = this.getQDiagonals(diagonalPos);
-    List<Cell> sDiagonal = this.getSDiagonals(diagonalPos, rowPos);
-    int rowIndex = this.getListIndex(row, diagonalPos, rowPos);
-    int qIndex = this.getListIndex(qDiagonal, diagonalPos, rowPos);
-    int sIndex = this.getListIndex(sDiagonal, diagonalPos, rowPos);
-    return (this.checkValidHelper(row, rowIndex)
-        || this.checkValidHelper(qDiagonal, qIndex)
-        || this.checkValidHelper(sDiagonal, sIndex));
-  }
-
-
-
-  /**
-   * gets a player's current score, which is the number of cells occupied by a given player.
-   * @param player the player whose cell are being counted.
-   * @return the current score of a given player.
-   * @throws IllegalStateException if the game has not been started.
-   */
-  @Override
-  public int getPlayerScore(PlayerEnum player) {
-    if (!this.gameStarted) {
-      throw new IllegalStateException("game not started");
-    }
-    int counter = 0;
-    for (List<HexagonCell> list : gameBoard) {
-      for (HexagonCell cell : list) {
-        if (cell.toString().equals(player.toString())) {
-          counter = counter + 1;
-        }
-      }
+      //never null because it is guaranteed that this position exists in the game board
+      return this.cells[this.getIndex(diagonalPos, rowPos)];
     }
-    return counter;
   }
 
 
@@ -213,69 +119,6 @@ public class BasicReversi extends AbstractReversiModel {
   }
 
 
-  /**
-   * counts all the pieces that WOULD be turned over if a player were to move at this cell.
-   * @param diagonalPos the diagonal position of the cell.
-   * @param rowPos the row position of the cell.
-   * @return the number of pieces that a player would gain from this move.
-   * @throws IllegalStateException if the game has not been started.
-   * @throws IllegalArgumentException if the coordinates are not in the game.
-   */
-  @Override
-  public int countPiecesGained(int diagonalPos, int rowPos) {
-    if (!this.gameStarted) {
-      throw new IllegalStateException("game not started");
-    }
-    if (this.posnNotInGame(diagonalPos, rowPos)) {
-      throw new IllegalArgumentException("invalid position");
-    }
-    //gets the three rows of a reversi game board (row and both diagonals)
-    List<Cell> row = this.getRow(rowPos);
-    List<Cell> qDiagonal = this.getQDiagonals(diagonalPos);
-    List<Cell> sDiagonal = this.getSDiagonals(diagonalPos, rowPos);
-    //the index of the cell in each of the rows
-    int rowIndex = this.getListIndex(row, diagonalPos, rowPos);
-    int qIndex = this.getListIndex(qDiagonal, diagonalPos, rowPos);
-    int sIndex = this.getListIndex(sDiagonal, diagonalPos, rowPos);
-    //the number of pieces from each list that would be turned over
-    int pieces1 = this.countAllHelper(row, rowIndex);
-    int pieces2 = this.countAllHelper(qDiagonal, qIndex);
-    int pieces3 = this.countAllHelper(sDiagonal, sIndex);
-    return pieces1 + pieces2 + pieces3;
-  }
-
-
-
-
-
-  /**
-   * determines if the given position is in the corner of the board.
-   * note: it is in the corner if the q,r,s coordinates are equal to 0, (side length - 1),
-   * and -(side length - 1).
-   * @param diagonalPos the diagonal position of the cell.
-   * @param rowPos the row position of the cell.
-   * @return true if the position given is at the corner of the reversi board.
-   * @throws IllegalStateException if the game has not been started.
-   * @throws IllegalArgumentException if the coordinates are not in the game.
-   */
-  @Override
-  public boolean posnInCorner(int diagonalPos, int rowPos) {
-    if (!this.gameStarted) {
-      throw new IllegalStateException("game not started");
-    }
-    if (this.posnNotInGame(diagonalPos, rowPos)) {
-      throw new IllegalArgumentException("invalid position");
-    }
-    int sCoord = (- diagonalPos) - rowPos;
-    //adds the q, r, and s coordinates to a list
-    List<Integer> coords = new ArrayList<>(Arrays.asList(sCoord, diagonalPos, rowPos));
-    int boardSideLength = this.getBoardSideLength();
-    //checks that the list contains the coordinates it should
-    return (coords.contains(0) && coords.contains(boardSideLength - 1)
-        && coords.contains(- (boardSideLength - 1)));
-  }
-
-
 
   @Override
   public boolean isSquareReversi() {
@@ -297,6 +140,9 @@ public class BasicReversi extends AbstractReversiModel {
    */
   protected void createDefaultGameBoard(int sideLength) {
     List<List<HexagonCell>> gameBoard = new ArrayList<>();
+    //the states of the cells, in the same layout as the cells array (see getIndex)
+    this.width = (2 * sideLength) - 1;
+    this.states = new byte[this.width * this.width];
 
     //the length of the current row (going from top to bottom)
     int currentRowLength = sideLength;
@@ -328,7 +174,8 @@ public class BasicReversi extends AbstractReversiModel {
         //the row it is in.
         rowPos = -halfwayRowIndex + i;
 
-        row.add(new HexagonCell(diagonalPos, rowPos)); // replace with new Cell()
+        row.add(new HexagonCell(this, this.getIndex(diagonalPos, rowPos), diagonalPos,
+            rowPos));
       }
 
       gameBoard.add(row);
@@ -340,6 +187,25 @@ public class BasicReversi extends AbstractReversiModel {
       }
     }
     this.gameBoard = gameBoard;
+    this.createCellArray(sideLength);
+    this.createRays(DIRECTIONS);
+    this.createBoardMasks();
+    this.createSymmetries(SYMMETRIES);
+  }
+
+
+  /**
+   * lays the cells of the game board out in an array indexed by their (q, r) coordinates.
+   * @param sideLength the side length of the game board.
+   */
+  private void createCellArray(int sideLength) {
+    this.cells = new Cell[this.width * this.width];
+    for (List<HexagonCell> list : this.gameBoard) {
+      for (HexagonCell cell : list) {
+        this.cells[this.getIndex(cell.getDiagonalPos(), cell.getRowPos())] = cell;
+      }
+    }
+    this.createBoardOrder(this.gameBoard);
   }
 
 
@@ -350,97 +216,71 @@ public class BasicReversi extends AbstractReversiModel {
    */
   protected void assignInitialPieces(int sideLength) {
     // top left X
-    gameBoard.get(sideLength - 2).get(sideLength - 2).changeCellState(PlayerEnum.X);
+    this.placeInitialPiece(gameBoard.get(sideLength - 2).get(sideLength - 2), PlayerEnum.X);
     // top right O
-    gameBoard.get(sideLength - 2).get(sideLength - 1).changeCellState(PlayerEnum.O);
+    this.placeInitialPiece(gameBoard.get(sideLength - 2).get(sideLength - 1), PlayerEnum.O);
     // mid left O
-    gameBoard.get(sideLength - 1).get(sideLength - 2).changeCellState(PlayerEnum.O);
+    this.placeInitialPiece(gameBoard.get(sideLength - 1).get(sideLength - 2), PlayerEnum.O);
     // mid right X
-    gameBoard.get(sideLength - 1).get(sideLength).changeCellState(PlayerEnum.X);
+    this.placeInitialPiece(gameBoard.get(sideLength - 1).get(sideLength), PlayerEnum.X);
     // bottom left X
-    gameBoard.get(sideLength).get(sideLength - 2).changeCellState(PlayerEnum.X);
+    this.placeInitialPiece(gameBoard.get(sideLength).get(sideLength - 2), PlayerEnum.X);
     // bottom right O
-    gameBoard.get(sideLength).get(sideLength - 1).changeCellState(PlayerEnum.O);
+    this.placeInitialPiece(gameBoard.get(sideLength).get(sideLength - 1), PlayerEnum.O);
 
   }
 
 
 
-
   /**
-   * returns a list of cells from the game board in the same q diagonal (top left to bottom right).
-   * @param diagonalPos the targeted diagonal line.
-   * @return a list of cells from the game board with the given diagonal position.
+   * the index in the cells array of the given position.
+   * @param diagonalPos the diagonal position.
+   * @param rowPos the row position.
+   * @return the index of this position in the cells array.
    */
-  private List<Cell> getQDiagonals(int diagonalPos) {
-    List<Cell> diagonals = new ArrayList<Cell>();
-    for (List<HexagonCell> list : gameBoard) {
-      for (HexagonCell cell : list) {
-        if (cell.getDiagonalPos() == diagonalPos) {
-          diagonals.add(cell);
-        }
-      }
-    }
-    return diagonals;
+  @Override
+  protected int getIndex(int diagonalPos, int rowPos) {
+    int offset = (this.width - 1) / 2;
+    return ((rowPos + offset) * this.width) + diagonalPos + offset;
   }
 
-  /**
-   * returns a list of cells from the game board in the same S diagonal (top right to bottom left).
-   * @param diagonalPos the diagonal pos of a cell.
-   * @param rowPos the row pos of a cell.
-   * @return all the cells in the game board with the same S value as the inputted cell pos.
-   */
-  private List<Cell> getSDiagonals(int diagonalPos, int rowPos) {
-    List<Cell> sDiagonals = new ArrayList<Cell>();
-    int sValue = (- diagonalPos) - rowPos;
-    for (List<HexagonCell> list : gameBoard) {
-      for (HexagonCell cell : list) {
-        if (cell.getSVal() == sValue) {
-          sDiagonals.add(cell);
-        }
-      }
-    }
-    Collections.reverse(sDiagonals);
-    return sDiagonals;
-  }
 
   /**
-   * returns all the cells in the game board in the same given row.
-   * @param rowPos the targeted row position.
-   * @return the cells in the game board with the given row position.
+   * the index in the cells array of the position the given cell is moved to by the given
+   * symmetry. symmetries 6 to 11 first reflect the cell across the line where q equals r
+   * (swapping its q and r coordinates), and then every symmetry turns the cell around the center
+   * by 60 degrees (symmetry % 6) times, which moves its (q, r, s) coordinates to (-r, -s, -q).
+   * @param symmetry the number of the symmetry, from 0 to 11.
+   * @param cell a cell of the game board.
+   * @return the index of the moved position.
    */
-  private List<Cell> getRow(int rowPos) {
-    List<Cell> row = new ArrayList<Cell>();
-    for (List<HexagonCell> list : gameBoard) {
-      for (Cell cell : list) {
-        if (cell.getRowPos() == rowPos) {
-          row.add(cell);
-        }
-      }
+  @Override
+  protected int symmetricIndex(int symmetry, Cell cell) {
+    int q = cell.getDiagonalPos();
+    int r = cell.getRowPos();
+    int s = cell.getSVal();
+    if (symmetry >= SYMMETRIES / 2) {
+      int swap = q;
+      q = r;
+      r = swap;
+    }
+    for (int turn = 0; turn < symmetry % (SYMMETRIES / 2); turn++) {
+      int oldQ = q;
+      q = -r;
+      r = -s;
+      s = -oldQ;
     }
-    return row;
+    return this.getIndex(q, r);
   }
 
 
-
-
-
   /**
-   * turns over all opposing cells that are sandwiched in a valid move.
-   * does NOT add a piece to the index, the cell at the index remains empty!!!!
-   * @param diagonalPos the diagonal position of the placed piece.
-   * @param rowPos the row position of the placed piece.
+   * a new, unstarted model of the same type as this one, used to make copies of this game.
+   * @return a new BasicReversi with no listeners.
    */
-  protected void turnOverAllValid(int diagonalPos, int rowPos) {
-    List<Cell> row = this.getRow(rowPos);
-    List<Cell> qDiagonal = this.getQDiagonals(diagonalPos);
-    List<Cell> sDiagonal = this.getSDiagonals(diagonalPos, rowPos);
-    int rowIndex = this.getListIndex(row, diagonalPos, rowPos);
-    int qIndex = this.getListIndex(qDiagonal, diagonalPos, rowPos);
-    int sIndex = this.getListIndex(sDiagonal, diagonalPos, rowPos);
-    this.turnOverOpposites(row, rowIndex);
-    this.turnOverOpposites(qDiagonal, qIndex);
-    this.turnOverOpposites(sDiagonal, sIndex);
+  @Override
+  protected AbstractReversiModel newModel() {
+    return new BasicReversi();
   }
 
 
@@ -452,65 +292,12 @@ public class BasicReversi extends AbstractReversiModel {
    * @return true if the position is a position on the game board.
    */
   protected boolean posnNotInGame(int diagonalPos, int rowPos) {
-    List<Integer> diagonalPosns = new ArrayList<>();
-    List<Integer> rowPosns = new ArrayList<>();
-
-    for (List<HexagonCell> list : gameBoard) {
-      for (HexagonCell cell : list) {
-        diagonalPosns.add(cell.getDiagonalPos());
-        rowPosns.add(cell.getRowPos());
-      }
-    }
-    return (!diagonalPosns.contains(diagonalPos) || !rowPosns.contains(rowPos));
-  }
-
-
-
-
-
-  //HELPER METHODS FOR IS GAME OVER:
-
-
-  /**
-   * Determines if the board is full.
-   * @return return true if there are no empty cells.
-   */
-  protected boolean isBoardFull() {
-    boolean full = true;
-    for (List<HexagonCell> list: this.gameBoard) {
-      for (HexagonCell cell : list) {
-        if (cell.isEmpty()) {
-          full = false;
-        }
-      }
-    }
-    return full;
-  }
-
-
-  /**
-   * determines if all the occupied cells are the same color.
-   * @return true if all the occupied cells have the same cell state.
-   */
-  protected boolean monochromeCells() {
-    boolean sameColor = true;
-    //get all the non-empty cells in the game board.
-    List<HexagonCell> nonEmpties = new ArrayList<>();
-    for (List<HexagonCell> list: this.gameBoard) {
-      for (HexagonCell cell : list) {
-        if (!cell.isEmpty()) {
-          nonEmpties.add(cell);
-        }
-      }
-    }
-    //determine if all the non-empty cells are occupied by the same player.
-    String state = nonEmpties.get(0).toString();
-    for (HexagonCell occupiedCell : nonEmpties) {
-      if (!occupiedCell.toString().equals(state)) {
-        sameColor = false;
-      }
-    }
-    return sameColor;
+    //a position is on the board if its q, r, and s coordinates are all within
+    //(side length - 1) of the center
+    int offset = (this.width - 1) / 2;
+    int sCoord = (- diagonalPos) - rowPos;
+    return (Math.abs(diagonalPos) > offset || Math.abs(rowPos) > offset
+        || Math.abs(sCoord) > offset);
   }
 
 
@@ -538,26 +325,6 @@ public class BasicReversi extends AbstractReversiModel {
   }
 
 
-
-  //HELPER FOR POSN IN CORNER
-
-  protected List<Cell> getCorners() {
-    //gets all the cells that are corners on the game board
-    List<Cell> corners = new ArrayList<>();
-    ArrayList<ArrayList<Cell>> board = this.getGameBoard();
-    for (List<Cell> list : board) {
-      for (Cell cell : list) {
-        int q = cell.getDiagonalPos();
-        int r = cell.getRowPos();
-        if (this.posnInCorner(q, r)) {
-          corners.add(cell);
-        }
-      }
-    }
-    return corners;
-  }
-
-
   /**
    * Create a unique number per object that exists.
    * Required method for any object.
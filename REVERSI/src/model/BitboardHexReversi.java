@@ -0,0 +1,526 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A model of a game of hexagonal Reversi that keeps the game board as bit masks, one for the
+ * cells of player X and one for the cells of player O. Valid moves are found for every cell at
+ * once by shifting and masking these masks along the six directions of the board, instead of
+ * walking the rays of every empty cell after each move.
+ * NOTE: bit i of a mask represents the cell at index i of the cells array, so the cell at (q, r)
+ *     is bit ((r + side length - 1) * width + q + side length - 1), where the width is
+ *     (2 * side length - 1). A step in one of the six directions is then always the same shift.
+ *     A mask is as many longs as the board needs: one for a side length of up to 4, two for a
+ *     side length of 5 or 6, and more for larger boards.
+ * The HexagonCells of the game board are kept up to date after every move, so the view, the
+ * controller and the strategies use this model the same way as any other BasicReversi.
+ */
+public class BitboardHexReversi extends BasicReversi {
+
+  //the change in (q, r) coordinates of one step in each of the six directions on the board
+  private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, -1}, {-1, 1}};
+
+  //the cells occupied by player X
+  private long[] xCells;
+  //the cells occupied by player O
+  private long[] oCells;
+  //a mask with a bit set for every cell on the game board
+  private long[] boardMask;
+  //the number of longs in each mask
+  private int words;
+  //the number of positions in one row of the cells array
+  private int width;
+  //the number of bits to shift a mask by to move one cell in each direction
+  //(positive shifts left, negative shifts right)
+  private final int[] shifts;
+  //for each direction, the cells a step in that direction can land on: the cells whose
+  //neighbour the other way is on the board. used so pieces never wrap around to another row.
+  private final long[][] shiftMasks;
+  //masks reused while finding valid moves and turned over pieces, so no masks are made per move
+  private long[] empty;
+  private long[] line;
+  private long[] next;
+  private long[] moves;
+  private long[] flipped;
+
+
+  /**
+   * constructs a game of hexagonal reversi backed by bitboards.
+   */
+  public BitboardHexReversi() {
+    super();
+    this.shifts = new int[DIRECTIONS.length];
+    this.shiftMasks = new long[DIRECTIONS.length][];
+    this.words = 0;
+    this.width = 0;
+    this.xCells = new long[0];
+    this.oCells = new long[0];
+    this.boardMask = new long[0];
+  }
+
+
+  /**
+   * a new, unstarted model of the same type as this one, used to make copies of this game.
+   * @return a new BitboardHexReversi with no listeners.
+   */
+  @Override
+  protected AbstractReversiModel newModel() {
+    return new BitboardHexReversi();
+  }
+
+
+  /**
+   * determines if a player must have to make a forced pass.
+   * @return true if there are no valid moves in any of the empty cells for the current player.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public boolean forcedPass() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    this.validMoves(this.ownCells(), this.opponentCells(), this.moves);
+    return this.isZero(this.moves);
+  }
+
+
+  /**
+   * returns all the cells that the current player can move to.
+   * @return the cells in the game board that would currently be a valid move, in the same
+   *     order as they appear in the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public List<Cell> getValidMoves() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    this.validMoves(this.ownCells(), this.opponentCells(), this.moves);
+    List<Cell> valids = new ArrayList<>();
+    for (int word = 0; word < this.words; word++) {
+      long bits = this.moves[word];
+      while (bits != 0) {
+        valids.add(this.cells[(word * Long.SIZE) + Long.numberOfTrailingZeros(bits)]);
+        bits &= bits - 1;
+      }
+    }
+    return valids;
+  }
+
+
+  /**
+   * checks if a player move to a given cell position is valid.
+   * @param diagonalPos the diagonal position that they are playing a piece on.
+   * @param rowPos the row position that they are playing a piece on.
+   * @return true if the move is valid (if they sandwich at least one of the other pieces).
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public boolean checkValid(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    int index = this.getIndex(diagonalPos, rowPos);
+    if (this.states[index] != EMPTY) {
+      return false;
+    }
+    return this.flips(index, this.ownCells(), this.opponentCells(), this.flipped) != 0;
+  }
+
+
+  /**
+   * counts all the pieces that WOULD be turned over if a player were to move at this cell.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the number of pieces that a player would gain from this move.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public int countPiecesGained(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    return this.flips(this.getIndex(diagonalPos, rowPos), this.ownCells(),
+        this.opponentCells(), this.flipped);
+  }
+
+
+  /**
+   * the valid moves of the player whose turn it is and the pieces each would turn over, found
+   * from the player masks.
+   * @return the packed valid moves, in the same order as getValidMoves.
+   */
+  @Override
+  protected int[] packValidMoves() {
+    long[] own = this.ownCells();
+    long[] opponent = this.opponentCells();
+    this.validMoves(own, opponent, this.moves);
+    int[] packed = new int[this.bitCount(this.moves) * EvaluatedMoves.STRIDE];
+    int position = 0;
+    for (int word = 0; word < this.words; word++) {
+      long bits = this.moves[word];
+      while (bits != 0) {
+        int index = (word * Long.SIZE) + Long.numberOfTrailingZeros(bits);
+        packed[position++] = this.cells[index].getDiagonalPos();
+        packed[position++] = this.cells[index].getRowPos();
+        packed[position++] = this.flips(index, own, opponent, this.flipped);
+        bits &= bits - 1;
+      }
+    }
+    return packed;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR START GAME:
+  /**
+   * creates a hexagonal game board as a 2d array with the size of the given side length, and
+   * sets up the masks and shift tables for a board of this size.
+   * @param sideLength desired length of a side of the hexagonal game board.
+   */
+  @Override
+  protected void createDefaultGameBoard(int sideLength) {
+    super.createDefaultGameBoard(sideLength);
+    this.width = (2 * sideLength) - 1;
+    this.words = ((this.width * this.width) + Long.SIZE - 1) / Long.SIZE;
+    this.xCells = new long[this.words];
+    this.oCells = new long[this.words];
+    this.boardMask = new long[this.words];
+    this.empty = new long[this.words];
+    this.line = new long[this.words];
+    this.next = new long[this.words];
+    this.moves = new long[this.words];
+    this.flipped = new long[this.words];
+    for (int index : this.boardOrder) {
+      this.setBit(this.boardMask, index);
+    }
+
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      int stepQ = DIRECTIONS[direction][0];
+      int stepR = DIRECTIONS[direction][1];
+      this.shifts[direction] = stepQ + (stepR * this.width);
+      this.shiftMasks[direction] = new long[this.words];
+      for (int index : this.boardOrder) {
+        Cell cell = this.cells[index];
+        if (!this.posnNotInGame(cell.getDiagonalPos() - stepQ, cell.getRowPos() - stepR)) {
+          this.setBit(this.shiftMasks[direction], index);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * assigns the initial game pieces to each player, and records them in the player masks.
+   * @param sideLength the length of the board.
+   */
+  @Override
+  protected void assignInitialPieces(int sideLength) {
+    super.assignInitialPieces(sideLength);
+    Arrays.fill(this.xCells, 0);
+    Arrays.fill(this.oCells, 0);
+    for (int index : this.boardOrder) {
+      if (this.states[index] == X) {
+        this.setBit(this.xCells, index);
+      }
+      if (this.states[index] == O) {
+        this.setBit(this.oCells, index);
+      }
+    }
+  }
+
+
+  /**
+   * does nothing, because the valid moves of a bitboard are found from the player masks
+   * whenever they are needed.
+   */
+  @Override
+  protected void findAllValidMoves() {
+    //the player masks are all that is needed to find the valid moves
+  }
+
+
+
+
+
+  //HELPER METHODS FOR CHECKING A VALID MOVE/MAKING A MOVE:
+  /**
+   * places a piece of the current player at the cell with the given index and turns over all
+   * the opposing pieces it sandwiches, found from the player masks.
+   * the move is recorded in the undo stack and the player turn switches to the next player.
+   * @param placed the index of the cell the piece is placed at.
+   */
+  @Override
+  protected void makeMove(int placed) {
+    int numFlipped = this.flips(placed, this.ownCells(), this.opponentCells(), this.flipped);
+    for (int word = 0; word < this.words; word++) {
+      long bits = this.flipped[word];
+      while (bits != 0) {
+        int index = (word * Long.SIZE) + Long.numberOfTrailingZeros(bits);
+        this.setCell(index, this.playerTurn);
+        this.pushUndo(index);
+        bits &= bits - 1;
+      }
+    }
+    this.setCell(placed, this.playerTurn);
+    this.finishMove(placed, numFlipped, true);
+  }
+
+
+  /**
+   * changes the state of the cell with the given index, in both the cells of the game board and
+   * the player masks.
+   * @param index the index of the cell in the cells array.
+   * @param state the player that will occupy the cell, or empty.
+   */
+  @Override
+  protected void setCell(int index, PlayerEnum state) {
+    long bit = 1L << index;
+    int word = index / Long.SIZE;
+    this.xCells[word] &= ~bit;
+    this.oCells[word] &= ~bit;
+    if (state == PlayerEnum.X) {
+      this.xCells[word] |= bit;
+    }
+    else if (state == PlayerEnum.O) {
+      this.oCells[word] |= bit;
+    }
+    super.setCell(index, state);
+  }
+
+
+  /**
+   * does nothing, because the valid moves of a bitboard are found from the player masks
+   * whenever they are needed.
+   * @param placed the index of the cell that was placed at or taken back from.
+   * @param flippedFrom the position in the undo stack of the first turned over cell.
+   * @param flippedTo the position in the undo stack after the last turned over cell.
+   */
+  @Override
+  protected void updateValidMoves(int placed, int flippedFrom, int flippedTo) {
+    //the player masks were already updated by setCell
+  }
+
+
+  /**
+   * the mask of the cells occupied by the player whose turn it is.
+   * @return the current player's cells.
+   */
+  private long[] ownCells() {
+    return (this.playerTurn == PlayerEnum.X) ? this.xCells : this.oCells;
+  }
+
+
+  /**
+   * the mask of the cells occupied by the player whose turn it is not.
+   * @return the other player's cells.
+   */
+  private long[] opponentCells() {
+    return (this.playerTurn == PlayerEnum.X) ? this.oCells : this.xCells;
+  }
+
+
+  /**
+   * moves every piece in a mask one cell in the given direction, dropping any pieces that would
+   * leave the board. the moved mask can be written over the mask being moved.
+   * @param cells the mask of pieces being moved.
+   * @param direction the index of the direction.
+   * @param into the mask the moved pieces are written to.
+   */
+  private void shift(long[] cells, int direction, long[] into) {
+    int amount = this.shifts[direction];
+    long[] mask = this.shiftMasks[direction];
+    int wordShift = Math.abs(amount) / Long.SIZE;
+    int bitShift = Math.abs(amount) % Long.SIZE;
+    if (amount > 0) {
+      //each word is made from the words below it, so the words are written from the top down
+      for (int word = this.words - 1; word >= 0; word--) {
+        int from = word - wordShift;
+        long value = 0;
+        if (from >= 0) {
+          value = cells[from] << bitShift;
+          if (bitShift != 0 && from > 0) {
+            value |= cells[from - 1] >>> (Long.SIZE - bitShift);
+          }
+        }
+        into[word] = value & mask[word];
+      }
+    }
+    else {
+      //each word is made from the words above it, so the words are written from the bottom up
+      for (int word = 0; word < this.words; word++) {
+        int from = word + wordShift;
+        long value = 0;
+        if (from < this.words) {
+          value = cells[from] >>> bitShift;
+          if (bitShift != 0 && from + 1 < this.words) {
+            value |= cells[from + 1] << (Long.SIZE - bitShift);
+          }
+        }
+        into[word] = value & mask[word];
+      }
+    }
+  }
+
+
+  /**
+   * finds the pieces that would be turned over if a piece was placed at the given cell, by
+   * stepping from the cell along each direction with the shift tables.
+   * @param placed the index of the cell a piece is placed at.
+   * @param own the cells of the player placing the piece.
+   * @param opponent the cells of the other player.
+   * @param into the mask the sandwiched pieces are written to.
+   * @return the number of the opponent's pieces sandwiched by this move.
+   */
+  private int flips(int placed, long[] own, long[] opponent, long[] into) {
+    Arrays.fill(into, 0);
+    int numFlipped = 0;
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      int step = this.shifts[direction];
+      long[] mask = this.shiftMasks[direction];
+      int index = placed + step;
+      int captured = 0;
+      //walks over the opponent's pieces until reaching a cell that is not theirs
+      while (this.onStep(mask, index) && this.hasBit(opponent, index)) {
+        captured++;
+        index += step;
+      }
+      //the walked over pieces are only sandwiched if the line ends at one of the player's pieces
+      if (captured > 0 && this.onStep(mask, index) && this.hasBit(own, index)) {
+        for (int i = 1; i <= captured; i++) {
+          this.setBit(into, placed + (i * step));
+        }
+        numFlipped += captured;
+      }
+    }
+    return numFlipped;
+  }
+
+
+  /**
+   * finds the empty cells that a player can move to, for every cell at once: along each
+   * direction, the runs of the opponent's pieces next to the player's pieces are grown one
+   * cell at a time, and the empty cells just past them are valid moves.
+   * @param own the cells of the player moving.
+   * @param opponent the cells of the other player.
+   * @param into the mask the valid moves are written to.
+   */
+  private void validMoves(long[] own, long[] opponent, long[] into) {
+    for (int word = 0; word < this.words; word++) {
+      this.empty[word] = this.boardMask[word] & ~(own[word] | opponent[word]);
+      into[word] = 0;
+    }
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      //the opponent's pieces that are in a line next to one of the player's pieces
+      this.shift(own, direction, this.line);
+      boolean grown = this.and(this.line, opponent);
+      while (grown) {
+        this.shift(this.line, direction, this.next);
+        grown = false;
+        for (int word = 0; word < this.words; word++) {
+          long added = this.next[word] & opponent[word] & ~this.line[word];
+          if (added != 0) {
+            this.line[word] |= added;
+            grown = true;
+          }
+        }
+      }
+      this.shift(this.line, direction, this.next);
+      for (int word = 0; word < this.words; word++) {
+        into[word] |= this.next[word] & this.empty[word];
+      }
+    }
+  }
+
+
+  /**
+   * keeps only the bits of a mask that are also in another mask.
+   * @param cells the mask being changed.
+   * @param other the mask of the bits kept.
+   * @return true if any bits are left.
+   */
+  private boolean and(long[] cells, long[] other) {
+    long any = 0;
+    for (int word = 0; word < this.words; word++) {
+      cells[word] &= other[word];
+      any |= cells[word];
+    }
+    return any != 0;
+  }
+
+
+  /**
+   * determines if a step in a direction can land on the given bit, which is false for bits
+   * beyond the board and for a step that would wrap around to another row.
+   * @param mask the cells a step in the direction can land on.
+   * @param index the bit the step lands on.
+   * @return true if the step lands on a cell of the board.
+   */
+  private boolean onStep(long[] mask, int index) {
+    return index >= 0 && index < this.words * Long.SIZE && this.hasBit(mask, index);
+  }
+
+
+  /**
+   * determines if a mask has the given bit set.
+   * @param cells the mask.
+   * @param index the bit.
+   * @return true if the bit is set.
+   */
+  private boolean hasBit(long[] cells, int index) {
+    return (cells[index / Long.SIZE] & (1L << index)) != 0;
+  }
+
+
+  /**
+   * sets the given bit of a mask.
+   * @param cells the mask.
+   * @param index the bit.
+   */
+  private void setBit(long[] cells, int index) {
+    cells[index / Long.SIZE] |= 1L << index;
+  }
+
+
+  /**
+   * determines if a mask has no bits set.
+   * @param cells the mask.
+   * @return true if every bit is clear.
+   */
+  private boolean isZero(long[] cells) {
+    for (long word : cells) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+
+  /**
+   * counts the bits set in a mask.
+   * @param cells the mask.
+   * @return the number of bits set.
+   */
+  private int bitCount(long[] cells) {
+    int count = 0;
+    for (long word : cells) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,410 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A model of a game of Square Reversi that keeps the game board as two 64-bit masks, one for
+ * the cells of player X and one for the cells of player O. Valid moves and flipped pieces are
+ * found by shifting and masking these longs instead of building the rows, columns and diagonals
+ * of the game board on every call.
+ * NOTE: bit (y * side length + x) of a mask represents the cell at position (x, y), so the
+ *     board can have at most 64 cells and a side length of at most 8.
+ * The SquareCells of the game board are kept up to date after every move, so the view, the
+ * controller and the strategies use this model the same way as any other SquareReversi.
+ */
+public class BitboardSquareReversi extends SquareReversi {
+
+  //the largest side length that fits in one 64-bit mask
+  private static final int MAX_SIDE_LENGTH = 8;
+  //the number of directions a piece can be sandwiched in on a square board
+  private static final int NUM_DIRECTIONS = 8;
+
+  //the cells occupied by player X
+  private long xCells;
+  //the cells occupied by player O
+  private long oCells;
+  //a mask with a bit set for every cell on the game board
+  private long boardMask;
+  //the side length of the game board
+  private int side;
+  //the number of bits to shift a mask by to move one cell in each direction
+  //(positive shifts left, negative shifts right)
+  private final int[] shifts;
+  //the mask applied after each shift so pieces do not wrap around to the other side of the board
+  private final long[] shiftMasks;
+
+
+  /**
+   * constructs a game of square reversi backed by bitboards.
+   */
+  public BitboardSquareReversi() {
+    super();
+    this.shifts = new int[NUM_DIRECTIONS];
+    this.shiftMasks = new long[NUM_DIRECTIONS];
+  }
+
+
+  /**
+   * a new, unstarted model of the same type as this one, used to make copies of this game.
+   * @return a new BitboardSquareReversi with no listeners.
+   */
+  @Override
+  protected AbstractReversiModel newModel() {
+    return new BitboardSquareReversi();
+  }
+
+
+  /**
+   * starts a game of reversi.
+   * @param sideLength  desired length of a side of the square game board.
+   * @throws IllegalArgumentException if the side length is larger than 8.
+   */
+  @Override
+  public void startGame(int sideLength) {
+    if (sideLength > MAX_SIDE_LENGTH) {
+      throw new IllegalArgumentException("board is too big for a bitboard");
+    }
+    super.startGame(sideLength);
+  }
+
+
+  /**
+   * determines if a player must have to make a forced pass.
+   * @return true if there are no valid moves in any of the empty cells for the current player.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public boolean forcedPass() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    return this.validMoves(this.ownCells(), this.opponentCells()) == 0;
+  }
+
+
+  /**
+   * returns all the cells that the current player can move to.
+   * @return the cells in the game board that would currently be a valid move, in the same
+   *     order as they appear in the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  @Override
+  public List<Cell> getValidMoves() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    List<Cell> valids = new ArrayList<>();
+    long moves = this.validMoves(this.ownCells(), this.opponentCells());
+    while (moves != 0) {
+      valids.add(this.cells[Long.numberOfTrailingZeros(moves)]);
+      moves &= moves - 1;
+    }
+    return valids;
+  }
+
+
+  /**
+   * checks if a player move to a given cell position is valid.
+   * @param diagonalPos the diagonal position that they are playing a piece on.
+   * @param rowPos the row position that they are playing a piece on.
+   * @return true if the move is valid (if they sandwich at least one of the other pieces).
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public boolean checkValid(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    long move = this.bit(diagonalPos, rowPos);
+    if (((this.xCells | this.oCells) & move) != 0) {
+      return false;
+    }
+    return this.flips(move, this.ownCells(), this.opponentCells()) != 0;
+  }
+
+
+  /**
+   * counts all the pieces that WOULD be turned over if a player were to move at this cell.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the number of pieces that a player would gain from this move.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  @Override
+  public int countPiecesGained(int diagonalPos, int rowPos) {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("game not started");
+    }
+    if (this.posnNotInGame(diagonalPos, rowPos)) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    long move = this.bit(diagonalPos, rowPos);
+    return Long.bitCount(this.flips(move, this.ownCells(), this.opponentCells()));
+  }
+
+
+  /**
+   * the valid moves of the player whose turn it is and the pieces each would turn over, found
+   * from the player masks.
+   * @return the packed valid moves, in the same order as getValidMoves.
+   */
+  @Override
+  protected int[] packValidMoves() {
+    long own = this.ownCells();
+    long opponent = this.opponentCells();
+    long moves = this.validMoves(own, opponent);
+    int[] packed = new int[Long.bitCount(moves) * EvaluatedMoves.STRIDE];
+    int position = 0;
+    while (moves != 0) {
+      long move = Long.lowestOneBit(moves);
+      int index = Long.numberOfTrailingZeros(move);
+      packed[position++] = this.cells[index].getDiagonalPos();
+      packed[position++] = this.cells[index].getRowPos();
+      packed[position++] = Long.bitCount(this.flips(move, own, opponent));
+      moves &= moves - 1;
+    }
+    return packed;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR START GAME:
+  /**
+   * creates a square game board as a 2d array with the size of the given side length, and
+   * sets up the masks and shift tables for a board of this size.
+   * @param sideLength desired length of a side of the square game board.
+   */
+  @Override
+  protected void createDefaultGameBoard(int sideLength) {
+    super.createDefaultGameBoard(sideLength);
+    this.side = sideLength;
+    int numCells = sideLength * sideLength;
+    this.boardMask = (numCells == Long.SIZE) ? -1L : (1L << numCells) - 1;
+
+    //masks of the cells in the leftmost and rightmost columns
+    long leftColumn = 0;
+    long rightColumn = 0;
+    for (int y = 0; y < sideLength; y++) {
+      leftColumn |= 1L << (y * sideLength);
+      rightColumn |= 1L << (y * sideLength + sideLength - 1);
+    }
+    //a piece moving right can never land in the leftmost column, and a piece moving left can
+    //never land in the rightmost column
+    long notLeft = this.boardMask & ~leftColumn;
+    long notRight = this.boardMask & ~rightColumn;
+    this.setDirection(0, 1, notLeft);
+    this.setDirection(1, -1, notRight);
+    this.setDirection(2, sideLength, this.boardMask);
+    this.setDirection(3, -sideLength, this.boardMask);
+    this.setDirection(4, sideLength + 1, notLeft);
+    this.setDirection(5, sideLength - 1, notRight);
+    this.setDirection(6, -(sideLength - 1), notLeft);
+    this.setDirection(7, -(sideLength + 1), notRight);
+  }
+
+
+  /**
+   * assigns the initial game pieces to each player, and records them in the player masks.
+   * @param sideLength the length of the board.
+   */
+  @Override
+  protected void assignInitialPieces(int sideLength) {
+    super.assignInitialPieces(sideLength);
+    this.xCells = 0;
+    this.oCells = 0;
+    for (int i = 0; i < this.states.length; i++) {
+      if (this.states[i] == X) {
+        this.xCells |= 1L << i;
+      }
+      if (this.states[i] == O) {
+        this.oCells |= 1L << i;
+      }
+    }
+  }
+
+
+  /**
+   * does nothing, because the valid moves of a bitboard are found from the player masks
+   * whenever they are needed.
+   */
+  @Override
+  protected void findAllValidMoves() {
+    //the player masks are all that is needed to find the valid moves
+  }
+
+
+  /**
+   * sets the shift amount and wrap-around mask for one direction.
+   * @param direction the index of the direction.
+   * @param shift the change in bit position of a step in this direction.
+   * @param mask the cells that a step in this direction can land on.
+   */
+  private void setDirection(int direction, int shift, long mask) {
+    this.shifts[direction] = shift;
+    this.shiftMasks[direction] = mask;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR CHECKING A VALID MOVE/MAKING A MOVE:
+  /**
+   * places a piece of the current player at the cell with the given index and turns over all
+   * the opposing pieces it sandwiches, finding them all at once from the player masks.
+   * the move is recorded in the undo stack and the player turn switches to the next player.
+   * @param placed the index of the cell the piece is placed at.
+   */
+  @Override
+  protected void makeMove(int placed) {
+    long flipped = this.flips(1L << placed, this.ownCells(), this.opponentCells());
+    int numFlipped = Long.bitCount(flipped);
+    while (flipped != 0) {
+      int index = Long.numberOfTrailingZeros(flipped);
+      this.setCell(index, this.playerTurn);
+      this.pushUndo(index);
+      flipped &= flipped - 1;
+    }
+    this.setCell(placed, this.playerTurn);
+    this.finishMove(placed, numFlipped, true);
+  }
+
+
+  /**
+   * changes the state of the cell with the given index, in both the cells of the game board and
+   * the player masks.
+   * @param index the index of the cell in the cells array.
+   * @param state the player that will occupy the cell, or empty.
+   */
+  @Override
+  protected void setCell(int index, PlayerEnum state) {
+    long bit = 1L << index;
+    this.xCells &= ~bit;
+    this.oCells &= ~bit;
+    if (state == PlayerEnum.X) {
+      this.xCells |= bit;
+    }
+    else if (state == PlayerEnum.O) {
+      this.oCells |= bit;
+    }
+    super.setCell(index, state);
+  }
+
+
+  /**
+   * does nothing, because the valid moves of a bitboard are found from the player masks
+   * whenever they are needed.
+   * @param placed the index of the cell that was placed at or taken back from.
+   * @param flippedFrom the position in the undo stack of the first turned over cell.
+   * @param flippedTo the position in the undo stack after the last turned over cell.
+   */
+  @Override
+  protected void updateValidMoves(int placed, int flippedFrom, int flippedTo) {
+    //the player masks were already updated by setCell
+  }
+
+
+  /**
+   * the mask with only the bit of the given position set.
+   * @param diagonalPos the x position of the cell.
+   * @param rowPos the y position of the cell.
+   * @return the bit representing this cell.
+   */
+  private long bit(int diagonalPos, int rowPos) {
+    return 1L << (rowPos * this.side + diagonalPos);
+  }
+
+
+  /**
+   * the mask of the cells occupied by the player whose turn it is.
+   * @return the current player's cells.
+   */
+  private long ownCells() {
+    return (this.playerTurn == PlayerEnum.X) ? this.xCells : this.oCells;
+  }
+
+
+  /**
+   * the mask of the cells occupied by the player whose turn it is not.
+   * @return the other player's cells.
+   */
+  private long opponentCells() {
+    return (this.playerTurn == PlayerEnum.X) ? this.oCells : this.xCells;
+  }
+
+
+  /**
+   * moves every piece in a mask one cell in the given direction, dropping any pieces that would
+   * leave the board.
+   * @param cells the mask of pieces being moved.
+   * @param direction the index of the direction.
+   * @return the moved mask.
+   */
+  private long shift(long cells, int direction) {
+    int amount = this.shifts[direction];
+    if (amount > 0) {
+      return (cells << amount) & this.shiftMasks[direction];
+    }
+    else {
+      return (cells >>> -amount) & this.shiftMasks[direction];
+    }
+  }
+
+
+  /**
+   * the pieces that would be turned over if a piece was placed at the given cell.
+   * @param move the mask of the cell a piece is placed at.
+   * @param own the cells of the player placing the piece.
+   * @param opponent the cells of the other player.
+   * @return the mask of all the opponent's pieces sandwiched by this move.
+   */
+  private long flips(long move, long own, long opponent) {
+    long flipped = 0;
+    for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+      long captured = 0;
+      long next = this.shift(move, direction);
+      //walks over the opponent's pieces until reaching a cell that is not theirs
+      while ((next & opponent) != 0) {
+        captured |= next;
+        next = this.shift(next, direction);
+      }
+      //the walked over pieces are only sandwiched if the line ends at one of the player's pieces
+      if ((next & own) != 0) {
+        flipped |= captured;
+      }
+    }
+    return flipped;
+  }
+
+
+  /**
+   * the empty cells that a player can move to.
+   * @param own the cells of the player moving.
+   * @param opponent the cells of the other player.
+   * @return the mask of every valid move for the player.
+   */
+  private long validMoves(long own, long opponent) {
+    long empty = this.boardMask & ~(own | opponent);
+    long moves = 0;
+    for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+      //the opponent's pieces that are in a line next to one of the player's pieces
+      long line = this.shift(own, direction) & opponent;
+      //a line of the opponent's pieces can be at most (side length - 2) pieces long
+      for (int i = 0; i < this.side - 3; i++) {
+        line |= this.shift(line, direction) & opponent;
+      }
+      moves |= this.shift(line, direction) & empty;
+    }
+    return moves;
+  }
+
+}
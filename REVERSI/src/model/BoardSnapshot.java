@@ -0,0 +1,328 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+
+/**
+ * An immutable copy of the position of a reversi game at one moment: the state of every cell,
+ * the player turn, the turns taken, the scores, and the position key. A snapshot never changes,
+ * so it can be kept and read by any thread without locking, for example by a strategy searching
+ * on another thread, a view drawing the board, or a tool replaying a game.
+ * The cells are numbered in the same order as the game board, like any BoardView.
+ * Snapshots are cheap to make after a move: the layout of the board is shared by every snapshot
+ * of a game, the states are kept one packed row at a time, and a new snapshot only copies the
+ * rows that changed since the snapshot before it, sharing every other row with it.
+ */
+public final class BoardSnapshot implements BoardView {
+
+  private final Layout layout;
+  //the states of the cells of each row, as player codes (see PlayerEnum.getCode), shared with
+  //other snapshots and never changed
+  private final byte[][] rows;
+  private final PlayerEnum playerTurn;
+  private final List<Boolean> turnsTaken;
+  private final int xScore;
+  private final int oScore;
+  private final long positionKey;
+
+
+  /**
+   * creates a snapshot from the given packed rows, which must not be changed afterwards.
+   * @param layout the layout of the board.
+   * @param rows the packed states of the cells of each row.
+   * @param playerTurn the player whose turn it is.
+   * @param earlierTurnTaken false if the earlier of the two most recent turns was a pass.
+   * @param latestTurnTaken false if the most recent turn was a pass.
+   * @param xScore the number of cells player X occupies.
+   * @param oScore the number of cells player O occupies.
+   * @param positionKey the position key of the game.
+   */
+  BoardSnapshot(Layout layout, byte[][] rows, PlayerEnum playerTurn, boolean earlierTurnTaken,
+                boolean latestTurnTaken, int xScore, int oScore, long positionKey) {
+    this.layout = layout;
+    this.rows = rows;
+    this.playerTurn = playerTurn;
+    this.turnsTaken = Collections.unmodifiableList(
+        new ArrayList<>(Arrays.asList(earlierTurnTaken, latestTurnTaken)));
+    this.xScore = xScore;
+    this.oScore = oScore;
+    this.positionKey = positionKey;
+  }
+
+
+  @Override
+  public int size() {
+    return this.layout.diagonals.length;
+  }
+
+  @Override
+  public int getRowCount() {
+    return this.rows.length;
+  }
+
+  @Override
+  public int getRowStart(int row) {
+    if (row < 0 || row >= this.rows.length) {
+      throw new IndexOutOfBoundsException("invalid row");
+    }
+    return this.layout.rowStarts[row];
+  }
+
+  @Override
+  public int getRowLength(int row) {
+    if (row < 0 || row >= this.rows.length) {
+      throw new IndexOutOfBoundsException("invalid row");
+    }
+    return this.rows[row].length;
+  }
+
+  @Override
+  public int getDiagonalPos(int index) {
+    return this.layout.diagonals[index];
+  }
+
+  @Override
+  public int getRowPos(int index) {
+    return this.layout.rowPositions[index];
+  }
+
+  @Override
+  public PlayerEnum getState(int index) {
+    int row = this.layout.indexRows[index];
+    return PlayerEnum.fromCode(this.rows[row][index - this.layout.rowStarts[row]]);
+  }
+
+  @Override
+  public PlayerEnum getStateAtPosn(int diagonalPos, int rowPos) {
+    int index = this.layout.indexOf(diagonalPos, rowPos);
+    if (index < 0) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    return this.getState(index);
+  }
+
+  @Override
+  public int getIndexAtPosn(int diagonalPos, int rowPos) {
+    int index = this.layout.indexOf(diagonalPos, rowPos);
+    if (index < 0) {
+      throw new IllegalArgumentException("invalid position");
+    }
+    return index;
+  }
+
+  @Override
+  public int getDirectionCount() {
+    return this.layout.rays[0].length;
+  }
+
+  @Override
+  public int[] getRay(int index, int direction) {
+    return this.layout.rays[index][direction].clone();
+  }
+
+  @Override
+  public long getCellKey(int index, PlayerEnum player) {
+    if (index < 0 || index >= this.size()) {
+      throw new IndexOutOfBoundsException("invalid cell");
+    }
+    if (player == PlayerEnum.Empty) {
+      return 0;
+    }
+    return this.layout.cellKeys[(index * 2) + player.getCode() - 1];
+  }
+
+  @Override
+  public long getTurnKey() {
+    return AbstractReversiModel.TURN_KEY;
+  }
+
+  @Override
+  public long getPassKey(boolean latest) {
+    return latest ? AbstractReversiModel.LATEST_PASS_KEY : AbstractReversiModel.EARLIER_PASS_KEY;
+  }
+
+
+  /**
+   * the player whose turn it was when the snapshot was made.
+   * @return X or O.
+   */
+  public PlayerEnum getPlayerTurn() {
+    return this.playerTurn;
+  }
+
+  /**
+   * the two most recent turns taken when the snapshot was made.
+   * @return an unmodifiable list of the earlier and the latest turn, where false is a pass.
+   */
+  public List<Boolean> getTurnsTaken() {
+    return this.turnsTaken;
+  }
+
+  /**
+   * the number of cells a player occupied when the snapshot was made.
+   * @param player the player whose cells are counted.
+   * @return the score of the player.
+   * @throws IllegalArgumentException if the player is empty.
+   */
+  public int getPlayerScore(PlayerEnum player) {
+    if (player == PlayerEnum.X) {
+      return this.xScore;
+    }
+    if (player == PlayerEnum.O) {
+      return this.oScore;
+    }
+    else {
+      throw new IllegalArgumentException("invalid player");
+    }
+  }
+
+  /**
+   * the position key of the game when the snapshot was made (see
+   * ReadOnlyReversiModel.getPositionKey).
+   * @return the key of the position.
+   */
+  public long getPositionKey() {
+    return this.positionKey;
+  }
+
+  /**
+   * the side length of the board.
+   * @return the side length of the board, in cells.
+   */
+  public int getBoardSideLength() {
+    return this.layout.sideLength;
+  }
+
+  /**
+   * whether the snapshot is of a square board.
+   * @return true for a square board, false for a hexagon board.
+   */
+  public boolean isSquareReversi() {
+    return this.layout.squareBoard;
+  }
+
+
+  /**
+   * the packed states of the cells of a row, which are shared and must not be changed.
+   * @param row the row, counted from 0 at the top.
+   * @return the states of the row, in board order.
+   */
+  byte[] getRowStates(int row) {
+    return this.rows[row];
+  }
+
+
+
+
+
+
+  /**
+   * The parts of a board that do not change during a game: the position of every cell, where
+   * each row starts, the rays and keys of every cell, and a table to find a cell by its position.
+   * Made once when a game starts and shared by every snapshot of the game.
+   */
+  static final class Layout {
+    private final int[] diagonals;
+    private final int[] rowPositions;
+    //the number of the first cell of each row, followed by the number of cells
+    private final int[] rowStarts;
+    //the row of each cell
+    private final int[] indexRows;
+    //for each cell and each direction, the cells passed through walking to the edge of the board
+    private final int[][][] rays;
+    //the keys of player X and player O occupying each cell, two for each cell
+    private final long[] cellKeys;
+    private final boolean squareBoard;
+    private final int sideLength;
+    //the number of each cell by its position, offset by the smallest positions, -1 if the
+    //position is not on the board
+    private final int[] positionTable;
+    private final int minDiagonal;
+    private final int minRow;
+    private final int tableWidth;
+    private final int tableHeight;
+
+    /**
+     * creates the layout of a board from its cells in board order. the arrays are not copied.
+     * @param diagonals the diagonal position of each cell.
+     * @param rowPositions the row position of each cell.
+     * @param rowStarts the number of the first cell of each row, followed by the number of
+     *     cells.
+     * @param rays the cells passed through walking from each cell in each direction.
+     * @param cellKeys the keys of player X and player O occupying each cell.
+     * @param squareBoard true for a square board.
+     * @param sideLength the side length of the board.
+     */
+    Layout(int[] diagonals, int[] rowPositions, int[] rowStarts, int[][][] rays, long[] cellKeys,
+           boolean squareBoard, int sideLength) {
+      this.diagonals = diagonals;
+      this.rowPositions = rowPositions;
+      this.rowStarts = rowStarts;
+      this.rays = rays;
+      this.cellKeys = cellKeys;
+      this.squareBoard = squareBoard;
+      this.sideLength = sideLength;
+      this.indexRows = new int[diagonals.length];
+      for (int row = 0; row < rowStarts.length - 1; row++) {
+        Arrays.fill(this.indexRows, rowStarts[row], rowStarts[row + 1], row);
+      }
+      int minD = 0;
+      int maxD = 0;
+      int minR = 0;
+      int maxR = 0;
+      for (int i = 0; i < diagonals.length; i++) {
+        minD = (i == 0) ? diagonals[i] : Math.min(minD, diagonals[i]);
+        maxD = (i == 0) ? diagonals[i] : Math.max(maxD, diagonals[i]);
+        minR = (i == 0) ? rowPositions[i] : Math.min(minR, rowPositions[i]);
+        maxR = (i == 0) ? rowPositions[i] : Math.max(maxR, rowPositions[i]);
+      }
+      this.minDiagonal = minD;
+      this.minRow = minR;
+      this.tableWidth = maxD - minD + 1;
+      this.tableHeight = maxR - minR + 1;
+      this.positionTable = new int[this.tableWidth * this.tableHeight];
+      Arrays.fill(this.positionTable, -1);
+      for (int i = 0; i < diagonals.length; i++) {
+        this.positionTable[((rowPositions[i] - minR) * this.tableWidth)
+            + (diagonals[i] - minD)] = i;
+      }
+    }
+
+    /**
+     * the number of the cell at the given position.
+     * @param diagonalPos the diagonal position.
+     * @param rowPos the row position.
+     * @return the number of the cell, -1 if the position is not on the board.
+     */
+    int indexOf(int diagonalPos, int rowPos) {
+      int column = diagonalPos - this.minDiagonal;
+      int row = rowPos - this.minRow;
+      if (column < 0 || row < 0 || column >= this.tableWidth || row >= this.tableHeight) {
+        return -1;
+      }
+      return this.positionTable[(row * this.tableWidth) + column];
+    }
+
+    /**
+     * the number of rows on the board.
+     * @return the number of rows.
+     */
+    int getRowCount() {
+      return this.rowStarts.length - 1;
+    }
+
+    /**
+     * the number of cells in a row.
+     * @param row the row, counted from 0 at the top.
+     * @return the length of the row.
+     */
+    int getRowLength(int row) {
+      return this.rowStarts[row + 1] - this.rowStarts[row];
+    }
+  }
+
+}
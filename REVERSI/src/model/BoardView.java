@@ -0,0 +1,136 @@
+package model;
+
+/**
+ * A read-only view of the board of a reversi game, which always shows the current state of the
+ * game without copying it. The cells are numbered from 0 in the same order as the game board
+ * (the first row from left to right, then the next row, and so on), so callers can walk every
+ * cell or every row with plain loops instead of building lists.
+ */
+public interface BoardView {
+
+  /**
+   * the number of cells on the board.
+   * @return the number of cells.
+   */
+  int size();
+
+
+  /**
+   * the number of rows on the board.
+   * @return the number of rows.
+   */
+  int getRowCount();
+
+
+  /**
+   * the number of the first cell in a row.
+   * @param row the row, counted from 0 at the top.
+   * @return the number of the first cell in the row.
+   * @throws IndexOutOfBoundsException if the row does not exist.
+   */
+  int getRowStart(int row);
+
+
+  /**
+   * the number of cells in a row.
+   * @param row the row, counted from 0 at the top.
+   * @return the length of the row.
+   * @throws IndexOutOfBoundsException if the row does not exist.
+   */
+  int getRowLength(int row);
+
+
+  /**
+   * the diagonal position of a cell.
+   * @param index the number of the cell.
+   * @return the diagonal position of the cell.
+   * @throws IndexOutOfBoundsException if the cell does not exist.
+   */
+  int getDiagonalPos(int index);
+
+
+  /**
+   * the row position of a cell.
+   * @param index the number of the cell.
+   * @return the row position of the cell.
+   * @throws IndexOutOfBoundsException if the cell does not exist.
+   */
+  int getRowPos(int index);
+
+
+  /**
+   * the player occupying a cell.
+   * @param index the number of the cell.
+   * @return X, O, or Empty.
+   * @throws IndexOutOfBoundsException if the cell does not exist.
+   */
+  PlayerEnum getState(int index);
+
+
+  /**
+   * the player occupying the cell at the given position.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return X, O, or Empty.
+   * @throws IllegalArgumentException if the board does not contain a cell at this position.
+   */
+  PlayerEnum getStateAtPosn(int diagonalPos, int rowPos);
+
+
+  /**
+   * the number of the cell at the given position.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the number of the cell.
+   * @throws IllegalArgumentException if the board does not contain a cell at this position.
+   */
+  int getIndexAtPosn(int diagonalPos, int rowPos);
+
+
+  /**
+   * the number of directions a line of pieces can go in on the board: six on a hexagon board and
+   * eight on a square board.
+   * @return the number of directions.
+   */
+  int getDirectionCount();
+
+
+  /**
+   * the cells passed through walking from a cell to the edge of the board in one direction,
+   * nearest first, which are the cells a move to the cell could turn over in that direction.
+   * the first cell of each non-empty ray is a neighbour of the cell.
+   * @param index the number of the cell.
+   * @param direction the direction, from 0 to the number of directions.
+   * @return a new array of the numbers of the cells, empty if the cell is on the edge of the
+   *     board in this direction.
+   * @throws IndexOutOfBoundsException if the cell or the direction does not exist.
+   */
+  int[] getRay(int index, int direction);
+
+
+  /**
+   * the random key xor-ed into the position key (see ReadOnlyReversiModel.getPositionKey) while
+   * a player occupies a cell.
+   * @param index the number of the cell.
+   * @param player the player occupying the cell.
+   * @return the key of the cell, 0 if the player is empty.
+   * @throws IndexOutOfBoundsException if the cell does not exist.
+   */
+  long getCellKey(int index, PlayerEnum player);
+
+
+  /**
+   * the random key xor-ed into the position key while it is player O's turn.
+   * @return the key of the turn.
+   */
+  long getTurnKey();
+
+
+  /**
+   * the random key xor-ed into the position key when one of the two most recent turns was a pass.
+   * @param latest true for the latest turn, false for the earlier one.
+   * @return the key of the pass.
+   */
+  long getPassKey(boolean latest);
+
+}
@@ -24,6 +24,12 @@ public interface Cell {
    */
   public void changeCellState(PlayerEnum newState);
 
+  /**
+   * the player occupying the cell.
+   * @return X, O, or Empty.
+   */
+  public PlayerEnum getState();
+
 
   /**
    * the string representation of a hexagon cell.
@@ -0,0 +1,92 @@
+package model;
+
+
+
+/**
+ * The valid moves of the player whose turn it is, each with the number of the other player's
+ * pieces it would turn over. The model finds them all in one pass over the board, and keeps them
+ * packed in a single array of numbers, so a strategy can compare every move without asking the
+ * model about each cell again. The moves are in the same order as getValidMoves.
+ * Never changes after it is made.
+ */
+public final class EvaluatedMoves {
+
+  //the number of values packed for each move: its diagonal position, row position, and the
+  //number of pieces it turns over
+  static final int STRIDE = 3;
+
+  private final int[] moves;
+
+
+  /**
+   * creates the evaluated moves from the given packed values, which must not be changed
+   * afterwards.
+   * @param moves the diagonal position, row position, and pieces turned over of each move, one
+   *     move after another.
+   */
+  EvaluatedMoves(int[] moves) {
+    this.moves = moves;
+  }
+
+
+  /**
+   * the number of valid moves.
+   * @return the number of moves, 0 if the player has to pass.
+   */
+  public int size() {
+    return this.moves.length / STRIDE;
+  }
+
+  /**
+   * determines if there are no valid moves.
+   * @return true if the player has to pass.
+   */
+  public boolean isEmpty() {
+    return this.moves.length == 0;
+  }
+
+  /**
+   * the diagonal position of the cell of a move.
+   * @param move the number of the move, from 0 to size() - 1.
+   * @return the diagonal position of the cell.
+   * @throws IndexOutOfBoundsException if the move does not exist.
+   */
+  public int getDiagonalPos(int move) {
+    return this.moves[this.offset(move)];
+  }
+
+  /**
+   * the row position of the cell of a move.
+   * @param move the number of the move, from 0 to size() - 1.
+   * @return the row position of the cell.
+   * @throws IndexOutOfBoundsException if the move does not exist.
+   */
+  public int getRowPos(int move) {
+    return this.moves[this.offset(move) + 1];
+  }
+
+  /**
+   * the number of the other player's pieces that a move would turn over.
+   * @param move the number of the move, from 0 to size() - 1.
+   * @return the number of pieces the player would gain, not counting the placed piece.
+   * @throws IndexOutOfBoundsException if the move does not exist.
+   */
+  public int getFlipCount(int move) {
+    return this.moves[this.offset(move) + 2];
+  }
+
+
+  /**
+   * the position in the packed values of the first value of a move.
+   * @param move the number of the move.
+   * @return the position of the move's diagonal position.
+   * @throws IndexOutOfBoundsException if the move does not exist.
+   */
+  private int offset(int move) {
+    if (move < 0 || move >= this.size()) {
+      throw new IndexOutOfBoundsException("invalid move");
+    }
+    return move * STRIDE;
+  }
+
+}
@@ -5,10 +5,16 @@ import java.util.Objects;
 
 /**
  * a class that represents and individual cell in a hexagonal game board in reversi.
+ * the state of a cell on the board of a model is kept in the model's array of cell states, so
+ * the cell is a view of one entry in that array, and changing it goes through the model.
  */
 public class HexagonCell implements Cell {
-  //the state of a cell: whether it is occupied by player X, O, or empty
-  private PlayerEnum state;
+  //the array holding the code of the state of this cell (see PlayerEnum.getCode), and the index
+  //of this cell's state in it
+  private final byte[] states;
+  private final int index;
+  //the model whose board this cell is on, or null for a cell made on its own
+  private final AbstractReversiModel model;
   //diagonal position (q axial coordinate) of the cell on a reversi game board
   private final int diagonalPos;
   //row position (r axial coordinate) of the cell on a reversi game board
@@ -22,7 +28,9 @@ public class HexagonCell implements Cell {
    * @param rowPos the row position of the cell on the game board.
    */
   public HexagonCell(PlayerEnum state, int diagonalPos, int rowPos) {
-    this.state = state;
+    this.states = new byte[] {state.getCode()};
+    this.model = null;
+    this.index = 0;
     this.diagonalPos = diagonalPos;
     this.rowPos = rowPos;
     this.isSelected = false;
@@ -34,7 +42,21 @@ public class HexagonCell implements Cell {
    * @param rowPos the row position of the cell on the game board.
    */
   public HexagonCell(int diagonalPos, int rowPos) {
-    this.state = PlayerEnum.Empty;
+    this(PlayerEnum.Empty, diagonalPos, rowPos);
+  }
+
+  /**
+   * constructs a hexagon cell on the board of the given model, whose state is kept in the
+   * model's array of cell states.
+   * @param model the model whose board the cell is on.
+   * @param index the index of this cell's state in the array.
+   * @param diagonalPos the diagonal position of the cell on the game board.
+   * @param rowPos the row position of the cell on the game board.
+   */
+  HexagonCell(AbstractReversiModel model, int index, int diagonalPos, int rowPos) {
+    this.states = model.states;
+    this.model = model;
+    this.index = index;
     this.diagonalPos = diagonalPos;
     this.rowPos = rowPos;
     this.isSelected = false;
@@ -61,11 +83,27 @@ public class HexagonCell implements Cell {
 
   /**
    * adjusts the state of the cell to be occupied by the given player.
+   * a cell on the board of a model is changed by the model, so the valid moves and the other
+   * things the model keeps about the board stay up to date.
    * @param newState the player that will occupy the cell.
    */
   @Override
   public void changeCellState(PlayerEnum newState) {
-    this.state = newState;
+    if (this.model != null) {
+      this.model.changeCell(this.index, newState);
+    }
+    else {
+      this.states[this.index] = newState.getCode();
+    }
+  }
+
+  /**
+   * the player occupying the cell.
+   * @return X, O, or Empty.
+   */
+  @Override
+  public PlayerEnum getState() {
+    return PlayerEnum.fromCode(this.states[this.index]);
   }
 
 
@@ -75,7 +113,7 @@ public class HexagonCell implements Cell {
    */
   @Override
   public String toString() {
-    return state.toString();
+    return this.getState().toString();
   }
 
   /**
@@ -94,7 +132,7 @@ public class HexagonCell implements Cell {
    */
   @Override
   public boolean isEmpty() {
-    return this.state == PlayerEnum.Empty;
+    return this.states[this.index] == PlayerEnum.Empty.getCode();
   }
 
 
@@ -139,7 +177,7 @@ public class HexagonCell implements Cell {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(state, diagonalPos, rowPos, isSelected);
+    return Objects.hash(this.getState(), diagonalPos, rowPos, isSelected);
   }
 
 }
@@ -0,0 +1,157 @@
+package model;
+
+
+
+/**
+ * One change to a game of reversi: the start of the game, a move, or a pass. The change holds
+ * everything the listeners of the model need to react to it (the move, the pieces it turned over,
+ * the next player, and whether the game is over), so the model tells each listener about a change
+ * once, instead of once for each thing that changed.
+ * Never changes after it is made.
+ */
+public final class ModelChange {
+
+  /**
+   * The kinds of change that can be made to a game of reversi.
+   */
+  public enum Kind {
+    START, MOVE, PASS
+  }
+
+  private final Kind kind;
+  private final PlayerEnum player;
+  private final int diagonalPos;
+  private final int rowPos;
+  //the diagonal and row position of each piece turned over, one piece after another
+  private final int[] flipped;
+  private final PlayerEnum nextPlayer;
+  private final boolean gameOver;
+
+
+  /**
+   * creates a change from the given values, which must not be changed afterwards.
+   * @param kind the kind of change.
+   * @param player the player that made the move or pass, or null at the start of the game.
+   * @param diagonalPos the diagonal position of the placed piece, if it is a move.
+   * @param rowPos the row position of the placed piece, if it is a move.
+   * @param flipped the diagonal and row position of each piece turned over.
+   * @param nextPlayer the player whose turn it is after the change.
+   * @param gameOver true if the game is over after the change.
+   */
+  ModelChange(Kind kind, PlayerEnum player, int diagonalPos, int rowPos, int[] flipped,
+      PlayerEnum nextPlayer, boolean gameOver) {
+    this.kind = kind;
+    this.player = player;
+    this.diagonalPos = diagonalPos;
+    this.rowPos = rowPos;
+    this.flipped = flipped;
+    this.nextPlayer = nextPlayer;
+    this.gameOver = gameOver;
+  }
+
+
+  /**
+   * the kind of change.
+   * @return whether the game started, a piece was placed, or a player passed.
+   */
+  public Kind getKind() {
+    return this.kind;
+  }
+
+  /**
+   * the player that made the change.
+   * @return the player that moved or passed, or null if the game has just started.
+   */
+  public PlayerEnum getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * the diagonal position of the piece placed by a move.
+   * @return the diagonal position of the placed piece.
+   * @throws IllegalStateException if the change is not a move.
+   */
+  public int getDiagonalPos() {
+    this.checkMove();
+    return this.diagonalPos;
+  }
+
+  /**
+   * the row position of the piece placed by a move.
+   * @return the row position of the placed piece.
+   * @throws IllegalStateException if the change is not a move.
+   */
+  public int getRowPos() {
+    this.checkMove();
+    return this.rowPos;
+  }
+
+  /**
+   * the number of pieces turned over by the change.
+   * @return the number of pieces turned over, 0 if the change is not a move.
+   */
+  public int getFlipCount() {
+    return this.flipped.length / 2;
+  }
+
+  /**
+   * the diagonal position of a piece turned over by the change.
+   * @param flip the number of the piece, from 0 to getFlipCount() - 1.
+   * @return the diagonal position of the piece.
+   * @throws IndexOutOfBoundsException if the piece does not exist.
+   */
+  public int getFlippedDiagonalPos(int flip) {
+    return this.flipped[this.offset(flip)];
+  }
+
+  /**
+   * the row position of a piece turned over by the change.
+   * @param flip the number of the piece, from 0 to getFlipCount() - 1.
+   * @return the row position of the piece.
+   * @throws IndexOutOfBoundsException if the piece does not exist.
+   */
+  public int getFlippedRowPos(int flip) {
+    return this.flipped[this.offset(flip) + 1];
+  }
+
+  /**
+   * the player whose turn it is after the change.
+   * @return the next player.
+   */
+  public PlayerEnum getNextPlayer() {
+    return this.nextPlayer;
+  }
+
+  /**
+   * determines if the game is over after the change.
+   * @return true if the game is over.
+   */
+  public boolean isGameOver() {
+    return this.gameOver;
+  }
+
+
+  /**
+   * checks that the change is a move.
+   * @throws IllegalStateException if the change is not a move.
+   */
+  private void checkMove() {
+    if (this.kind != Kind.MOVE) {
+      throw new IllegalStateException("not a move");
+    }
+  }
+
+  /**
+   * the position in the flipped positions of the diagonal position of a piece.
+   * @param flip the number of the piece.
+   * @return the position of the piece's diagonal position.
+   * @throws IndexOutOfBoundsException if the piece does not exist.
+   */
+  private int offset(int flip) {
+    if (flip < 0 || flip >= this.getFlipCount()) {
+      throw new IndexOutOfBoundsException("invalid flip");
+    }
+    return flip * 2;
+  }
+
+}
@@ -5,12 +5,39 @@ package model;
  */
 public enum PlayerEnum implements Player {
 
-  X("X"), O("O"), Empty("_");
+  X("X", (byte) 1), O("O", (byte) 2), Empty("_", (byte) 0);
+
+  //the players in the order of their codes
+  private static final PlayerEnum[] BY_CODE = {Empty, X, O};
 
   private final String disp;
+  private final byte code;
 
-  PlayerEnum(String disp) {
+  PlayerEnum(String disp, byte code) {
     this.disp = disp;
+    this.code = code;
+  }
+
+  /**
+   * the number that stands for this player in the arrays of cell states kept by the models:
+   * 0 for empty, 1 for X, and 2 for O.
+   * @return the code of the player.
+   */
+  public byte getCode() {
+    return this.code;
+  }
+
+  /**
+   * the player that a code stands for.
+   * @param code 0, 1, or 2.
+   * @return the player with the given code.
+   * @throws IllegalArgumentException if the code does not stand for a player.
+   */
+  public static PlayerEnum fromCode(byte code) {
+    if (code < 0 || code >= BY_CODE.length) {
+      throw new IllegalArgumentException("invalid code");
+    }
+    return BY_CODE[code];
   }
 
   /**
@@ -16,6 +16,22 @@ public interface ReadOnlyReversiModel {
    */
   ArrayList<ArrayList<Cell>> getGameBoard();
 
+  /**
+   * Returns a read-only view of the current game board, which does not copy the board.
+   * The view always shows the current state of the game.
+   * @return the view of the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  BoardView getBoardView();
+
+  /**
+   * Returns an immutable snapshot of the current position, which can be kept and read by any
+   * thread without locking. The snapshot does not change when more moves are made.
+   * @return the snapshot of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  BoardSnapshot getSnapshot();
+
   /**
    * the current player's turn in a reversi game.
    * @return the curent player turn in a reversi game.
@@ -60,6 +76,94 @@ public interface ReadOnlyReversiModel {
   boolean forcedPass();
 
 
+  /**
+   * returns all the cells that the current player can move to.
+   * @return the cells in the game board that would currently be a valid move, in the same
+   *     order as they appear in the game board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  List<Cell> getValidMoves();
+
+
+  /**
+   * finds every cell the current player can move to and the number of pieces each move would
+   * turn over, all in one pass over the board.
+   * @return the valid moves and their pieces gained, in the same order as getValidMoves.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  EvaluatedMoves evaluateMoves();
+
+
+  /**
+   * Makes a copy of the current game that can be played on without changing this game.
+   * Used by strategies that search through future moves.
+   * @return a started model in the same position as this game, with no listeners.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  ReversiModel copy();
+
+
+  /**
+   * A 64-bit key of the current position, which is the same whenever the board, the player turn,
+   * and the recent passes are the same (a Zobrist hash). Used to recognise positions that have
+   * already been searched.
+   * @return the key of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  long getPositionKey();
+
+
+  /**
+   * the number of symmetries of the game board: the rotations and reflections that map the
+   * board onto itself, including leaving it as it is.
+   * @return 12 for a hexagon board, 8 for a square board.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  int getSymmetryCount();
+
+
+  /**
+   * A 64-bit key of the current position that is the same for every rotation and reflection of
+   * it, so positions that only differ by a symmetry of the board can be stored once. The best
+   * move of such a position is stored for the orientation with this key (see
+   * getCanonicalSymmetry), and turned back with transformCell.
+   * @return the canonical key of the current position.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  long getCanonicalKey();
+
+
+  /**
+   * the symmetry that turns the current position into the orientation that has the canonical
+   * key.
+   * @return the number of the symmetry, from 0 up to the symmetry count.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  int getCanonicalSymmetry();
+
+
+  /**
+   * the cell the given position is moved to by the given symmetry of the board.
+   * @param symmetry the number of the symmetry, from 0 up to the symmetry count.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the cell at the moved position.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the symmetry or the coordinates are not in the game.
+   */
+  Cell transformCell(int symmetry, int diagonalPos, int rowPos);
+
+
+  /**
+   * the symmetry that moves every position back to where the given symmetry found it.
+   * @param symmetry the number of the symmetry, from 0 up to the symmetry count.
+   * @return the number of the inverse symmetry.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the symmetry is not in the game.
+   */
+  int inverseSymmetry(int symmetry);
+
+
   /**
    * the winner of a game of reversi.
    * @return whichever player has the most tiles when the game is over.
@@ -130,6 +234,28 @@ public interface ReadOnlyReversiModel {
    */
   boolean posnInCorner(int diagonalPos, int rowPos);
 
+  /**
+   * determines if the given position is on an edge of the board, which includes the corners.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return true if the cell is on an edge.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  boolean posnOnEdge(int diagonalPos, int rowPos);
+
+  /**
+   * how good it usually is for a player to hold the cell at the given position, highest for the
+   * corners and lowest for the cells next to a corner. the weights are worked out once for the
+   * board, so strategies can read them as often as they like.
+   * @param diagonalPos the diagonal position of the cell.
+   * @param rowPos the row position of the cell.
+   * @return the weight of the cell.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the coordinates are not in the game.
+   */
+  int getPositionWeight(int diagonalPos, int rowPos);
+
   boolean isSquareReversi();
 
 }
@@ -41,6 +41,34 @@ public interface ReversiModel extends ReadOnlyReversiModel {
   void playerPass(Player player);
 
 
+  /**
+   * Moves the current player to the given position without notifying any listeners.
+   * Used to search through future moves, which can then be taken back with undoMove.
+   * @param diagonalPos  diagonal position for the piece to be placed at.
+   * @param rowPos  row position for the piece to be placed at.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if either positions do not exist on the board.
+   * @throws IllegalStateException if the move is not allowable.
+   */
+  void applyMove(int diagonalPos, int rowPos);
+
+
+  /**
+   * Passes the current player's turn without notifying any listeners.
+   * Used to search through future moves, which can then be taken back with undoMove.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  void applyPass();
+
+
+  /**
+   * Takes back the most recent move or pass, without notifying any listeners.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalStateException if there are no moves to undo.
+   */
+  void undoMove();
+
+
   /**
    * Adds a listener to the model to react to the signals the model sends.
    * @param features the listener (the controller).
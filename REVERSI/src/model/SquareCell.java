@@ -5,10 +5,16 @@ import java.util.Objects;
 
 /**
  * A class that represents a single cell in a game of square reversi.
+ * The state of a cell on the board of a model is kept in the model's array of cell states, so
+ * the cell is a view of one entry in that array, and changing it goes through the model.
  */
 public class SquareCell implements Cell {
-  //the state of a cell: whether it is occupied by player X, O, or empty
-  private PlayerEnum state;
+  //the array holding the code of the state of this cell (see PlayerEnum.getCode), and the index
+  //of this cell's state in it
+  private final byte[] states;
+  private final int index;
+  //the model whose board this cell is on, or null for a cell made on its own
+  private final AbstractReversiModel model;
   //diagonal position (q axial coordinate) of the cell on a reversi game board
   private final int xPos;
   //row position (r axial coordinate) of the cell on a reversi game board
@@ -24,7 +30,26 @@ public class SquareCell implements Cell {
    * @param yPos the y position of the board.
    */
   public SquareCell(int xPos, int yPos) {
-    this.state = PlayerEnum.Empty;
+    this.states = new byte[1];
+    this.model = null;
+    this.index = 0;
+    this.xPos = xPos;
+    this.yPos = yPos;
+    this.isSelected = false;
+  }
+
+  /**
+   * constructs a square cell on the board of the given model, whose state is kept in the
+   * model's array of cell states.
+   * @param model the model whose board the cell is on.
+   * @param index the index of this cell's state in the array.
+   * @param xPos the x position of the board.
+   * @param yPos the y position of the board.
+   */
+  SquareCell(AbstractReversiModel model, int index, int xPos, int yPos) {
+    this.states = model.states;
+    this.model = model;
+    this.index = index;
     this.xPos = xPos;
     this.yPos = yPos;
     this.isSelected = false;
@@ -43,12 +68,22 @@ public class SquareCell implements Cell {
 
   @Override
   public void changeCellState(PlayerEnum newState) {
-    this.state = newState;
+    if (this.model != null) {
+      this.model.changeCell(this.index, newState);
+    }
+    else {
+      this.states[this.index] = newState.getCode();
+    }
+  }
+
+  @Override
+  public PlayerEnum getState() {
+    return PlayerEnum.fromCode(this.states[this.index]);
   }
 
   @Override
   public String toString() {
-    return this.state.toString();
+    return this.getState().toString();
   }
 
   @Override
@@ -58,7 +93,7 @@ public class SquareCell implements Cell {
 
   @Override
   public boolean isEmpty() {
-    return this.state == PlayerEnum.Empty;
+    return this.states[this.index] == PlayerEnum.Empty.getCode();
   }
 
   @Override
@@ -94,7 +129,7 @@ public class SquareCell implements Cell {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(state, xPos, xPos, isSelected);
+    return Objects.hash(this.getState(), xPos, xPos, isSelected);
   }
 
 
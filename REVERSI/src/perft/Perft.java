@@ -0,0 +1,214 @@
+package perft;
+
+import java.util.List;
+import java.util.function.Supplier;
+import model.Cell;
+import model.PlayerEnum;
+import model.ReversiModel;
+
+
+
+/**
+ * Counts every line of moves from the start of a game of reversi to a given depth (a perft
+ * count), to measure how fast a model finds and makes moves, and to check that two models
+ * follow exactly the same rules.
+ * A forced pass counts as a move, and a game that ends before the depth is reached (a full
+ * board, only one player's pieces left, or two passes in a row) counts as one leaf where it
+ * ends. The moves of the last level are counted without being made.
+ */
+public final class Perft {
+
+  private final Supplier<ReversiModel> models;
+  private final int sideLength;
+
+
+  /**
+   * creates a perft count for one kind of model and board size.
+   * @param models makes a new, unstarted model for each count.
+   * @param sideLength the side length of the board.
+   * @throws IllegalArgumentException if the factory is null.
+   * @throws IllegalArgumentException if the side length is not positive.
+   */
+  public Perft(Supplier<ReversiModel> models, int sideLength) {
+    if (models == null) {
+      throw new IllegalArgumentException("models cannot be null");
+    }
+    if (sideLength <= 0) {
+      throw new IllegalArgumentException("side length must be positive");
+    }
+    this.models = models;
+    this.sideLength = sideLength;
+  }
+
+
+  /**
+   * counts the positions at the end of every line of moves from the start of a new game.
+   * @param depth the number of moves in each line.
+   * @return the number of leaf positions and the time the count took.
+   * @throws IllegalArgumentException if the depth is negative.
+   */
+  public PerftResult run(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("depth cannot be negative");
+    }
+    ReversiModel model = this.models.get();
+    model.startGame(this.sideLength);
+    long start = System.nanoTime();
+    long leaves = this.count(model, depth);
+    return new PerftResult(depth, leaves, System.nanoTime() - start);
+  }
+
+
+  /**
+   * walks every line of moves from the start of a game on this count's model and on another
+   * model at the same time, and finds the first position where they do not agree: on whether
+   * the game is over, the player turn, the scores, the position key, or the valid moves and
+   * their order.
+   * @param others makes a new, unstarted model to check against this count's model.
+   * @param depth the number of moves in each line.
+   * @return null if the models agree everywhere, otherwise a description of the first
+   *     position where they differ and the moves that lead to it.
+   * @throws IllegalArgumentException if the factory is null or the depth is negative.
+   */
+  public String compare(Supplier<ReversiModel> others, int depth) {
+    if (others == null) {
+      throw new IllegalArgumentException("models cannot be null");
+    }
+    if (depth < 0) {
+      throw new IllegalArgumentException("depth cannot be negative");
+    }
+    ReversiModel reference = this.models.get();
+    ReversiModel other = others.get();
+    reference.startGame(this.sideLength);
+    other.startGame(this.sideLength);
+    return this.compare(reference, other, depth, "start");
+  }
+
+
+
+
+
+  //HELPER METHODS FOR COUNTING AND COMPARING:
+  /**
+   * counts the positions at the end of every line of moves from the current position.
+   * @param model the game being searched, which is put back as it was.
+   * @param depth the number of moves left in each line.
+   * @return the number of leaf positions.
+   */
+  private long count(ReversiModel model, int depth) {
+    if (depth == 0 || model.isGameOver()) {
+      return 1;
+    }
+    List<Cell> moves = model.getValidMoves();
+    if (moves.isEmpty()) {
+      model.applyPass();
+      long leaves = this.count(model, depth - 1);
+      model.undoMove();
+      return leaves;
+    }
+    //every move of the last level is a leaf, so there is no need to make them
+    if (depth == 1) {
+      return moves.size();
+    }
+    long leaves = 0;
+    for (Cell move : moves) {
+      model.applyMove(move.getDiagonalPos(), move.getRowPos());
+      leaves += this.count(model, depth - 1);
+      model.undoMove();
+    }
+    return leaves;
+  }
+
+
+  /**
+   * compares the current positions of two models and every line of moves from them.
+   * @param reference the model being checked against.
+   * @param other the model being checked.
+   * @param depth the number of moves left in each line.
+   * @param line the moves that lead to the current position, for the description.
+   * @return null if the models agree everywhere, otherwise a description of the first
+   *     difference.
+   */
+  private String compare(ReversiModel reference, ReversiModel other, int depth, String line) {
+    String difference = this.difference(reference, other);
+    if (difference != null) {
+      return "after " + line + ": " + difference;
+    }
+    if (depth == 0 || reference.isGameOver()) {
+      return null;
+    }
+    List<Cell> moves = reference.getValidMoves();
+    if (moves.isEmpty()) {
+      reference.applyPass();
+      other.applyPass();
+      String result = this.compare(reference, other, depth - 1, line + " pass");
+      reference.undoMove();
+      other.undoMove();
+      return result;
+    }
+    for (Cell move : moves) {
+      int diagonalPos = move.getDiagonalPos();
+      int rowPos = move.getRowPos();
+      reference.applyMove(diagonalPos, rowPos);
+      other.applyMove(diagonalPos, rowPos);
+      String result = this.compare(reference, other, depth - 1,
+          line + " (" + diagonalPos + ", " + rowPos + ")");
+      reference.undoMove();
+      other.undoMove();
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+
+  /**
+   * finds what differs between the current positions of two models.
+   * @param reference the model being checked against.
+   * @param other the model being checked.
+   * @return null if the positions are the same, otherwise what differs.
+   */
+  private String difference(ReversiModel reference, ReversiModel other) {
+    if (reference.isGameOver() != other.isGameOver()) {
+      return "game over " + reference.isGameOver() + " vs " + other.isGameOver();
+    }
+    if (!reference.getPlayerTurn().toString().equals(other.getPlayerTurn().toString())) {
+      return "player turn " + reference.getPlayerTurn() + " vs " + other.getPlayerTurn();
+    }
+    for (PlayerEnum player : PlayerEnum.values()) {
+      if (reference.getPlayerScore(player) != other.getPlayerScore(player)) {
+        return "score of " + player + " " + reference.getPlayerScore(player) + " vs "
+            + other.getPlayerScore(player);
+      }
+    }
+    if (reference.getPositionKey() != other.getPositionKey()) {
+      return "position key " + reference.getPositionKey() + " vs " + other.getPositionKey();
+    }
+    String referenceMoves = this.describeMoves(reference.getValidMoves());
+    String otherMoves = this.describeMoves(other.getValidMoves());
+    if (!referenceMoves.equals(otherMoves)) {
+      return "valid moves " + referenceMoves + " vs " + otherMoves;
+    }
+    return null;
+  }
+
+
+  /**
+   * lists the coordinates of the given moves, in order.
+   * @param moves the moves listed.
+   * @return the coordinates of the moves.
+   */
+  private String describeMoves(List<Cell> moves) {
+    StringBuilder description = new StringBuilder("[");
+    for (Cell move : moves) {
+      if (description.length() > 1) {
+        description.append(", ");
+      }
+      description.append("(").append(move.getDiagonalPos()).append(", ")
+          .append(move.getRowPos()).append(")");
+    }
+    return description.append("]").toString();
+  }
+
+}
@@ -0,0 +1,77 @@
+package perft;
+
+/**
+ * The result of counting the positions a number of moves from the start of a game (see Perft).
+ */
+public final class PerftResult {
+
+  private final int depth;
+  private final long leaves;
+  private final long elapsedNanos;
+
+
+  /**
+   * creates the result of a perft count.
+   * @param depth the number of moves searched.
+   * @param leaves the number of positions found at the end of every line.
+   * @param elapsedNanos the wall-clock time the count took, in nanoseconds.
+   * @throws IllegalArgumentException if the depth, the count or the time is negative.
+   */
+  public PerftResult(int depth, long leaves, long elapsedNanos) {
+    if (depth < 0 || leaves < 0 || elapsedNanos < 0) {
+      throw new IllegalArgumentException("results cannot be negative");
+    }
+    this.depth = depth;
+    this.leaves = leaves;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+
+  /**
+   * the number of moves searched from the start of the game.
+   * @return the depth.
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * the number of positions at the end of every line of moves, including the games that ended
+   * before the depth was reached.
+   * @return the number of leaf positions.
+   */
+  public long getLeaves() {
+    return this.leaves;
+  }
+
+  /**
+   * the wall-clock time the count took.
+   * @return the time, in milliseconds.
+   */
+  public double getElapsedMillis() {
+    return this.elapsedNanos / 1e6;
+  }
+
+  /**
+   * the number of leaf positions counted each second.
+   * @return nodes a second.
+   */
+  public double getNodesPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return this.leaves / (this.elapsedNanos / 1e9);
+  }
+
+
+  /**
+   * a summary of the result, for printing.
+   * @return the depth, the leaf count, the time and the nodes a second.
+   */
+  @Override
+  public String toString() {
+    return String.format("depth %d: %d leaves in %.1f ms (%.0f nodes per second)",
+        this.depth, this.leaves, this.getElapsedMillis(), this.getNodesPerSecond());
+  }
+
+}
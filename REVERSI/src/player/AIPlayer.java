@@ -4,21 +4,48 @@ import controller.PlayerFeatures;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
 import model.Player;
 import model.ReversiModel;
+import strategy.CaptureMostPieces;
 import strategy.Coord;
 import strategy.Strategy;
 
 
 /**
  * A class that represents an AI player playing a game of reversi.
+ * In a game with a view, the AI chooses its moves on its own thread (see makeMoveLater), so the
+ * windows keep responding while it thinks, and each move is made on the Swing event thread.
  */
 public class AIPlayer implements ActivePlayer {
 
+  //the default longest time the AI may think about one move, in milliseconds
+  public static final long DEFAULT_THINK_TIME = 5000;
+
   private final Strategy strategy;
   private final ReversiModel model;
   private final Player player;
   private final List<PlayerFeatures> featuresListener;
+  private final long thinkTime;
+  //the quick strategy used instead when the strategy runs out of think time
+  private final Strategy fallback;
+  //runs the strategy, one search at a time. the strategies keep their search state in their own
+  //fields and do not stop when interrupted, so a search that ran out of think time finishes
+  //before the next one starts, instead of running on the same strategy at the same time.
+  private final ExecutorService searches;
+  //runs out the think time of each move
+  private final ScheduledExecutorService clock;
+  //counts the moves asked for, so a move chosen for an earlier turn is never sent
+  private final AtomicInteger turn;
+  //the search of the move being chosen, null if none has been asked for
+  private volatile Future<?> search;
 
 
   /**
@@ -28,10 +55,32 @@ public class AIPlayer implements ActivePlayer {
    * @param player the player the AI is playing as.
    */
   public AIPlayer(Strategy strategy, ReversiModel model, Player player) {
+    this(strategy, model, player, DEFAULT_THINK_TIME);
+  }
+
+
+  /**
+   * constructor with a limit on how long the AI may think about one move.
+   * @param strategy the strategy used by the AI.
+   * @param model the Reversi game model.
+   * @param player the player the AI is playing as.
+   * @param thinkTime the longest time the AI may think about one move when it moves on its own
+   *     thread, in milliseconds. if the strategy takes longer, the AI captures the most pieces.
+   * @throws IllegalArgumentException if the think time is not positive.
+   */
+  public AIPlayer(Strategy strategy, ReversiModel model, Player player, long thinkTime) {
+    if (thinkTime <= 0) {
+      throw new IllegalArgumentException("think time must be positive");
+    }
     this.strategy = strategy;
     this.model = model;
     this.player = player;
     this.featuresListener = new ArrayList<>();
+    this.thinkTime = thinkTime;
+    this.fallback = new CaptureMostPieces();
+    this.searches = Executors.newSingleThreadExecutor(this.daemonThreads("search"));
+    this.clock = Executors.newSingleThreadScheduledExecutor(this.daemonThreads("clock"));
+    this.turn = new AtomicInteger();
   }
 
 
@@ -56,6 +105,57 @@ public class AIPlayer implements ActivePlayer {
   }
 
 
+  /**
+   * Starts choosing a move on another thread, and makes it on the Swing event thread once it is
+   * chosen. The strategy searches a copy of the game, so the game can still be shown while it
+   * thinks. If the strategy takes longer than the think time, the AI captures the most pieces
+   * instead, and the late search is left to finish before the next search starts; a search whose
+   * turn has passed by the time it starts is skipped. The move is dropped if the game has changed
+   * by the time it is made.
+   */
+  @Override
+  public void makeMoveLater() {
+    this.cancelMove();
+    int current = this.turn.get();
+    ReversiModel position = model.copy();
+    ReversiModel fallbackPosition = model.copy();
+    long key = position.getPositionKey();
+
+    Future<?> chosen = this.searches.submit(() -> {
+      //the move was already made by the fallback, or cancelled, while an earlier search finished
+      if (this.turn.get() != current) {
+        return;
+      }
+      Coord coord = strategy.chooseMove(position, player);
+      this.sendLater(current, key, coord);
+    });
+    this.search = chosen;
+    this.clock.schedule(() -> {
+      if (this.turn.get() == current) {
+        //the fallback move is sent before the search is cancelled, so that a strategy that gives
+        //up when it is interrupted can never send its move first
+        this.sendLater(current, key, fallback.chooseMove(fallbackPosition, player));
+        chosen.cancel(true);
+      }
+    }, this.thinkTime, TimeUnit.MILLISECONDS);
+  }
+
+
+  /**
+   * Stops choosing the move asked for by makeMoveLater, if it has not been made yet. A search
+   * that has not started is never run, and the move of a search that is running is never sent.
+   */
+  @Override
+  public void cancelMove() {
+    this.turn.incrementAndGet();
+    Future<?> current = this.search;
+    if (current != null) {
+      current.cancel(true);
+      this.search = null;
+    }
+  }
+
+
   /**
    * Determines if the player is a human player.
    * @return false.
@@ -85,4 +185,53 @@ public class AIPlayer implements ActivePlayer {
     this.featuresListener.add(Objects.requireNonNull(features));
   }
 
+
+
+
+
+  //HELPER METHODS FOR MAKE MOVE LATER:
+  /**
+   * sends a chosen move to the listeners on the Swing event thread, unless another move has been
+   * asked for since, or the game is no longer in the position the move was chosen for.
+   * only the first move sent for a turn is made.
+   * @param current the number of the turn the move was chosen for.
+   * @param key the position key of the game the move was chosen for.
+   * @param coord the chosen move, or null to pass.
+   */
+  private void sendLater(int current, long key, Coord coord) {
+    if (!this.turn.compareAndSet(current, current + 1)) {
+      return;
+    }
+    SwingUtilities.invokeLater(() -> {
+      if (model.isGameOver() || model.getPositionKey() != key) {
+        return;
+      }
+      if (coord == null) {
+        for (PlayerFeatures features : featuresListener) {
+          features.makeAIPass();
+        }
+      }
+      else {
+        for (PlayerFeatures features : featuresListener) {
+          features.makeAIMove(coord.getDiagonalPos(), coord.getRowPos());
+        }
+      }
+    });
+  }
+
+
+  /**
+   * makes the threads of this player, which do not keep the program running once the windows
+   * are closed.
+   * @param name what the threads are used for.
+   * @return the factory of the threads.
+   */
+  private ThreadFactory daemonThreads(String name) {
+    return task -> {
+      Thread thread = new Thread(task, "ai-" + player + "-" + name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
 }
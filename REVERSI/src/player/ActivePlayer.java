@@ -16,6 +16,17 @@ public interface ActivePlayer {
    */
   void makeMove();
 
+  /**
+   * Starts choosing a move on another thread if it is this players turn, and makes it on the
+   * Swing event thread once it is chosen, so the view keeps responding while the player thinks.
+   */
+  void makeMoveLater();
+
+  /**
+   * Stops choosing a move started by makeMoveLater, so that it is never made.
+   */
+  void cancelMove();
+
   /**
    * Determines if the player is a human player.
    * @return true if the player is a human player.
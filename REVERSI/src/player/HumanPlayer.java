@@ -32,6 +32,24 @@ public class HumanPlayer implements ActivePlayer {
   }
 
 
+  /**
+   * Does nothing, as a human player moves using the view.
+   */
+  @Override
+  public void makeMoveLater() {
+    //nothing happens because a human player must make the move themselves
+  }
+
+
+  /**
+   * Does nothing, as a human player never chooses a move on another thread.
+   */
+  @Override
+  public void cancelMove() {
+    //nothing to stop because a human player must make the move themselves
+  }
+
+
   /**
    * Determines if the player is a human player.
    * @return true.
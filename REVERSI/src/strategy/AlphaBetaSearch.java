@@ -0,0 +1,502 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.BoardView;
+import model.Cell;
+import model.Player;
+import model.PlayerEnum;
+import model.ReadOnlyReversiModel;
+import model.ReversiModel;
+
+
+
+/**
+ * A strategy to a game of reversi that looks ahead at the moves both players could make, using a
+ * negamax search with alpha-beta pruning. The search is repeated one move deeper at a time
+ * (iterative deepening) until the time budget for the move runs out, and each search tries the
+ * moves in the order of how well they did in the search before it. Positions already searched are
+ * remembered in a transposition table, which can be shared with other searches.
+ */
+public class AlphaBetaSearch extends ReversiStrategy {
+
+  //the default time budget of one move, in milliseconds
+  public static final long DEFAULT_TIME_BUDGET = 100;
+  //the default deepest search, more than the number of moves left in any game that fits in time
+  public static final int DEFAULT_MAX_DEPTH = 64;
+  //the default number of entries in the transposition table of a search
+  public static final int DEFAULT_TABLE_SIZE = 1 << 18;
+  //the score of a won game, greater than the score of any position that is not over
+  private static final int WIN = 1000000;
+  //a score greater than any score a position can have
+  static final int INFINITY = WIN * 2;
+  //how much one valid move is worth compared to one piece
+  private static final int MOBILITY_WEIGHT = 3;
+  //the shallowest search in which the moves are sorted before they are searched
+  private static final int ORDERING_DEPTH = 3;
+  //how many positions are searched between checks of the clock
+  private static final int CLOCK_CHECK_INTERVAL = 256;
+
+  private final long timeBudget;
+  private final int maxDepth;
+  private final TranspositionTable table;
+
+  //the time (from System.nanoTime) at which the current search has to stop
+  private long deadline;
+  //true once the current search has run out of time
+  private boolean outOfTime;
+  //true if the current iteration stopped at the depth limit anywhere, rather than the game end
+  private boolean depthLimited;
+  //the number of positions searched in the current move
+  private long nodes;
+  //the deepest search finished in the most recent move
+  private int lastDepth;
+  //the score of the move picked in the deepest search finished in the most recent move
+  private int lastScore;
+  //the weight of each cell of the game board being searched (see
+  //ReadOnlyReversiModel.getPositionWeight), by its number in the board view
+  private int[] weights;
+
+
+  /**
+   * creates an alpha-beta search with the default time budget of 100 milliseconds a move.
+   */
+  public AlphaBetaSearch() {
+    this(DEFAULT_TIME_BUDGET, DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * creates an alpha-beta search with the given time budget a move.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @throws IllegalArgumentException if the time budget is not positive.
+   */
+  public AlphaBetaSearch(long timeBudget) {
+    this(timeBudget, DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * creates an alpha-beta search with the given time budget a move and the given deepest search.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @param maxDepth the most moves ahead that the search will look.
+   * @throws IllegalArgumentException if the time budget or the depth is not positive.
+   */
+  public AlphaBetaSearch(long timeBudget, int maxDepth) {
+    this(timeBudget, maxDepth, new TranspositionTable(DEFAULT_TABLE_SIZE));
+  }
+
+  /**
+   * creates an alpha-beta search with the given time budget a move and the given deepest search,
+   * which remembers the positions it searches in the given transposition table.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @param maxDepth the most moves ahead that the search will look.
+   * @param table the transposition table, which may be shared with other searches.
+   * @throws IllegalArgumentException if the time budget or the depth is not positive.
+   * @throws IllegalArgumentException if the table is null.
+   */
+  public AlphaBetaSearch(long timeBudget, int maxDepth, TranspositionTable table) {
+    if (table == null) {
+      throw new IllegalArgumentException("table cannot be null");
+    }
+    if (timeBudget <= 0) {
+      throw new IllegalArgumentException("time budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("depth must be positive");
+    }
+    this.timeBudget = timeBudget;
+    this.maxDepth = maxDepth;
+    this.table = table;
+  }
+
+
+  /**
+   * Picks the coordinate that a player should move to by searching ahead as many moves as the
+   * time budget allows, assuming both players always pick their best move.
+   * The search is done on a copy of the model, so the model itself never changes.
+   * @param model the model of a reversi game.
+   * @param player the player placing a piece.
+   * @return the best coordinate found, null if there are no available cells.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   */
+  @Override
+  public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+    if (!model.getPlayerTurn().toString().equals(player.toString())) {
+      throw new IllegalArgumentException("not player turn");
+    }
+    long moveDeadline = System.nanoTime() + (this.timeBudget * 1000000);
+    this.nodes = 0;
+    this.lastDepth = 0;
+    this.lastScore = 0;
+    ArrayList<Cell> valids = this.getValidCells(model);
+    if (valids.isEmpty()) {
+      return null;
+    }
+    Coord[] moves = new Coord[valids.size()];
+    for (int i = 0; i < moves.length; i++) {
+      moves[i] = new Coord(valids.get(i).getDiagonalPos(), valids.get(i).getRowPos());
+    }
+    if (moves.length == 1) {
+      return moves[0];
+    }
+    ReversiModel board = model.copy();
+    this.startSearch(board, moveDeadline);
+    this.table.newSearch();
+    long rootKey = board.getPositionKey();
+    //starts with the best move from the last time this position was searched, if there was one
+    this.moveToFront(moves, TranspositionTable.getMove(this.table.probe(rootKey)));
+    int[] scores = new int[moves.length];
+    Coord best = moves[0];
+
+    for (int depth = 1; depth <= this.maxDepth; depth++) {
+      this.orderMoves(moves, scores);
+      this.startIteration();
+      int alpha = -INFINITY;
+      int bestIndex = -1;
+      int[] newScores = new int[moves.length];
+      for (int i = 0; i < moves.length; i++) {
+        int score = this.searchMove(board, moves[i], depth, alpha);
+        if (this.outOfTime) {
+          //the moves not searched in this iteration go after the ones that were
+          for (int j = i; j < moves.length; j++) {
+            newScores[j] = -INFINITY;
+          }
+          break;
+        }
+        newScores[i] = score;
+        if (score > alpha) {
+          alpha = score;
+          bestIndex = i;
+        }
+      }
+      //a move that beat the previous best in an unfinished iteration is still a better move,
+      //because the previous best was searched first
+      if (bestIndex >= 0) {
+        best = moves[bestIndex];
+      }
+      if (this.outOfTime) {
+        break;
+      }
+      scores = newScores;
+      this.lastDepth = depth;
+      this.lastScore = alpha;
+      this.table.store(rootKey, this.depthLimited ? depth : TranspositionTable.SOLVED, alpha,
+          TranspositionTable.EXACT, best);
+      //the whole game has been searched, so searching deeper would not change anything
+      if (!this.depthLimited) {
+        break;
+      }
+    }
+    return best;
+  }
+
+
+  /**
+   * the deepest search that was finished in the most recent call to chooseMove.
+   * @return the number of moves ahead that were fully searched.
+   */
+  public int getLastDepth() {
+    return this.lastDepth;
+  }
+
+
+  /**
+   * the number of positions searched in the most recent call to chooseMove.
+   * @return the number of positions searched.
+   */
+  public long getLastNodeCount() {
+    return this.nodes;
+  }
+
+
+  /**
+   * the score of the move picked in the most recent call to chooseMove, from the deepest search
+   * that was finished, for the player who moved.
+   * @return the score of the move, 0 if there was only one move and nothing was searched.
+   */
+  public int getLastScore() {
+    return this.lastScore;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR SEARCHING IN PARALLEL:
+  /**
+   * gets this search ready to search the moves of the given position, until the given time.
+   * used by a parallel search, which hands out the moves at the top of the search itself.
+   * @param board the position searched, which should only be used by this search.
+   * @param searchDeadline the time (from System.nanoTime) at which the search has to stop.
+   */
+  void startSearch(ReversiModel board, long searchDeadline) {
+    this.deadline = searchDeadline;
+    this.outOfTime = false;
+    this.nodes = 0;
+    this.depthLimited = false;
+    this.weights = this.readWeights(board);
+  }
+
+  /**
+   * gets this search ready for the next iteration of iterative deepening.
+   */
+  void startIteration() {
+    this.depthLimited = false;
+  }
+
+  /**
+   * the score of making the given move, searching the given number of moves ahead including it.
+   * @param board the position the move is made from, which is back in the same position after.
+   * @param move a valid move of the player whose turn it is.
+   * @param depth the number of moves to search, at least 1.
+   * @param alpha the score of the best move found so far. if the move is no better, the score
+   *     returned is only known to be at most alpha.
+   * @return the score of the move, for the player making it.
+   */
+  int searchMove(ReversiModel board, Coord move, int depth, int alpha) {
+    board.applyMove(move.getDiagonalPos(), move.getRowPos());
+    int score = -this.negamax(board, depth - 1, -INFINITY, -alpha);
+    board.undoMove();
+    return score;
+  }
+
+  /**
+   * whether this search has run out of time, so its last score cannot be used.
+   * @return true if the search has run out of time.
+   */
+  boolean isOutOfTime() {
+    return this.outOfTime;
+  }
+
+  /**
+   * whether any move searched since the start of the iteration stopped at the depth limit
+   * rather than the end of the game.
+   * @return true if searching deeper could change the scores of this iteration.
+   */
+  boolean isDepthLimited() {
+    return this.depthLimited;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR SEARCHING:
+  /**
+   * the score of the given position for the player whose turn it is, found by searching the
+   * given number of moves ahead.
+   * note: a score is only exact if it is between alpha and beta. if it is not, it is only known
+   *     to be at most alpha or at least beta, which is all the search above it needs to know.
+   * @param board the position being searched, which is back in the same position afterward.
+   * @param depth the number of moves left to search.
+   * @param alpha the score the player to move is already sure to get.
+   * @param beta the score the other player is already sure to hold the player to move to.
+   * @return the score of the position.
+   */
+  private int negamax(ReversiModel board, int depth, int alpha, int beta) {
+    this.nodes++;
+    if ((this.nodes % CLOCK_CHECK_INTERVAL) == 0 && System.nanoTime() > this.deadline) {
+      this.outOfTime = true;
+    }
+    if (this.outOfTime) {
+      return 0;
+    }
+    if (board.isGameOver()) {
+      return this.finalScore(board);
+    }
+    if (depth == 0) {
+      this.depthLimited = true;
+      return this.evaluate(board);
+    }
+    long key = board.getPositionKey();
+    long entry = this.table.probe(key);
+    Coord hashMove = null;
+    if (entry != 0) {
+      int score = TranspositionTable.getScore(entry);
+      int bound = TranspositionTable.getBound(entry);
+      if (TranspositionTable.getDepth(entry) >= depth
+          && (bound == TranspositionTable.EXACT
+          || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+          || (bound == TranspositionTable.UPPER_BOUND && score <= alpha))) {
+        if (TranspositionTable.getDepth(entry) != TranspositionTable.SOLVED) {
+          this.depthLimited = true;
+        }
+        return score;
+      }
+      hashMove = TranspositionTable.getMove(entry);
+    }
+    List<Cell> valids = board.getValidMoves();
+    if (valids.isEmpty()) {
+      //passing does not use up a move of depth, and two passes end the game
+      board.applyPass();
+      int score = -this.negamax(board, depth, -beta, -alpha);
+      board.undoMove();
+      return score;
+    }
+    //the best move from an earlier search goes first. the other moves are only sorted if it
+    //does not end the search of this position on its own.
+    int sortFrom = 0;
+    if (hashMove != null && this.moveToFront(valids, hashMove)) {
+      sortFrom = 1;
+    }
+    //keeps track of whether this position was searched to the end of the game on its own
+    boolean limitedBefore = this.depthLimited;
+    this.depthLimited = false;
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    Cell bestCell = null;
+    for (int i = 0; i < valids.size(); i++) {
+      if (i == sortFrom && depth >= ORDERING_DEPTH) {
+        this.orderChildren(board, valids.subList(sortFrom, valids.size()));
+      }
+      Cell cell = valids.get(i);
+      board.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      int score = -this.negamax(board, depth - 1, -beta, -alpha);
+      board.undoMove();
+      if (this.outOfTime) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestCell = cell;
+      }
+      if (score > alpha) {
+        alpha = score;
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    int bound = TranspositionTable.EXACT;
+    if (best <= originalAlpha) {
+      bound = TranspositionTable.UPPER_BOUND;
+    }
+    else if (best >= beta) {
+      bound = TranspositionTable.LOWER_BOUND;
+    }
+    this.table.store(key, this.depthLimited ? depth : TranspositionTable.SOLVED, best, bound,
+        new Coord(bestCell.getDiagonalPos(), bestCell.getRowPos()));
+    this.depthLimited = this.depthLimited || limitedBefore;
+    return best;
+  }
+
+
+  /**
+   * the score of a finished game for the player whose turn it is. a win is worth more than any
+   * unfinished position, and a bigger win is worth more than a smaller one.
+   * @param board a finished game.
+   * @return the score of the game.
+   */
+  private int finalScore(ReversiModel board) {
+    PlayerEnum own = this.currentPlayer(board);
+    PlayerEnum other = (own == PlayerEnum.X) ? PlayerEnum.O : PlayerEnum.X;
+    int difference = board.getPlayerScore(own) - board.getPlayerScore(other);
+    if (difference > 0) {
+      return WIN + difference;
+    }
+    if (difference < 0) {
+      return -WIN + difference;
+    }
+    return 0;
+  }
+
+
+  /**
+   * guesses how good an unfinished position is for the player whose turn it is, from the
+   * position weights of the cells each player holds and the number of moves the player can make.
+   * @param board an unfinished game.
+   * @return the score of the position.
+   */
+  private int evaluate(ReversiModel board) {
+    PlayerEnum own = this.currentPlayer(board);
+    int score = 0;
+    BoardView view = board.getBoardView();
+    for (int index = 0; index < this.weights.length; index++) {
+      PlayerEnum state = view.getState(index);
+      if (state == own) {
+        score += this.weights[index];
+      }
+      else if (state != PlayerEnum.Empty) {
+        score -= this.weights[index];
+      }
+    }
+    return score + (MOBILITY_WEIGHT * board.getValidMoves().size());
+  }
+
+
+  /**
+   * the player whose turn it is in the given game.
+   * @param board a game of reversi.
+   * @return X or O.
+   */
+  private PlayerEnum currentPlayer(ReversiModel board) {
+    if (board.getPlayerTurn() == PlayerEnum.X) {
+      return PlayerEnum.X;
+    }
+    return PlayerEnum.O;
+  }
+
+
+  /**
+   * reads the position weight of every cell of the given game board from the model once, so
+   * that evaluating a position does not have to look each cell up by its position.
+   * @param board a game of reversi.
+   * @return the weight of each cell, by its number in the board view.
+   */
+  private int[] readWeights(ReversiModel board) {
+    BoardView view = board.getBoardView();
+    int[] found = new int[view.size()];
+    for (int index = 0; index < found.length; index++) {
+      found[index] = board.getPositionWeight(view.getDiagonalPos(index), view.getRowPos(index));
+    }
+    return found;
+  }
+
+
+  /**
+   * sorts the moves of the given position so that the moves that look best one move ahead are
+   * searched first, which lets the search skip more of the moves after them.
+   * @param board the position the moves are made from.
+   * @param valids the valid moves of the player whose turn it is.
+   */
+  private void orderChildren(ReversiModel board, List<Cell> valids) {
+    int[] scores = new int[valids.size()];
+    for (int i = 0; i < scores.length; i++) {
+      board.applyMove(valids.get(i).getDiagonalPos(), valids.get(i).getRowPos());
+      scores[i] = -this.evaluate(board);
+      board.undoMove();
+    }
+    for (int i = 1; i < scores.length; i++) {
+      Cell move = valids.get(i);
+      int score = scores[i];
+      int j = i - 1;
+      while (j >= 0 && scores[j] < score) {
+        valids.set(j + 1, valids.get(j));
+        scores[j + 1] = scores[j];
+        j--;
+      }
+      valids.set(j + 1, move);
+      scores[j + 1] = score;
+    }
+  }
+
+
+  /**
+   * moves the cell at the given move to the front of the valid moves, keeping the order of the
+   * others.
+   * @param valids the valid moves of a position.
+   * @param move the move to search first.
+   * @return true if the move is one of the valid moves.
+   */
+  private boolean moveToFront(List<Cell> valids, Coord move) {
+    for (int i = 0; i < valids.size(); i++) {
+      Cell cell = valids.get(i);
+      if (cell.getDiagonalPos() == move.getDiagonalPos() && cell.getRowPos() == move.getRowPos()) {
+        valids.remove(i);
+        valids.add(0, cell);
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
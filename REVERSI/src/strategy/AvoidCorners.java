@@ -1,7 +1,7 @@
 package strategy;
 
-import model.Cell;
-import java.util.ArrayList;
+import java.util.BitSet;
+import model.EvaluatedMoves;
 import model.Player;
 import model.ReadOnlyReversiModel;
 
@@ -25,14 +25,14 @@ public class AvoidCorners extends ReversiStrategy {
     if (!model.getPlayerTurn().toString().equals(player.toString())) {
       throw new IllegalArgumentException("not player turn");
     }
-    ArrayList<Cell> valids = this.getValidCells(model);
-    ArrayList<Cell> noCorners = this.getNoCorners(model, valids);
+    EvaluatedMoves moves = model.evaluateMoves();
+    BitSet noCorners = this.getNoCorners(model, moves);
 
     if (noCorners.isEmpty()) {
       return null;
     }
     else {
-      return this.getBestCell(model, noCorners);
+      return this.getBestMove(moves, noCorners);
     }
   }
 }
@@ -1,7 +1,6 @@
 package strategy;
 
-import model.Cell;
-import java.util.ArrayList;
+import model.EvaluatedMoves;
 import model.Player;
 import model.ReadOnlyReversiModel;
 
@@ -26,13 +25,13 @@ public class CaptureMostPieces extends ReversiStrategy {
     if (!model.getPlayerTurn().toString().equals(player.toString())) {
       throw new IllegalArgumentException("not player turn");
     }
-    //gets the cells in the board that are valid moves
-    ArrayList<Cell> valids = this.getValidCells(model);
+    //gets the cells in the board that are valid moves, and the cells each would gain
+    EvaluatedMoves moves = model.evaluateMoves();
     //returns the cell from the valid cells that gains the most cells
-    if (valids.isEmpty()) {
+    if (moves.isEmpty()) {
       return null;
     }
-    return this.getBestCell(model, valids);
+    return this.getBestMove(moves, this.getAllMoves(moves));
   }
 
 }
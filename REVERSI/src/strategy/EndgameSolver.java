@@ -0,0 +1,384 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.List;
+import model.BoardView;
+import model.Cell;
+import model.Player;
+import model.PlayerEnum;
+import model.ReadOnlyReversiModel;
+import model.ReversiModel;
+
+
+
+/**
+ * A strategy to a game of reversi that plays perfectly once only a few cells are left empty, by
+ * searching every move to the end of the game. Before then it does not pick a move (it returns
+ * null), so it can be put in front of another strategy with TryTwo:
+ * new TryTwo(new EndgameSolver(), otherStrategy).
+ * The moves are searched with the fastest-first rule (the move that leaves the other player the
+ * fewest moves first) while many cells are empty, and then with the parity rule (moves into an
+ * area of the board with an odd number of empty cells first), which finds the best move sooner.
+ */
+public class EndgameSolver extends ReversiStrategy {
+
+  /**
+   * What the solver tries to get out of the end of the game.
+   */
+  public enum Mode {
+    //only whether the game is won, lost or drawn, which is much faster to solve
+    WIN_LOSS_DRAW,
+    //the greatest difference between the player's pieces and the other player's pieces
+    EXACT
+  }
+
+  //the default number of empty cells at which the solver starts playing
+  public static final int DEFAULT_EMPTIES = 10;
+  //the fewest empty cells at which the moves are sorted with the fastest-first rule, below which
+  //only the parity rule is used because counting the other player's moves costs too much
+  private static final int FASTEST_FIRST_EMPTIES = 6;
+
+  private final int maxEmpties;
+  private final Mode mode;
+
+  //the number of positions searched in the most recent move
+  private long nodes;
+  //the score of the move picked in the most recent move, for the player who moved
+  private int lastScore;
+
+  //the view of the board being solved, whose cell numbers are the cell indexes used below
+  private BoardView view;
+  //the cell indexes of the neighbours of each cell
+  private int[][] neighbours;
+  //the cell indexes of the empty cells, in the first emptyCount places
+  private int[] emptyCells;
+  private int emptyCount;
+  //the place of each empty cell in emptyCells
+  private int[] emptyPlace;
+  //true for an empty cell in an area of the board with an odd number of empty cells
+  private boolean[] oddRegion;
+  //the cells being filled in by the flood fill that finds the areas of empty cells
+  private int[] regionStack;
+  private boolean[] inRegion;
+
+
+  /**
+   * creates a solver that plays for the biggest win once 10 or fewer cells are empty.
+   */
+  public EndgameSolver() {
+    this(DEFAULT_EMPTIES, Mode.EXACT);
+  }
+
+  /**
+   * creates a solver that starts playing at the given number of empty cells.
+   * @param maxEmpties the most empty cells at which the solver picks a move.
+   * @param mode whether to play for the biggest win, or only for a win.
+   * @throws IllegalArgumentException if the number of empty cells is not positive.
+   * @throws IllegalArgumentException if the mode is null.
+   */
+  public EndgameSolver(int maxEmpties, Mode mode) {
+    if (maxEmpties <= 0) {
+      throw new IllegalArgumentException("number of empty cells must be positive");
+    }
+    if (mode == null) {
+      throw new IllegalArgumentException("mode cannot be null");
+    }
+    this.maxEmpties = maxEmpties;
+    this.mode = mode;
+  }
+
+
+  /**
+   * Picks the coordinate that gives the player the best end of the game against any reply,
+   * if few enough cells are empty. The search is done on a copy of the model, so the model
+   * itself never changes.
+   * @param model the model of a reversi game.
+   * @param player the player placing a piece.
+   * @return the coordinate of the best move, null if there are too many empty cells to solve
+   *     the game or there are no available cells.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   */
+  @Override
+  public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+    if (!model.getPlayerTurn().toString().equals(player.toString())) {
+      throw new IllegalArgumentException("not player turn");
+    }
+    this.nodes = 0;
+    BoardView view = model.getBoardView();
+    int empties = view.size() - model.getPlayerScore(PlayerEnum.X)
+        - model.getPlayerScore(PlayerEnum.O);
+    if (empties > this.maxEmpties) {
+      return null;
+    }
+    List<Cell> valids = model.getValidMoves();
+    if (valids.isEmpty()) {
+      return null;
+    }
+    ReversiModel board = model.copy();
+    this.layOutBoard(board.getBoardView());
+
+    //a win is the best a player can do when only the winner matters
+    int beta = (this.mode == Mode.EXACT) ? view.size() + 1 : 1;
+    int alpha = -beta;
+    int[] order = this.orderMoves(board, valids);
+    Coord best = null;
+    for (int i : order) {
+      Cell cell = valids.get(i);
+      int score = -this.solveMove(board, cell, -beta, -alpha);
+      if (best == null || score > alpha) {
+        alpha = score;
+        best = new Coord(cell.getDiagonalPos(), cell.getRowPos());
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    this.lastScore = alpha;
+    return best;
+  }
+
+
+  /**
+   * the number of positions searched in the most recent call to chooseMove.
+   * @return the number of positions searched.
+   */
+  public long getLastNodeCount() {
+    return this.nodes;
+  }
+
+  /**
+   * the result of the move picked in the most recent call to chooseMove, with perfect play
+   * from both players.
+   * @return the difference between the player's pieces and the other player's pieces at the end
+   *     of the game, or 1 for a win, 0 for a draw and -1 for a loss when only the winner matters.
+   */
+  public int getLastScore() {
+    return this.lastScore;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR SOLVING:
+  /**
+   * the score of the given position for the player whose turn it is, with perfect play to the
+   * end of the game.
+   * note: a score is only exact if it is between alpha and beta. if it is not, it is only known
+   *     to be at most alpha or at least beta, which is all the search above it needs to know.
+   * @param board the position being solved, which is back in the same position afterward.
+   * @param alpha the score the player to move is already sure to get.
+   * @param beta the score the other player is already sure to hold the player to move to.
+   * @return the score of the position.
+   */
+  private int solve(ReversiModel board, int alpha, int beta) {
+    this.nodes++;
+    if (board.isGameOver()) {
+      return this.finalScore(board);
+    }
+    List<Cell> valids = board.getValidMoves();
+    if (valids.isEmpty()) {
+      board.applyPass();
+      int score = -this.solve(board, -beta, -alpha);
+      board.undoMove();
+      return score;
+    }
+    int best = -Integer.MAX_VALUE;
+    int[] order = this.orderMoves(board, valids);
+    for (int i : order) {
+      int score = -this.solveMove(board, valids.get(i), -beta, -alpha);
+      if (score > best) {
+        best = score;
+      }
+      if (score > alpha) {
+        alpha = score;
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * the score of the position after the given move, for the player whose turn it is after it.
+   * @param board the position the move is made from, which is back in the same position after.
+   * @param cell a valid move of the player whose turn it is.
+   * @param alpha the score the player moving next is already sure to get.
+   * @param beta the score the player making the move is already sure to hold them to.
+   * @return the score of the position after the move.
+   */
+  private int solveMove(ReversiModel board, Cell cell, int alpha, int beta) {
+    int index = this.view.getIndexAtPosn(cell.getDiagonalPos(), cell.getRowPos());
+    int place = this.fill(index);
+    board.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+    int score = this.solve(board, alpha, beta);
+    board.undoMove();
+    this.empty(index, place);
+    return score;
+  }
+
+
+  /**
+   * the score of a finished game for the player whose turn it is.
+   * @param board a finished game.
+   * @return the difference between the player's pieces and the other player's pieces, or just
+   *     its sign when only the winner matters.
+   */
+  private int finalScore(ReversiModel board) {
+    PlayerEnum own = (board.getPlayerTurn() == PlayerEnum.X) ? PlayerEnum.X : PlayerEnum.O;
+    PlayerEnum other = (own == PlayerEnum.X) ? PlayerEnum.O : PlayerEnum.X;
+    int difference = board.getPlayerScore(own) - board.getPlayerScore(other);
+    if (this.mode == Mode.WIN_LOSS_DRAW) {
+      return Integer.signum(difference);
+    }
+    return difference;
+  }
+
+
+  /**
+   * the order to search the given moves in: while many cells are empty, the moves that leave
+   * the other player the fewest replies go first, and otherwise the moves into an area with an
+   * odd number of empty cells go first, which lets the player make the last move in that area.
+   * @param board the position the moves are made from.
+   * @param valids the valid moves of the player whose turn it is.
+   * @return the places of the moves in valids, in the order to search them.
+   */
+  private int[] orderMoves(ReversiModel board, List<Cell> valids) {
+    int[] order = new int[valids.size()];
+    int[] keys = new int[valids.size()];
+    this.findOddRegions();
+    boolean fastestFirst = this.emptyCount >= FASTEST_FIRST_EMPTIES;
+    for (int i = 0; i < order.length; i++) {
+      Cell cell = valids.get(i);
+      order[i] = i;
+      keys[i] = this.oddRegion[this.view.getIndexAtPosn(cell.getDiagonalPos(), cell.getRowPos())]
+          ? 0 : 1;
+      if (fastestFirst) {
+        board.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+        keys[i] += board.getValidMoves().size() * 2;
+        board.undoMove();
+      }
+    }
+    //insertion sort, as there are only a few moves
+    for (int i = 1; i < order.length; i++) {
+      int move = order[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        order[j + 1] = order[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+      order[j + 1] = move;
+      keys[j + 1] = key;
+    }
+    return order;
+  }
+
+
+  /**
+   * finds the areas of empty cells that are joined to each other, and marks the cells of the
+   * areas with an odd number of empty cells in oddRegion.
+   */
+  private void findOddRegions() {
+    for (int i = 0; i < this.emptyCount; i++) {
+      this.inRegion[this.emptyCells[i]] = false;
+    }
+    for (int i = 0; i < this.emptyCount; i++) {
+      int start = this.emptyCells[i];
+      if (this.inRegion[start]) {
+        continue;
+      }
+      //fills in the whole area joined to this cell, keeping its cells on the stack
+      int size = 0;
+      int top = 0;
+      this.inRegion[start] = true;
+      this.regionStack[top++] = start;
+      while (size < top) {
+        int cell = this.regionStack[size++];
+        for (int neighbour : this.neighbours[cell]) {
+          if (this.emptyPlace[neighbour] < this.emptyCount && !this.inRegion[neighbour]) {
+            this.inRegion[neighbour] = true;
+            this.regionStack[top++] = neighbour;
+          }
+        }
+      }
+      boolean odd = (size % 2) == 1;
+      for (int j = 0; j < size; j++) {
+        this.oddRegion[this.regionStack[j]] = odd;
+      }
+    }
+  }
+
+
+
+
+
+  //HELPER METHODS FOR KEEPING TRACK OF THE EMPTY CELLS:
+  /**
+   * lays out the cells of the board being solved, finding the neighbours of each cell from the
+   * rays of the board, and the cells that are empty.
+   * @param view the board being solved.
+   */
+  private void layOutBoard(BoardView view) {
+    int size = view.size();
+    this.view = view;
+    this.neighbours = new int[size][];
+    for (int index = 0; index < size; index++) {
+      int[] found = new int[view.getDirectionCount()];
+      int count = 0;
+      for (int direction = 0; direction < found.length; direction++) {
+        int[] ray = view.getRay(index, direction);
+        if (ray.length > 0) {
+          found[count++] = ray[0];
+        }
+      }
+      this.neighbours[index] = Arrays.copyOf(found, count);
+    }
+
+    this.emptyCells = new int[size];
+    this.emptyPlace = new int[size];
+    this.emptyCount = 0;
+    for (int index = 0; index < size; index++) {
+      this.emptyPlace[index] = size;
+      if (view.getState(index) == PlayerEnum.Empty) {
+        this.emptyPlace[index] = this.emptyCount;
+        this.emptyCells[this.emptyCount++] = index;
+      }
+    }
+    this.oddRegion = new boolean[size];
+    this.regionStack = new int[size];
+    this.inRegion = new boolean[size];
+  }
+
+  /**
+   * takes the given cell out of the empty cells, by swapping it with the last empty cell.
+   * @param index the index of an empty cell.
+   * @return the place the cell was at, to put it back with empty.
+   */
+  private int fill(int index) {
+    int place = this.emptyPlace[index];
+    int last = this.emptyCells[--this.emptyCount];
+    this.emptyCells[place] = last;
+    this.emptyPlace[last] = place;
+    this.emptyCells[this.emptyCount] = index;
+    this.emptyPlace[index] = this.emptyCount;
+    return place;
+  }
+
+  /**
+   * puts a cell taken out by fill back into the empty cells, in the place it was at.
+   * @param index the index of the cell.
+   * @param place the place returned by fill.
+   */
+  private void empty(int index, int place) {
+    int last = this.emptyCells[place];
+    this.emptyCells[this.emptyCount] = last;
+    this.emptyPlace[last] = this.emptyCount;
+    this.emptyCells[place] = index;
+    this.emptyPlace[index] = place;
+    this.emptyCount++;
+  }
+
+}
@@ -1,7 +1,7 @@
 package strategy;
 
-import model.Cell;
-import java.util.ArrayList;
+import java.util.BitSet;
+import model.EvaluatedMoves;
 import model.Player;
 import model.ReadOnlyReversiModel;
 
@@ -27,14 +27,14 @@ public class GoForCorners extends ReversiStrategy {
     if (!model.getPlayerTurn().toString().equals(player.toString())) {
       throw new IllegalArgumentException("not player turn");
     }
-    ArrayList<Cell> valids = this.getValidCells(model);
-    ArrayList<Cell> corners = this.getCorners(model, valids);
+    EvaluatedMoves moves = model.evaluateMoves();
+    BitSet corners = this.getCorners(model, moves);
     
     if (corners.isEmpty()) {
       return null;
     }
     else {
-      return this.getBestCell(model, corners);
+      return this.getBestMove(moves, corners);
     }
   }
 
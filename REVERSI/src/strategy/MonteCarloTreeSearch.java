@@ -0,0 +1,350 @@
+package strategy;
+
+import java.util.Random;
+import model.Player;
+import model.ReadOnlyReversiModel;
+
+
+
+/**
+ * A strategy to a game of reversi that picks moves by playing many games out to the end from the
+ * current position (Monte Carlo tree search, choosing which moves to explore with UCT). It needs
+ * no knowledge of where the good cells of a board are, so it works the same on hexagon and square
+ * boards. Games are played on a lightweight copy of the board, and the tree built for one move is
+ * kept and reused for the next move of the same game.
+ */
+public class MonteCarloTreeSearch extends ReversiStrategy {
+
+  //the default time budget of one move, in milliseconds
+  public static final long DEFAULT_TIME_BUDGET = 100;
+  //how much the search favours trying moves it has tried less, over moves that have done well
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final RolloutPolicy policy;
+  private final int maxPlayouts;
+  private final long timeBudget;
+  private final Random random;
+
+  //the part of the tree after the most recent move chosen, to reuse for the next move
+  private Node reusable;
+  //the number of cells on the board of the kept tree
+  private int reusableSize;
+  //the number of games played out in the most recent move
+  private int lastPlayouts;
+  //true if the most recent move started from a reused tree
+  private boolean lastReused;
+
+
+  /**
+   * creates a Monte Carlo tree search with random playouts and the default time budget of 100
+   * milliseconds a move.
+   */
+  public MonteCarloTreeSearch() {
+    this(RolloutPolicy.RANDOM, Integer.MAX_VALUE, DEFAULT_TIME_BUDGET, new Random());
+  }
+
+  /**
+   * creates a Monte Carlo tree search that stops after the given number of playouts or when the
+   * time budget runs out, whichever comes first.
+   * @param policy how moves are picked when playing a game out.
+   * @param maxPlayouts the most games played out for one move.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @throws IllegalArgumentException if the policy is null.
+   * @throws IllegalArgumentException if the playouts or the time budget is not positive.
+   */
+  public MonteCarloTreeSearch(RolloutPolicy policy, int maxPlayouts, long timeBudget) {
+    this(policy, maxPlayouts, timeBudget, new Random());
+  }
+
+  /**
+   * creates a Monte Carlo tree search that stops after the given number of playouts or when the
+   * time budget runs out, using the given random numbers (so that tests can repeat a search).
+   * @param policy how moves are picked when playing a game out.
+   * @param maxPlayouts the most games played out for one move.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @param random the source of random choices.
+   * @throws IllegalArgumentException if the policy or random is null.
+   * @throws IllegalArgumentException if the playouts or the time budget is not positive.
+   */
+  public MonteCarloTreeSearch(RolloutPolicy policy, int maxPlayouts, long timeBudget,
+                              Random random) {
+    if (policy == null || random == null) {
+      throw new IllegalArgumentException("arguments cannot be null");
+    }
+    if (maxPlayouts <= 0) {
+      throw new IllegalArgumentException("playouts must be positive");
+    }
+    if (timeBudget <= 0) {
+      throw new IllegalArgumentException("time budget must be positive");
+    }
+    this.policy = policy;
+    this.maxPlayouts = maxPlayouts;
+    this.timeBudget = timeBudget;
+    this.random = random;
+    this.reusable = null;
+  }
+
+
+  /**
+   * Picks the coordinate that a player should move to by playing games out from the current
+   * position, and returns the move that was explored the most.
+   * @param model the model of a reversi game.
+   * @param player the player placing a piece.
+   * @return the coordinate the search picked, null if there are no available cells.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   */
+  @Override
+  public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+    if (!model.getPlayerTurn().toString().equals(player.toString())) {
+      throw new IllegalArgumentException("not player turn");
+    }
+    long deadline = System.nanoTime() + (this.timeBudget * 1000000);
+    this.lastPlayouts = 0;
+    this.lastReused = false;
+    PlayoutBoard start = new PlayoutBoard(model);
+    int[] moves = new int[start.size()];
+    int count = start.findValidMoves(moves);
+    if (count == 0) {
+      this.reusable = null;
+      return null;
+    }
+    if (count == 1) {
+      this.reusable = null;
+      return new Coord(start.getDiagonalPos(moves[0]), start.getRowPos(moves[0]));
+    }
+
+    Node root = null;
+    if (start.size() == this.reusableSize) {
+      root = this.findReusable(start.getKey());
+    }
+    this.lastReused = root != null;
+    if (root == null) {
+      root = new Node(null, PlayoutBoard.PASS, start, moves);
+    }
+    root.parent = null;
+    PlayoutBoard board = new PlayoutBoard(start);
+    //at least one game is played out, even if the time budget has already run out, so the root
+    //always has a child to pick
+    do {
+      board.copyFrom(start);
+      this.playout(root, board, moves);
+      this.lastPlayouts++;
+    } while (this.lastPlayouts < this.maxPlayouts && System.nanoTime() < deadline);
+
+    Node best = root.children;
+    for (Node child = root.children; child != null; child = child.sibling) {
+      if (child.visits > best.visits) {
+        best = child;
+      }
+    }
+    this.reusable = best;
+    this.reusableSize = start.size();
+    return new Coord(start.getDiagonalPos(best.move), start.getRowPos(best.move));
+  }
+
+
+  /**
+   * the number of games played out in the most recent call to chooseMove.
+   * @return the number of playouts.
+   */
+  public int getLastPlayoutCount() {
+    return this.lastPlayouts;
+  }
+
+
+  /**
+   * whether the most recent call to chooseMove started from the tree of the call before it.
+   * @return true if the tree was reused.
+   */
+  public boolean lastMoveReusedTree() {
+    return this.lastReused;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR SEARCHING:
+  /**
+   * plays one game out: walks down the tree picking moves with UCT, adds one new node, plays
+   * the rest of the game with the rollout policy, and records the result in every node passed.
+   * @param root the root of the tree.
+   * @param board the board, in the position of the root, which is played on.
+   * @param moves an array at least as long as the board, for finding valid moves.
+   */
+  private void playout(Node root, PlayoutBoard board, int[] moves) {
+    Node node = root;
+    //selection: follows the best child while every move of a node has been tried
+    while (node.untriedCount == 0 && node.children != null) {
+      node = this.selectChild(node);
+      board.playOrPass(node.move);
+    }
+    //expansion: tries one move that has not been tried yet
+    if (node.untriedCount > 0) {
+      int pick = this.random.nextInt(node.untriedCount);
+      int move = node.untried[pick];
+      node.untried[pick] = node.untried[--node.untriedCount];
+      board.playOrPass(move);
+      node = node.addChild(move, board, moves);
+    }
+    //rollout: plays the rest of the game
+    while (!board.isGameOver()) {
+      int count = board.findValidMoves(moves);
+      if (count == 0) {
+        board.pass();
+      }
+      else {
+        board.play(this.pickRolloutMove(board, moves, count));
+      }
+    }
+    //backpropagation: each node records the result for the player who moved into it
+    int xScore = board.getScore(PlayoutBoard.X);
+    int oScore = board.getScore(PlayoutBoard.O);
+    for (; node != null; node = node.parent) {
+      node.visits++;
+      int own = (node.mover == PlayoutBoard.X) ? xScore : oScore;
+      int other = (node.mover == PlayoutBoard.X) ? oScore : xScore;
+      if (own > other) {
+        node.wins += 1;
+      }
+      else if (own == other) {
+        node.wins += 0.5;
+      }
+    }
+  }
+
+
+  /**
+   * the child of a node with the highest UCT value: how often moving there won, plus a bonus
+   * for children that have been tried less often than the others.
+   * @param node a node whose moves have all been tried.
+   * @return the child to explore.
+   */
+  private Node selectChild(Node node) {
+    double logVisits = Math.log(node.visits);
+    Node best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (Node child = node.children; child != null; child = child.sibling) {
+      double value = (child.wins / child.visits)
+          + (EXPLORATION * Math.sqrt(logVisits / child.visits));
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+
+  /**
+   * picks a move to play during a rollout, using the rollout policy.
+   * @param board the board being played out.
+   * @param moves the valid moves of the current player.
+   * @param count the number of valid moves.
+   * @return the cell moved to.
+   */
+  private int pickRolloutMove(PlayoutBoard board, int[] moves, int count) {
+    if (this.policy == RolloutPolicy.RANDOM) {
+      return moves[this.random.nextInt(count)];
+    }
+    //the first of the moves that gains the most pieces, like CaptureMostPieces
+    int best = moves[0];
+    int bestFlips = 0;
+    for (int i = 0; i < count; i++) {
+      int flips = board.countFlips(moves[i]);
+      if (flips > bestFlips) {
+        bestFlips = flips;
+        best = moves[i];
+      }
+    }
+    return best;
+  }
+
+
+  /**
+   * finds the node for the given position in the tree kept from the previous move: one of the
+   * positions the other player could have reached with their reply (or pass).
+   * @param key the key of the current position.
+   * @return the node of the current position, or null if it is not in the kept tree.
+   */
+  private Node findReusable(long key) {
+    if (this.reusable == null) {
+      return null;
+    }
+    if (this.reusable.key == key) {
+      return this.reusable;
+    }
+    for (Node reply = this.reusable.children; reply != null; reply = reply.sibling) {
+      if (reply.key == key) {
+        return reply;
+      }
+    }
+    return null;
+  }
+
+
+  /**
+   * a position in the search tree, reached by one move from its parent.
+   */
+  private static final class Node {
+    //the move made to reach this node, or PASS
+    private final int move;
+    //the player who made that move
+    private final byte mover;
+    //the key of the position of this node
+    private final long key;
+    //the moves from this node that do not have a child yet
+    private final int[] untried;
+    private int untriedCount;
+    private Node parent;
+    //the first child of this node, and the next child of this node's parent
+    private Node children;
+    private Node sibling;
+    private int visits;
+    private double wins;
+
+    /**
+     * creates a node for the position on the board.
+     * @param parent the node before this one, or null for the root.
+     * @param move the move made to reach this node.
+     * @param board the board, in the position of this node.
+     * @param moves an array at least as long as the board, for finding valid moves.
+     */
+    private Node(Node parent, int move, PlayoutBoard board, int[] moves) {
+      this.parent = parent;
+      this.move = move;
+      this.mover = (board.getTurn() == PlayoutBoard.X) ? PlayoutBoard.O : PlayoutBoard.X;
+      this.key = board.getKey();
+      if (board.isGameOver()) {
+        this.untried = new int[0];
+      }
+      else {
+        int count = board.findValidMoves(moves);
+        if (count == 0) {
+          //the only move is a pass
+          this.untried = new int[] {PlayoutBoard.PASS};
+        }
+        else {
+          this.untried = new int[count];
+          System.arraycopy(moves, 0, this.untried, 0, count);
+        }
+      }
+      this.untriedCount = this.untried.length;
+    }
+
+    /**
+     * adds a child for the move just made on the board.
+     * @param childMove the move made.
+     * @param board the board, in the position after the move.
+     * @param moves an array at least as long as the board, for finding valid moves.
+     * @return the new child.
+     */
+    private Node addChild(int childMove, PlayoutBoard board, int[] moves) {
+      Node child = new Node(this, childMove, board, moves);
+      child.sibling = this.children;
+      this.children = child;
+      return child;
+    }
+  }
+
+}
@@ -0,0 +1,193 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.Cell;
+import model.Player;
+import model.ReadOnlyReversiModel;
+
+
+
+/**
+ * A strategy to a game of reversi that plays the moves stored in an opening book file, made by
+ * OpeningBookBuilder, and asks another strategy for a move once the game leaves the book.
+ * The file is mapped into memory, so a lookup reads only the few records of its binary search,
+ * and many players can share one book without each reading the whole file.
+ * A book only holds positions of one kind of board of one size (see fileName), and is not used
+ * in any other game. Each position is stored once for all its rotations and reflections, under
+ * its canonical key, with the move turned to the canonical orientation; the move is turned back
+ * to the orientation of the game when it is looked up.
+ *
+ * <p>The file is a header followed by records sorted by canonical key, all big-endian:
+ * the header is the magic number, the format version, 1 for a square board or 0 for a hexagon
+ * board, the side length, and the number of records (five ints). Each record is the canonical key
+ * (a long), the diagonal and row position of the best move (two shorts) and its score (an int).
+ */
+public class OpeningBook extends ReversiStrategy {
+
+  //the first int of every opening book file
+  static final int MAGIC = 0x52564f42;
+  //the version of the file format
+  static final int VERSION = 3;
+  //the number of bytes in the header and in each record
+  static final int HEADER_BYTES = 20;
+  static final int RECORD_BYTES = 16;
+
+  private final Strategy delegate;
+  private final ByteBuffer records;
+  private final boolean square;
+  private final int sideLength;
+  private final int size;
+
+
+  /**
+   * opens the opening book in the given file.
+   * @param file the opening book file, made by OpeningBookBuilder.
+   * @param delegate the strategy used for positions that are not in the book.
+   * @throws IllegalArgumentException if the delegate is null.
+   * @throws IllegalArgumentException if the file cannot be read or is not an opening book.
+   */
+  public OpeningBook(Path file, Strategy delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("delegate cannot be null");
+    }
+    this.delegate = delegate;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      //the mapping stays valid after the channel is closed
+      this.records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("cannot read opening book: " + e.getMessage());
+    }
+    if (this.records.capacity() < HEADER_BYTES || this.records.getInt(0) != MAGIC
+        || this.records.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("not an opening book");
+    }
+    this.square = this.records.getInt(8) == 1;
+    this.sideLength = this.records.getInt(12);
+    this.size = this.records.getInt(16);
+    if (this.size < 0 || this.records.capacity() != HEADER_BYTES + (this.size * RECORD_BYTES)) {
+      throw new IllegalArgumentException("not an opening book");
+    }
+  }
+
+
+  /**
+   * the name of the opening book file for the given kind of board, so that each kind of board
+   * and each size has its own book.
+   * @param square true for a square board, false for a hexagon board.
+   * @param sideLength the side length of the board.
+   * @return the file name, such as "square-8.book".
+   */
+  public static String fileName(boolean square, int sideLength) {
+    return (square ? "square-" : "hexagon-") + sideLength + ".book";
+  }
+
+
+  /**
+   * Picks the move stored in the book for the current position, or the move of the delegate if
+   * the position is not in the book.
+   * @param model the model of a reversi game.
+   * @param player the player placing a piece.
+   * @return the coordinate of the cell the player should move to, null if the player should pass.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   */
+  @Override
+  public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+    if (!model.getPlayerTurn().toString().equals(player.toString())) {
+      throw new IllegalArgumentException("not player turn");
+    }
+    Coord move = this.lookUp(model);
+    if (move != null) {
+      return move;
+    }
+    return this.delegate.chooseMove(model, player);
+  }
+
+
+  /**
+   * the move stored in the book for the current position of the given game.
+   * @param model the model of a reversi game.
+   * @return the coordinate of the stored move, or null if the position is not in the book or the
+   *     book is for another kind or size of board.
+   */
+  public Coord lookUp(ReadOnlyReversiModel model) {
+    int record = this.find(model);
+    if (record < 0) {
+      return null;
+    }
+    int offset = HEADER_BYTES + (record * RECORD_BYTES);
+    //the stored move is for the canonical orientation, so it is turned back to this game's
+    Cell cell = model.transformCell(model.inverseSymmetry(model.getCanonicalSymmetry()),
+        this.records.getShort(offset + 8), this.records.getShort(offset + 10));
+    Coord move = new Coord(cell.getDiagonalPos(), cell.getRowPos());
+    //a different position with the same key could hold a move that is not valid here
+    if (!model.checkValid(move.getDiagonalPos(), move.getRowPos())) {
+      return null;
+    }
+    return move;
+  }
+
+  /**
+   * the score the book building search gave the stored move of the current position, for the
+   * player whose turn it is.
+   * @param model the model of a reversi game.
+   * @return the score of the stored move.
+   * @throws IllegalArgumentException if the position is not in the book.
+   */
+  public int getScore(ReadOnlyReversiModel model) {
+    int record = this.find(model);
+    if (record < 0) {
+      throw new IllegalArgumentException("position not in book");
+    }
+    return this.records.getInt(HEADER_BYTES + (record * RECORD_BYTES) + 12);
+  }
+
+  /**
+   * closes the strategy used for positions that are not in the book.
+   */
+  @Override
+  public void close() {
+    this.delegate.close();
+  }
+
+  /**
+   * the number of positions in the book.
+   * @return the number of records in the file.
+   */
+  public int size() {
+    return this.size;
+  }
+
+
+  /**
+   * finds the record of the current position of the given game with a binary search.
+   * @param model the model of a reversi game.
+   * @return the number of the record, or -1 if the position is not in the book.
+   */
+  private int find(ReadOnlyReversiModel model) {
+    if (model.isSquareReversi() != this.square || model.getBoardSideLength() != this.sideLength) {
+      return -1;
+    }
+    long key = model.getCanonicalKey();
+    int low = 0;
+    int high = this.size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long middleKey = this.records.getLong(HEADER_BYTES + (middle * RECORD_BYTES));
+      if (middleKey < key) {
+        low = middle + 1;
+      }
+      else if (middleKey > key) {
+        high = middle - 1;
+      }
+      else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,153 @@
+package strategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import model.Cell;
+import model.ReadOnlyReversiModel;
+import model.ReversiModel;
+
+
+
+/**
+ * Builds an opening book file for OpeningBook by playing a search strategy against itself from
+ * the start of a game. Every line of the first few moves is played out, and the search picks the
+ * best move of each position it reaches, which is stored with its score under the canonical key of
+ * the position. The rotations and reflections of a position are only searched and stored once,
+ * with the move turned to the canonical orientation. The book is only for the kind and size of
+ * board of the game it was built from.
+ */
+public class OpeningBookBuilder {
+
+  private final AlphaBetaSearch search;
+  private final int depth;
+
+  //the best move of each position searched so far, by canonical key
+  private Map<Long, Record> records;
+  //the most moves left to play out from each position already played out, by canonical key
+  private Map<Long, Integer> expanded;
+
+
+  /**
+   * makes a builder that searches every position of the first moves of a game.
+   * @param search the search that picks the best move of each position.
+   * @param depth the number of moves from the start of the game to put in the book.
+   * @throws IllegalArgumentException if the search is null or the depth is not positive.
+   */
+  public OpeningBookBuilder(AlphaBetaSearch search, int depth) {
+    if (search == null) {
+      throw new IllegalArgumentException("search cannot be null");
+    }
+    if (depth <= 0) {
+      throw new IllegalArgumentException("depth must be positive");
+    }
+    this.search = search;
+    this.depth = depth;
+  }
+
+
+  /**
+   * builds the opening book of the given game and writes it to the given file.
+   * the game is copied, so it is not changed.
+   * @param model a game at its starting position.
+   * @param file the file the book is written to, replacing it if it exists.
+   * @return the number of positions in the book.
+   * @throws IllegalStateException if the game has not been started.
+   * @throws IllegalArgumentException if the file cannot be written.
+   */
+  public int build(ReadOnlyReversiModel model, Path file) {
+    ReversiModel game = model.copy();
+    this.records = new HashMap<>();
+    this.expanded = new HashMap<>();
+    this.playOut(game, this.depth);
+    //sorted by key, so a book can be searched with a binary search
+    TreeMap<Long, Record> sorted = new TreeMap<>(this.records);
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(OpeningBook.MAGIC);
+      out.writeInt(OpeningBook.VERSION);
+      out.writeInt(game.isSquareReversi() ? 1 : 0);
+      out.writeInt(game.getBoardSideLength());
+      out.writeInt(sorted.size());
+      for (Map.Entry<Long, Record> entry : sorted.entrySet()) {
+        out.writeLong(entry.getKey());
+        out.writeShort(entry.getValue().diagonalPos);
+        out.writeShort(entry.getValue().rowPos);
+        out.writeInt(entry.getValue().score);
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("cannot write opening book: " + e.getMessage());
+    }
+    return sorted.size();
+  }
+
+
+
+
+
+
+  //HELPER METHODS FOR BUILD:
+  /**
+   * searches the current position and plays out every move from it, until the given number of
+   * moves have been played. a position reached by different lines, or a rotation or reflection
+   * of one already reached, is only played out again if there are more moves left to play from
+   * it than before.
+   * @param game the game being played out, which is put back as it was.
+   * @param movesLeft the number of moves left to play.
+   */
+  private void playOut(ReversiModel game, int movesLeft) {
+    if (movesLeft == 0 || game.isGameOver()) {
+      return;
+    }
+    long key = game.getCanonicalKey();
+    Integer done = this.expanded.get(key);
+    if (done != null && done >= movesLeft) {
+      return;
+    }
+    this.expanded.put(key, movesLeft);
+    List<Cell> moves = new ArrayList<>(game.getValidMoves());
+    if (moves.isEmpty()) {
+      //passing does not use up a move of the book
+      game.applyPass();
+      this.playOut(game, movesLeft);
+      game.undoMove();
+      return;
+    }
+    if (!this.records.containsKey(key)) {
+      Coord best = this.search.chooseMove(game, game.getPlayerTurn());
+      Cell stored = game.transformCell(game.getCanonicalSymmetry(), best.getDiagonalPos(),
+          best.getRowPos());
+      this.records.put(key,
+          new Record(stored.getDiagonalPos(), stored.getRowPos(), this.search.getLastScore()));
+    }
+    for (Cell move : moves) {
+      game.applyMove(move.getDiagonalPos(), move.getRowPos());
+      this.playOut(game, movesLeft - 1);
+      game.undoMove();
+    }
+  }
+
+
+  /**
+   * the best move of a position in the book and its score.
+   */
+  private static final class Record {
+    private final int diagonalPos;
+    private final int rowPos;
+    private final int score;
+
+    private Record(int diagonalPos, int rowPos, int score) {
+      this.diagonalPos = diagonalPos;
+      this.rowPos = rowPos;
+      this.score = score;
+    }
+  }
+
+}
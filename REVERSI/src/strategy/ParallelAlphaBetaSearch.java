@@ -0,0 +1,277 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Cell;
+import model.Player;
+import model.ReadOnlyReversiModel;
+import model.ReversiModel;
+
+
+
+/**
+ * A strategy to a game of reversi that searches ahead like AlphaBetaSearch, but splits the moves
+ * at the top of the search between several threads. In each iteration the move that did best in
+ * the previous iteration is searched first, to find a good score to beat, and then the other moves
+ * are searched at the same time on a ForkJoinPool, each thread on its own copy of the model.
+ * All the threads share one transposition table, so what one thread finds helps the others.
+ * The pool's threads are kept between moves, until the search is closed.
+ */
+public class ParallelAlphaBetaSearch extends ReversiStrategy {
+
+  private final long timeBudget;
+  private final int maxDepth;
+  private final int threads;
+  private final TranspositionTable table;
+  private final ForkJoinPool pool;
+
+  //the deepest search finished in the most recent move
+  private int lastDepth;
+  //the number of positions searched by all the threads in the most recent move
+  private long nodes;
+
+
+  /**
+   * creates a parallel alpha-beta search with the given time budget a move.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @param threads the number of threads that search at the same time.
+   * @throws IllegalArgumentException if the time budget or the number of threads is not
+   *     positive.
+   */
+  public ParallelAlphaBetaSearch(long timeBudget, int threads) {
+    this(timeBudget, AlphaBetaSearch.DEFAULT_MAX_DEPTH, threads,
+        new TranspositionTable(AlphaBetaSearch.DEFAULT_TABLE_SIZE));
+  }
+
+  /**
+   * creates a parallel alpha-beta search with the given time budget a move, deepest search,
+   * and number of threads, which remembers the positions it searches in the given table.
+   * @param timeBudget the wall-clock time that one move may take, in milliseconds.
+   * @param maxDepth the most moves ahead that the search will look.
+   * @param threads the number of threads that search at the same time.
+   * @param table the transposition table, which may be shared with other searches.
+   * @throws IllegalArgumentException if the time budget, the depth, or the number of threads is
+   *     not positive.
+   * @throws IllegalArgumentException if the table is null.
+   */
+  public ParallelAlphaBetaSearch(long timeBudget, int maxDepth, int threads,
+                                 TranspositionTable table) {
+    if (table == null) {
+      throw new IllegalArgumentException("table cannot be null");
+    }
+    if (timeBudget <= 0) {
+      throw new IllegalArgumentException("time budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("depth must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("thread count must be positive");
+    }
+    this.timeBudget = timeBudget;
+    this.maxDepth = maxDepth;
+    this.threads = threads;
+    this.table = table;
+    this.pool = new ForkJoinPool(threads);
+  }
+
+
+  /**
+   * Picks the coordinate that a player should move to by searching ahead as many moves as the
+   * time budget allows on every thread, assuming both players always pick their best move.
+   * The search is done on copies of the model, so the model itself never changes.
+   * @param model the model of a reversi game.
+   * @param player the player placing a piece.
+   * @return the best coordinate found, null if there are no available cells.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   * @throws IllegalStateException if the search has been closed.
+   */
+  @Override
+  public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+    if (!model.getPlayerTurn().toString().equals(player.toString())) {
+      throw new IllegalArgumentException("not player turn");
+    }
+    if (this.pool.isShutdown()) {
+      throw new IllegalStateException("search is closed");
+    }
+    long deadline = System.nanoTime() + (this.timeBudget * 1000000);
+    this.nodes = 0;
+    this.lastDepth = 0;
+    ArrayList<Cell> valids = this.getValidCells(model);
+    if (valids.isEmpty()) {
+      return null;
+    }
+    Coord[] moves = new Coord[valids.size()];
+    for (int i = 0; i < moves.length; i++) {
+      moves[i] = new Coord(valids.get(i).getDiagonalPos(), valids.get(i).getRowPos());
+    }
+    if (moves.length == 1) {
+      return moves[0];
+    }
+    this.table.newSearch();
+    //one searcher for each thread (and one for this thread), each with its own copy of the model
+    ConcurrentLinkedQueue<Searcher> idle = new ConcurrentLinkedQueue<>();
+    List<Searcher> searchers = new ArrayList<>();
+    for (int i = 0; i <= this.threads; i++) {
+      Searcher searcher = new Searcher(model.copy(), deadline);
+      searchers.add(searcher);
+      idle.add(searcher);
+    }
+    long rootKey = model.getPositionKey();
+    //starts with the best move from the last time this position was searched, if there was one
+    this.moveToFront(moves, TranspositionTable.getMove(this.table.probe(rootKey)));
+    int[] scores = new int[moves.length];
+    Coord best = moves[0];
+
+    for (int depth = 1; depth <= this.maxDepth; depth++) {
+      this.orderMoves(moves, scores);
+      int[] newScores = new int[moves.length];
+      //the first move is searched alone, to find the score the other moves have to beat
+      Searcher first = idle.poll();
+      first.search.startIteration();
+      newScores[0] = first.search.searchMove(first.board, moves[0], depth,
+          -AlphaBetaSearch.INFINITY);
+      boolean depthLimited = first.search.isDepthLimited();
+      boolean outOfTime = first.search.isOutOfTime();
+      idle.add(first);
+      if (outOfTime) {
+        break;
+      }
+
+      AtomicInteger alpha = new AtomicInteger(newScores[0]);
+      List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+      for (int i = 1; i < moves.length; i++) {
+        Coord move = moves[i];
+        int currentDepth = depth;
+        tasks.add(this.pool.submit(() -> this.searchRest(idle, move, currentDepth, alpha)));
+      }
+      int bestIndex = 0;
+      for (int i = 1; i < moves.length; i++) {
+        Integer score = tasks.get(i - 1).join();
+        if (score == null) {
+          //the move ran out of time, so it goes after the moves that were searched
+          outOfTime = true;
+          newScores[i] = -AlphaBetaSearch.INFINITY;
+        }
+        else {
+          newScores[i] = score;
+          if (score > newScores[bestIndex]) {
+            bestIndex = i;
+          }
+        }
+      }
+      for (Searcher searcher : searchers) {
+        depthLimited = depthLimited || searcher.depthLimited;
+        searcher.depthLimited = false;
+      }
+      //a move that beat the first move is a better move, even in an unfinished iteration
+      best = moves[bestIndex];
+      if (outOfTime) {
+        break;
+      }
+      scores = newScores;
+      this.lastDepth = depth;
+      this.table.store(rootKey, depthLimited ? depth : TranspositionTable.SOLVED,
+          newScores[bestIndex], TranspositionTable.EXACT, best);
+      //the whole game has been searched, so searching deeper would not change anything
+      if (!depthLimited) {
+        break;
+      }
+    }
+    for (Searcher searcher : searchers) {
+      this.nodes += searcher.search.getLastNodeCount();
+    }
+    return best;
+  }
+
+
+  /**
+   * shuts down the threads of the search. a move already being searched is finished first.
+   */
+  @Override
+  public void close() {
+    this.pool.shutdown();
+  }
+
+
+  /**
+   * the deepest search that was finished on every move in the most recent call to chooseMove.
+   * @return the number of moves ahead that were fully searched.
+   */
+  public int getLastDepth() {
+    return this.lastDepth;
+  }
+
+
+  /**
+   * the number of positions searched by all the threads in the most recent call to chooseMove.
+   * @return the number of positions searched.
+   */
+  public long getLastNodeCount() {
+    return this.nodes;
+  }
+
+
+  /**
+   * the number of threads that search at the same time.
+   * @return the number of threads.
+   */
+  public int getThreadCount() {
+    return this.threads;
+  }
+
+
+
+
+
+  //HELPER METHODS FOR SEARCHING:
+  /**
+   * searches one of the moves after the first move on an idle searcher, raising the score to
+   * beat if the move is better.
+   * @param idle the searchers not being used by another thread.
+   * @param move the move searched.
+   * @param depth the number of moves to search, including this one.
+   * @param alpha the score of the best move found so far in this iteration.
+   * @return the score of the move, or null if the search ran out of time.
+   */
+  private Integer searchRest(ConcurrentLinkedQueue<Searcher> idle, Coord move, int depth,
+                             AtomicInteger alpha) {
+    Searcher searcher = idle.poll();
+    try {
+      searcher.search.startIteration();
+      int score = searcher.search.searchMove(searcher.board, move, depth, alpha.get());
+      searcher.depthLimited = searcher.depthLimited || searcher.search.isDepthLimited();
+      if (searcher.search.isOutOfTime()) {
+        return null;
+      }
+      alpha.accumulateAndGet(score, Math::max);
+      return score;
+    }
+    finally {
+      idle.add(searcher);
+    }
+  }
+
+
+  /**
+   * an alpha-beta search and the copy of the model it searches, used by one thread at a time.
+   */
+  private final class Searcher {
+    private final ReversiModel board;
+    private final AlphaBetaSearch search;
+    //true if any move this searcher searched in the current iteration hit the depth limit
+    private boolean depthLimited;
+
+    private Searcher(ReversiModel board, long deadline) {
+      this.board = board;
+      this.search = new AlphaBetaSearch(timeBudget, maxDepth, table);
+      this.search.startSearch(board, deadline);
+      this.depthLimited = false;
+    }
+  }
+
+}
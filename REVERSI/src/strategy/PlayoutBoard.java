@@ -0,0 +1,337 @@
+package strategy;
+
+import model.BoardView;
+import model.PlayerEnum;
+import model.ReadOnlyReversiModel;
+
+
+
+/**
+ * A lightweight copy of a reversi game, used to play out many games quickly. The cells of the
+ * board are numbered in the same order as the game board of the model, and the state of the game
+ * is kept in a few arrays and counters, so moves, passes, and copies never create new objects.
+ * Works for both hexagon and square boards, following the same rules as the models. The rays
+ * and the keys of the cells are taken from the model's board view once, so the board walks the
+ * same lines and keeps the same position key as the model.
+ */
+final class PlayoutBoard {
+
+  //the state of a cell, and of the player turn
+  static final byte EMPTY = 0;
+  static final byte X = 1;
+  static final byte O = 2;
+  //the move number that stands for a pass
+  static final int PASS = -1;
+
+  //the layout of the board, shared by every copy
+  private final int[] diagonals;
+  private final int[] rows;
+  //for each cell and each direction, the cells passed through walking to the edge of the board
+  private final int[][][] rays;
+  //the keys of the model's position key: of player X and player O occupying each cell (two for
+  //each cell), while it is player O's turn, and after the earlier and the latest turn was a pass
+  private final long[] cellKeys;
+  private final long turnKey;
+  private final long earlierPassKey;
+  private final long latestPassKey;
+
+  //the state of the game
+  private final byte[] cells;
+  private byte turn;
+  private boolean earlierPassed;
+  private boolean latestPassed;
+  private int xCount;
+  private int oCount;
+  private long key;
+
+
+  /**
+   * copies the current position of the given game.
+   * @param model a started game of reversi.
+   * @throws IllegalStateException if the game has not been started.
+   */
+  PlayoutBoard(ReadOnlyReversiModel model) {
+    BoardView board = model.getBoardView();
+    this.diagonals = new int[board.size()];
+    this.rows = new int[board.size()];
+    this.rays = new int[board.size()][board.getDirectionCount()][];
+    this.cellKeys = new long[board.size() * 2];
+    for (int i = 0; i < board.size(); i++) {
+      this.diagonals[i] = board.getDiagonalPos(i);
+      this.rows[i] = board.getRowPos(i);
+      for (int d = 0; d < board.getDirectionCount(); d++) {
+        this.rays[i][d] = board.getRay(i, d);
+      }
+      this.cellKeys[i * 2] = board.getCellKey(i, PlayerEnum.X);
+      this.cellKeys[(i * 2) + 1] = board.getCellKey(i, PlayerEnum.O);
+    }
+    this.turnKey = board.getTurnKey();
+    this.earlierPassKey = board.getPassKey(false);
+    this.latestPassKey = board.getPassKey(true);
+
+    this.cells = new byte[board.size()];
+    for (int i = 0; i < board.size(); i++) {
+      PlayerEnum state = board.getState(i);
+      if (state == PlayerEnum.X) {
+        this.cells[i] = X;
+      }
+      else if (state == PlayerEnum.O) {
+        this.cells[i] = O;
+      }
+    }
+    this.turn = model.getPlayerTurn().toString().equals(PlayerEnum.X.toString()) ? X : O;
+    this.earlierPassed = !model.getTurnsTaken().get(0);
+    this.latestPassed = !model.getTurnsTaken().get(1);
+    this.recount();
+  }
+
+  /**
+   * makes a second board with the same layout and position as the given board.
+   * @param other the board copied.
+   */
+  PlayoutBoard(PlayoutBoard other) {
+    this.diagonals = other.diagonals;
+    this.rows = other.rows;
+    this.rays = other.rays;
+    this.cellKeys = other.cellKeys;
+    this.turnKey = other.turnKey;
+    this.earlierPassKey = other.earlierPassKey;
+    this.latestPassKey = other.latestPassKey;
+    this.cells = new byte[other.cells.length];
+    this.copyFrom(other);
+  }
+
+
+  /**
+   * sets this board to the same position as the given board, which has the same layout.
+   * @param other the board copied.
+   */
+  void copyFrom(PlayoutBoard other) {
+    System.arraycopy(other.cells, 0, this.cells, 0, this.cells.length);
+    this.turn = other.turn;
+    this.earlierPassed = other.earlierPassed;
+    this.latestPassed = other.latestPassed;
+    this.xCount = other.xCount;
+    this.oCount = other.oCount;
+    this.key = other.key;
+  }
+
+
+  /**
+   * the number of cells on the board.
+   * @return the number of cells.
+   */
+  int size() {
+    return this.cells.length;
+  }
+
+  /**
+   * the diagonal position of the cell with the given number.
+   * @param index the number of the cell.
+   * @return the diagonal position of the cell in the model.
+   */
+  int getDiagonalPos(int index) {
+    return this.diagonals[index];
+  }
+
+  /**
+   * the row position of the cell with the given number.
+   * @param index the number of the cell.
+   * @return the row position of the cell in the model.
+   */
+  int getRowPos(int index) {
+    return this.rows[index];
+  }
+
+  /**
+   * the player whose turn it is.
+   * @return X or O.
+   */
+  byte getTurn() {
+    return this.turn;
+  }
+
+  /**
+   * the number of cells a player occupies.
+   * @param player X or O.
+   * @return the number of cells the player occupies.
+   */
+  int getScore(byte player) {
+    return (player == X) ? this.xCount : this.oCount;
+  }
+
+  /**
+   * a 64-bit key of the current position, which is the position key the model has in the same
+   * position (see ReadOnlyReversiModel.getPositionKey).
+   * @return the key of the position.
+   */
+  long getKey() {
+    long result = this.key;
+    if (this.earlierPassed) {
+      result ^= this.earlierPassKey;
+    }
+    if (this.latestPassed) {
+      result ^= this.latestPassKey;
+    }
+    return result;
+  }
+
+
+  /**
+   * determines if the game is over, in the same way as the models: the board is full, only one
+   * player has pieces on the board, or both players passed one after the other.
+   * @return true if the game is over.
+   */
+  boolean isGameOver() {
+    return (this.xCount + this.oCount == this.cells.length)
+        || this.xCount == 0 || this.oCount == 0
+        || (this.earlierPassed && this.latestPassed);
+  }
+
+
+  /**
+   * finds the cells the current player can move to, in board order.
+   * @param moves the array the cell numbers are written into, at least as long as the board.
+   * @return the number of valid moves written.
+   */
+  int findValidMoves(int[] moves) {
+    int count = 0;
+    for (int i = 0; i < this.cells.length; i++) {
+      if (this.cells[i] == EMPTY && this.countFlips(i) > 0) {
+        moves[count++] = i;
+      }
+    }
+    return count;
+  }
+
+
+  /**
+   * counts the opposing pieces the current player would turn over by moving to a cell.
+   * @param index the number of an empty cell.
+   * @return the number of pieces turned over, 0 if the move is not valid.
+   */
+  int countFlips(int index) {
+    int total = 0;
+    for (int[] ray : this.rays[index]) {
+      total += this.sandwiched(ray);
+    }
+    return total;
+  }
+
+
+  /**
+   * moves the current player to a cell, turns over every sandwiched piece, and switches the
+   * turn. the move is not checked.
+   * @param index the number of a cell that is a valid move.
+   */
+  void play(int index) {
+    byte own = this.turn;
+    int flipped = 0;
+    for (int[] ray : this.rays[index]) {
+      int sandwiched = this.sandwiched(ray);
+      for (int i = 0; i < sandwiched; i++) {
+        this.cells[ray[i]] = own;
+        this.key ^= this.cellKey(ray[i], X) ^ this.cellKey(ray[i], O);
+      }
+      flipped += sandwiched;
+    }
+    this.cells[index] = own;
+    this.key ^= this.cellKey(index, own);
+    if (own == X) {
+      this.xCount += flipped + 1;
+      this.oCount -= flipped;
+    }
+    else {
+      this.oCount += flipped + 1;
+      this.xCount -= flipped;
+    }
+    this.earlierPassed = this.latestPassed;
+    this.latestPassed = false;
+    this.switchTurn();
+  }
+
+
+  /**
+   * passes the current player's turn.
+   */
+  void pass() {
+    this.earlierPassed = this.latestPassed;
+    this.latestPassed = true;
+    this.switchTurn();
+  }
+
+
+  /**
+   * makes the given move, which may be a pass.
+   * @param move the number of a cell that is a valid move, or PASS.
+   */
+  void playOrPass(int move) {
+    if (move == PASS) {
+      this.pass();
+    }
+    else {
+      this.play(move);
+    }
+  }
+
+
+
+
+
+  //HELPER METHODS:
+  /**
+   * the number of opposing pieces walking out along the ray that end with a piece of the
+   * current player.
+   * @param ray the cells in one direction from a cell.
+   * @return the number of pieces sandwiched, 0 if they are not.
+   */
+  private int sandwiched(int[] ray) {
+    for (int i = 0; i < ray.length; i++) {
+      byte state = this.cells[ray[i]];
+      if (state == EMPTY) {
+        return 0;
+      }
+      if (state == this.turn) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * switches the turn to the other player.
+   */
+  private void switchTurn() {
+    this.turn = (this.turn == X) ? O : X;
+    this.key ^= this.turnKey;
+  }
+
+  /**
+   * counts the pieces of each player and works out the key of the position from scratch.
+   */
+  private void recount() {
+    this.xCount = 0;
+    this.oCount = 0;
+    this.key = (this.turn == O) ? this.turnKey : 0;
+    for (int i = 0; i < this.cells.length; i++) {
+      if (this.cells[i] == X) {
+        this.xCount++;
+      }
+      else if (this.cells[i] == O) {
+        this.oCount++;
+      }
+      this.key ^= this.cellKey(i, this.cells[i]);
+    }
+  }
+
+  /**
+   * the key of a player occupying a cell, taken from the model.
+   * @param index the number of the cell.
+   * @param state the state of the cell.
+   * @return the key, 0 for an empty cell.
+   */
+  private long cellKey(int index, byte state) {
+    return (state == EMPTY) ? 0 : this.cellKeys[(index * 2) + state - 1];
+  }
+
+}
@@ -2,6 +2,8 @@ package strategy;
 
 import model.Cell;
 import java.util.ArrayList;
+import java.util.BitSet;
+import model.EvaluatedMoves;
 import model.Player;
 import model.ReadOnlyReversiModel;
 
@@ -28,55 +30,114 @@ abstract class ReversiStrategy implements Strategy {
    * @return the cells in the game board that a player can move to.
    */
   ArrayList<Cell> getValidCells(ReadOnlyReversiModel model) {
-    ArrayList<ArrayList<Cell>> board = model.getGameBoard();
-    ArrayList<Cell> valids = new ArrayList<>();
-    for (ArrayList<Cell> list : board) {
-      for (Cell cell : list) {
-        int diagonalPos = cell.getDiagonalPos();
-        int rowPos = cell.getRowPos();
-        if (model.checkValid(diagonalPos, rowPos)) {
-          valids.add(cell);
-        }
-      }
-    }
-    return valids;
+    return new ArrayList<>(model.getValidMoves());
   }
 
 
-  Coord getBestCell(ReadOnlyReversiModel model, ArrayList<Cell> validCells) {
+  /**
+   * picks the move that gains the most pieces out of the chosen moves, using the pieces gained
+   * the model already counted for every move. the first of the moves that gain the same number
+   * of pieces is picked.
+   * @param moves the valid moves of the current player.
+   * @param choices the numbers of the moves to pick from.
+   * @return the coordinate of the move that gains the most pieces, null if there are no choices.
+   */
+  Coord getBestMove(EvaluatedMoves moves, BitSet choices) {
     int bestMove = 0;
-    Cell bestCell = null;
-    for (Cell cell : validCells) {
-      //finds the number of cells a player would gain by placing a piece at this cell
-      int cellsGained = model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos());
-      //replaces the cell with this cell if it gains more pieces than the current best cell.
-      if (cellsGained > bestMove) {
-        bestMove = cellsGained;
-        bestCell = cell;
+    int best = -1;
+    for (int move = choices.nextSetBit(0); move >= 0; move = choices.nextSetBit(move + 1)) {
+      //replaces the best move with this move if it gains more pieces
+      if (moves.getFlipCount(move) > bestMove) {
+        bestMove = moves.getFlipCount(move);
+        best = move;
       }
     }
-    return new Coord(bestCell.getDiagonalPos(), bestCell.getRowPos());
+    if (best < 0) {
+      return null;
+    }
+    return new Coord(moves.getDiagonalPos(best), moves.getRowPos(best));
   }
 
-  ArrayList<Cell> getNoCorners(ReadOnlyReversiModel model, ArrayList<Cell> valids) {
-    ArrayList<Cell> noCorners = new ArrayList<>();
-    for (Cell cell : valids) {
-      if (!model.posnNextToCorner(cell.getDiagonalPos(), cell.getRowPos())) {
-        noCorners.add(cell);
+  /**
+   * every one of the valid moves.
+   * @param moves the valid moves of the current player.
+   * @return the numbers of all the moves.
+   */
+  BitSet getAllMoves(EvaluatedMoves moves) {
+    BitSet all = new BitSet(moves.size());
+    all.set(0, moves.size());
+    return all;
+  }
+
+  /**
+   * the valid moves that are not next to a corner of the board.
+   * @param model the reversi game model.
+   * @param moves the valid moves of the current player.
+   * @return the numbers of the moves not next to a corner.
+   */
+  BitSet getNoCorners(ReadOnlyReversiModel model, EvaluatedMoves moves) {
+    BitSet noCorners = new BitSet(moves.size());
+    for (int move = 0; move < moves.size(); move++) {
+      if (!model.posnNextToCorner(moves.getDiagonalPos(move), moves.getRowPos(move))) {
+        noCorners.set(move);
       }
     }
     return noCorners;
   }
 
-
-  ArrayList<Cell> getCorners(ReadOnlyReversiModel model, ArrayList<Cell> valids) {
-    ArrayList<Cell> corners = new ArrayList<>();
-    for (Cell cell : valids) {
-      if (model.posnInCorner(cell.getDiagonalPos(), cell.getRowPos())) {
-        corners.add(cell);
+  /**
+   * the valid moves that are in a corner of the board.
+   * @param model the reversi game model.
+   * @param moves the valid moves of the current player.
+   * @return the numbers of the moves in a corner.
+   */
+  BitSet getCorners(ReadOnlyReversiModel model, EvaluatedMoves moves) {
+    BitSet corners = new BitSet(moves.size());
+    for (int move = 0; move < moves.size(); move++) {
+      if (model.posnInCorner(moves.getDiagonalPos(move), moves.getRowPos(move))) {
+        corners.set(move);
       }
     }
     return corners;
   }
 
+
+  /**
+   * moves the given move to the front of the moves at the top of a search, keeping the order
+   * of the others.
+   * @param moves the moves at the top of the search.
+   * @param move the move to search first, or null to leave the moves as they are.
+   */
+  void moveToFront(Coord[] moves, Coord move) {
+    for (int i = 0; i < moves.length; i++) {
+      if (moves[i].equals(move)) {
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+
+  /**
+   * sorts the moves from the highest score to the lowest, keeping moves with the same score in
+   * the order they were in. the scores are sorted along with the moves.
+   * @param moves the moves at the top of a search.
+   * @param scores the score of each move in the previous search.
+   */
+  void orderMoves(Coord[] moves, int[] scores) {
+    for (int i = 1; i < moves.length; i++) {
+      Coord move = moves[i];
+      int score = scores[i];
+      int j = i - 1;
+      while (j >= 0 && scores[j] < score) {
+        moves[j + 1] = moves[j];
+        scores[j + 1] = scores[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      scores[j + 1] = score;
+    }
+  }
+
 }
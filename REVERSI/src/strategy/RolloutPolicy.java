@@ -0,0 +1,13 @@
+package strategy;
+
+/**
+ * The ways a Monte Carlo tree search can pick moves when it plays a game out to the end.
+ */
+public enum RolloutPolicy {
+
+  //picks any valid move, each as likely as the others
+  RANDOM,
+  //picks the valid move that gains the most pieces, like the CaptureMostPieces strategy
+  CAPTURE_MOST_PIECES
+
+}
@@ -18,4 +18,12 @@ public interface Strategy {
    */
   Coord chooseMove(ReadOnlyReversiModel model, Player player);
 
+  /**
+   * lets go of the threads a strategy searches on, once it will not be asked for another move.
+   * does nothing for a strategy that does not have any.
+   */
+  default void close() {
+    //most strategies pick their moves on the thread that asks for them
+  }
+
 }
@@ -0,0 +1,207 @@
+package strategy;
+
+/**
+ * A fixed-size table of positions that have already been searched, looked up by the position key
+ * of a model (see ReadOnlyReversiModel.getPositionKey). Each entry keeps the depth a position was
+ * searched to, its score, whether that score is exact or only a bound, and the best move found.
+ * A table can be shared between search strategies, including ones searching at the same time.
+ * When two positions fall in the same slot, the one searched deeper is kept, unless the one
+ * already there is left over from an earlier search.
+ */
+public final class TranspositionTable {
+
+  //the score stored is the exact score of the position
+  public static final int EXACT = 0;
+  //the score stored is at least the score of the position (the search failed low)
+  public static final int UPPER_BOUND = 1;
+  //the score stored is at most the score of the position (the search failed high)
+  public static final int LOWER_BOUND = 2;
+  //the depth stored for a position that was searched all the way to the end of the game
+  public static final int SOLVED = 127;
+
+  //the layout of the data of an entry, from the lowest bit:
+  //32 bits of score, 8 bits of depth, 2 bits of bound, 1 bit set if there is a move,
+  //8 bits each of the move's diagonal and row positions, 4 bits of search generation, and a bit
+  //that is always set so that no entry is 0.
+  private static final int DEPTH_SHIFT = 32;
+  private static final int BOUND_SHIFT = 40;
+  private static final int HAS_MOVE_SHIFT = 42;
+  private static final int DIAGONAL_SHIFT = 43;
+  private static final int ROW_SHIFT = 51;
+  private static final int GENERATION_SHIFT = 59;
+  private static final int GENERATIONS = 16;
+  private static final long IN_USE = 1L << 63;
+  //the amount added to a move position so that negative (hexagon) positions fit in 8 bits
+  private static final int POSITION_OFFSET = 128;
+
+  //the key of the position in each slot, xor-ed with its data so that a slot half written by
+  //another thread is never mistaken for a real entry
+  private final long[] keys;
+  private final long[] data;
+  private final int mask;
+  private volatile int generation;
+
+
+  /**
+   * creates an empty transposition table.
+   * @param size the number of entries in the table, rounded up to a power of two.
+   * @throws IllegalArgumentException if the size is not positive or too big.
+   */
+  public TranspositionTable(int size) {
+    if (size <= 0 || size > (1 << 30)) {
+      throw new IllegalArgumentException("invalid table size");
+    }
+    int slots = Integer.highestOneBit(size);
+    if (slots < size) {
+      slots <<= 1;
+    }
+    this.keys = new long[slots];
+    this.data = new long[slots];
+    this.mask = slots - 1;
+    this.generation = 0;
+  }
+
+
+  /**
+   * the number of entries the table can hold.
+   * @return the size of the table.
+   */
+  public int size() {
+    return this.keys.length;
+  }
+
+
+  /**
+   * marks the start of a new search, so that the entries of earlier searches are replaced first.
+   * the entries of earlier searches can still be found.
+   */
+  public void newSearch() {
+    this.generation = (this.generation + 1) % GENERATIONS;
+  }
+
+
+  /**
+   * removes every entry from the table.
+   */
+  public void clear() {
+    for (int i = 0; i < this.keys.length; i++) {
+      this.keys[i] = 0;
+      this.data[i] = 0;
+    }
+  }
+
+
+  /**
+   * finds the data stored for the given position.
+   * @param key the position key of the position.
+   * @return the data of the entry, to be read with the static getters, or 0 if the position is
+   *     not in the table.
+   */
+  public long probe(long key) {
+    int slot = (int) key & this.mask;
+    long entry = this.data[slot];
+    if (entry != 0 && (this.keys[slot] ^ entry) == key) {
+      return entry;
+    }
+    return 0;
+  }
+
+
+  /**
+   * stores the result of searching a position, unless the slot holds a position of the current
+   * search that was searched deeper.
+   * @param key the position key of the position.
+   * @param depth the number of moves the position was searched ahead, or SOLVED.
+   * @param score the score of the position.
+   * @param bound EXACT, UPPER_BOUND, or LOWER_BOUND.
+   * @param move the best move found, or null if there is none.
+   * @throws IllegalArgumentException if the depth or the bound is out of range.
+   */
+  public void store(long key, int depth, int score, int bound, Coord move) {
+    if (depth < 0 || depth > SOLVED) {
+      throw new IllegalArgumentException("invalid depth");
+    }
+    if (bound < EXACT || bound > LOWER_BOUND) {
+      throw new IllegalArgumentException("invalid bound");
+    }
+    int slot = (int) key & this.mask;
+    long old = this.data[slot];
+    boolean samePosition = (this.keys[slot] ^ old) == key;
+    if (old != 0 && !samePosition && getGeneration(old) == this.generation
+        && getDepth(old) > depth) {
+      return;
+    }
+    long entry = (score & 0xFFFFFFFFL)
+        | ((long) depth << DEPTH_SHIFT)
+        | ((long) bound << BOUND_SHIFT)
+        | ((long) this.generation << GENERATION_SHIFT)
+        | IN_USE;
+    if (move == null && samePosition) {
+      //keeps the best move of an earlier search of the same position
+      entry |= old & (0xFFFFL << DIAGONAL_SHIFT | 1L << HAS_MOVE_SHIFT);
+    }
+    else if (move != null) {
+      entry |= 1L << HAS_MOVE_SHIFT
+          | (long) ((move.getDiagonalPos() + POSITION_OFFSET) & 0xFF) << DIAGONAL_SHIFT
+          | (long) ((move.getRowPos() + POSITION_OFFSET) & 0xFF) << ROW_SHIFT;
+    }
+    this.data[slot] = entry;
+    this.keys[slot] = key ^ entry;
+  }
+
+
+
+
+
+  //GETTERS FOR THE DATA OF AN ENTRY:
+  /**
+   * the score stored in an entry.
+   * @param entry the data returned by probe.
+   * @return the score of the position.
+   */
+  public static int getScore(long entry) {
+    return (int) entry;
+  }
+
+  /**
+   * the depth stored in an entry.
+   * @param entry the data returned by probe.
+   * @return the number of moves the position was searched ahead, or SOLVED.
+   */
+  public static int getDepth(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * the bound type stored in an entry.
+   * @param entry the data returned by probe.
+   * @return EXACT, UPPER_BOUND, or LOWER_BOUND.
+   */
+  public static int getBound(long entry) {
+    return (int) (entry >>> BOUND_SHIFT) & 0x3;
+  }
+
+  /**
+   * the best move stored in an entry.
+   * @param entry the data returned by probe.
+   * @return the coordinate of the best move, or null if no move was stored.
+   */
+  public static Coord getMove(long entry) {
+    if (((entry >>> HAS_MOVE_SHIFT) & 1) == 0) {
+      return null;
+    }
+    int diagonalPos = (int) ((entry >>> DIAGONAL_SHIFT) & 0xFF) - POSITION_OFFSET;
+    int rowPos = (int) ((entry >>> ROW_SHIFT) & 0xFF) - POSITION_OFFSET;
+    return new Coord(diagonalPos, rowPos);
+  }
+
+  /**
+   * the search generation an entry was stored in.
+   * @param entry the data returned by probe.
+   * @return the generation of the entry.
+   */
+  private static int getGeneration(long entry) {
+    return (int) (entry >>> GENERATION_SHIFT) & (GENERATIONS - 1);
+  }
+
+}
@@ -40,4 +40,13 @@ public class TryTwo extends ReversiStrategy {
     }
   }
 
+  /**
+   * closes both strategies.
+   */
+  @Override
+  public void close() {
+    this.first.close();
+    this.second.close();
+  }
+
 }
@@ -0,0 +1,140 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import model.PlayerEnum;
+import model.ReversiModel;
+import strategy.Coord;
+import strategy.Strategy;
+
+
+
+/**
+ * A match of many games of reversi between two strategies, played without a view or a controller.
+ * The games are played at the same time on a pool of threads. Every game gets its own model and
+ * its own strategies from the given factories, so strategies that remember things between moves
+ * are never shared between games. The two strategies take turns being the first player (X): the
+ * first strategy is X in the first game, the second strategy is X in the second game, and so on.
+ */
+public final class Tournament {
+
+  private final Supplier<ReversiModel> models;
+  private final int sideLength;
+  private final Supplier<Strategy> first;
+  private final Supplier<Strategy> second;
+  private final int threads;
+
+
+  /**
+   * creates a tournament between two strategies.
+   * @param models makes a new, unstarted model for each game.
+   * @param sideLength the side length of the board of each game.
+   * @param first makes the first strategy for each game.
+   * @param second makes the second strategy for each game.
+   * @param threads the number of games played at the same time.
+   * @throws IllegalArgumentException if any of the factories is null.
+   * @throws IllegalArgumentException if the side length or the number of threads is not positive.
+   */
+  public Tournament(Supplier<ReversiModel> models, int sideLength, Supplier<Strategy> first,
+                    Supplier<Strategy> second, int threads) {
+    if (models == null || first == null || second == null) {
+      throw new IllegalArgumentException("arguments cannot be null");
+    }
+    if (sideLength <= 0) {
+      throw new IllegalArgumentException("side length must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("thread count must be positive");
+    }
+    this.models = models;
+    this.sideLength = sideLength;
+    this.first = first;
+    this.second = second;
+    this.threads = threads;
+  }
+
+
+  /**
+   * plays the given number of games and collects their results.
+   * @param games the number of games to play.
+   * @return the results of the games, from the side of the first strategy.
+   * @throws IllegalArgumentException if the number of games is not positive.
+   * @throws IllegalStateException if a strategy picks a move that is not valid.
+   */
+  public TournamentResult play(int games) {
+    if (games <= 0) {
+      throw new IllegalArgumentException("number of games must be positive");
+    }
+    long start = System.nanoTime();
+    int wins = 0;
+    int losses = 0;
+    int draws = 0;
+    long differential = 0;
+    ForkJoinPool pool = new ForkJoinPool(this.threads);
+    try {
+      List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+      for (int i = 0; i < games; i++) {
+        boolean firstIsX = (i % 2 == 0);
+        tasks.add(pool.submit(() -> this.playGame(firstIsX)));
+      }
+      for (ForkJoinTask<Integer> task : tasks) {
+        int difference = task.join();
+        differential += difference;
+        if (difference > 0) {
+          wins++;
+        }
+        else if (difference < 0) {
+          losses++;
+        }
+        else {
+          draws++;
+        }
+      }
+    }
+    finally {
+      pool.shutdownNow();
+    }
+    return new TournamentResult(wins, losses, draws, differential, System.nanoTime() - start);
+  }
+
+
+  /**
+   * plays one game between new copies of the two strategies, to the end, and closes them.
+   * note: each game makes its own strategies, so a strategy with its own threads has to be
+   *     closed after its game or every game would leave its threads behind.
+   * @param firstIsX true if the first strategy moves first.
+   * @return the number of pieces the first strategy ended with, minus the number of pieces the
+   *     second strategy ended with.
+   * @throws IllegalStateException if a strategy picks a move that is not valid.
+   */
+  int playGame(boolean firstIsX) {
+    ReversiModel model = this.models.get();
+    Strategy playerX = firstIsX ? this.first.get() : this.second.get();
+    Strategy playerO = firstIsX ? this.second.get() : this.first.get();
+    try {
+      model.startGame(this.sideLength);
+      while (!model.isGameOver()) {
+        PlayerEnum turn = model.getPlayerTurn().toString().equals(PlayerEnum.X.toString())
+            ? PlayerEnum.X : PlayerEnum.O;
+        Strategy strategy = (turn == PlayerEnum.X) ? playerX : playerO;
+        Coord move = strategy.chooseMove(model, turn);
+        if (move == null) {
+          model.applyPass();
+        }
+        else {
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+    }
+    finally {
+      playerX.close();
+      playerO.close();
+    }
+    int difference = model.getPlayerScore(PlayerEnum.X) - model.getPlayerScore(PlayerEnum.O);
+    return firstIsX ? difference : -difference;
+  }
+
+}
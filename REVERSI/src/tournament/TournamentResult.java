@@ -0,0 +1,115 @@
+package tournament;
+
+/**
+ * The results of a tournament between two strategies, from the side of the first strategy.
+ */
+public final class TournamentResult {
+
+  private final int wins;
+  private final int losses;
+  private final int draws;
+  //the pieces of the first strategy minus the pieces of the second, added up over every game
+  private final long differential;
+  private final long elapsedNanos;
+
+
+  /**
+   * creates the results of a tournament.
+   * @param wins the number of games the first strategy won.
+   * @param losses the number of games the first strategy lost.
+   * @param draws the number of games that were tied.
+   * @param differential the total, over every game, of the first strategy's pieces minus the
+   *     second strategy's pieces at the end of the game.
+   * @param elapsedNanos the wall-clock time the tournament took, in nanoseconds.
+   * @throws IllegalArgumentException if a count or the time is negative.
+   */
+  public TournamentResult(int wins, int losses, int draws, long differential,
+                          long elapsedNanos) {
+    if (wins < 0 || losses < 0 || draws < 0 || elapsedNanos < 0) {
+      throw new IllegalArgumentException("results cannot be negative");
+    }
+    this.wins = wins;
+    this.losses = losses;
+    this.draws = draws;
+    this.differential = differential;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+
+  /**
+   * the number of games played.
+   * @return the number of games.
+   */
+  public int getGames() {
+    return this.wins + this.losses + this.draws;
+  }
+
+  /**
+   * the number of games the first strategy won.
+   * @return the number of wins.
+   */
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+   * the number of games the first strategy lost.
+   * @return the number of losses.
+   */
+  public int getLosses() {
+    return this.losses;
+  }
+
+  /**
+   * the number of games that ended in a tie.
+   * @return the number of draws.
+   */
+  public int getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * the average number of pieces the first strategy finished a game ahead by (negative if it
+   * finished behind).
+   * @return the average disc differential of a game.
+   */
+  public double getAverageDiscDifferential() {
+    if (this.getGames() == 0) {
+      return 0;
+    }
+    return (double) this.differential / this.getGames();
+  }
+
+  /**
+   * the wall-clock time the tournament took.
+   * @return the time, in milliseconds.
+   */
+  public double getElapsedMillis() {
+    return this.elapsedNanos / 1e6;
+  }
+
+  /**
+   * the number of games finished each second.
+   * @return games a second.
+   */
+  public double getGamesPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return this.getGames() / (this.elapsedNanos / 1e9);
+  }
+
+
+  /**
+   * a summary of the results, for printing.
+   * @return the wins, losses, and draws, the average disc differential, and the games a second.
+   */
+  @Override
+  public String toString() {
+    return String.format("games: %d%nwins: %d, losses: %d, draws: %d%n"
+            + "average disc differential: %+.2f%ngames per second: %.2f",
+        this.getGames(), this.wins, this.losses, this.draws,
+        this.getAverageDiscDifferential(), this.getGamesPerSecond());
+  }
+
+}
@@ -1,8 +1,7 @@
 package view;
 
 
-import java.util.ArrayList;
-import model.Cell;
+import model.BoardView;
 import model.ReversiModel;
 
 /**
@@ -23,20 +22,21 @@ public class ReversiTextualView implements ReversiView {
   @Override
   public String toString() {
     String printGameBoard = "";
-    ArrayList<ArrayList<Cell>> gameBoard = model.getGameBoard();
-    for (int i = 0; i < gameBoard.size(); i++) {
+    BoardView gameBoard = model.getBoardView();
+    for (int i = 0; i < gameBoard.getRowCount(); i++) {
       String lineBase = "";
 
-      int currentRowLength = gameBoard.get(i).size();
-      int halfwayRowSize = gameBoard.get((gameBoard.size() - 1) / 2).size();
+      int currentRowLength = gameBoard.getRowLength(i);
+      int halfwayRowSize = gameBoard.getRowLength((gameBoard.getRowCount() - 1) / 2);
       int extraSpaces = halfwayRowSize - currentRowLength;
 
       for (int j = 0; j < extraSpaces; j++) {
         lineBase = lineBase + " ";
       }
 
-      for (int j = 0; j < gameBoard.get(i).size(); j++) {
-        lineBase = lineBase + gameBoard.get(i).get(j) + " "; // replace with toString()
+      int rowStart = gameBoard.getRowStart(i);
+      for (int j = 0; j < currentRowLength; j++) {
+        lineBase = lineBase + gameBoard.getState(rowStart + j) + " ";
       }
 
       // Add this new line to the board and enter to new line.
@@ -4,13 +4,16 @@ import controller.ViewFeatures;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import javax.swing.JPanel;
+import model.BoardView;
 import model.Cell;
+import model.ModelChange;
 import model.ReadOnlyReversiModel;
 
 
@@ -24,6 +27,10 @@ public abstract class AbstractReversiPanel extends JPanel implements PanelView {
   protected ReadOnlyReversiModel model;
   protected final List<ViewFeatures> featuresListener;
   protected boolean hint;
+  //the size of the panel and the first cell of the board that the cell shapes were last laid
+  //out for, so they are only laid out again when the panel is resized or a new game starts
+  private Dimension layoutSize;
+  private Cell layoutCell;
 
 
   /**
@@ -82,6 +89,82 @@ public abstract class AbstractReversiPanel extends JPanel implements PanelView {
   public abstract void deselectAll();
 
 
+  /**
+   * repaints only the cells that a change to the model touched: the placed piece and the pieces
+   * it turned over. a pass changes no cells, and a new game is repainted by the frame.
+   * @param change the change made to the model.
+   */
+  @Override
+  public void repaintCells(ModelChange change) {
+    if (change.getKind() != ModelChange.Kind.MOVE) {
+      return;
+    }
+    this.repaintCell(model.getCellAtPosn(change.getDiagonalPos(), change.getRowPos()));
+    for (int i = 0; i < change.getFlipCount(); i++) {
+      this.repaintCell(model.getCellAtPosn(change.getFlippedDiagonalPos(i),
+          change.getFlippedRowPos(i)));
+    }
+  }
+
+
+  /**
+   * repaints the part of the panel that shows the given cell, or the whole panel if the cells
+   * have not been laid out yet.
+   * @param cell the cell of the game board that changed.
+   */
+  protected void repaintCell(Cell cell) {
+    Rectangle bounds = this.getCellBounds(cell);
+    if (bounds == null) {
+      repaint();
+    }
+    else {
+      repaint(bounds);
+    }
+  }
+
+
+  /**
+   * the part of the panel that shows the given cell, including the hint drawn on it.
+   * @param cell a cell of the game board.
+   * @return the rectangle around the drawn cell, or null if the cells have not been laid out.
+   */
+  protected abstract Rectangle getCellBounds(Cell cell);
+
+
+  /**
+   * adds the area of the hint number drawn at the given point, when hints are shown.
+   * @param bounds the bounds of the cell the hint is drawn on.
+   * @param x the x coordinate the hint is drawn at.
+   * @param y the y coordinate the hint is drawn at.
+   * @return the bounds of the cell, including its hint.
+   */
+  protected Rectangle addHintBounds(Rectangle bounds, int x, int y) {
+    if (!hint) {
+      return bounds;
+    }
+    //room for a two digit number in the hint font, above the point it is drawn at
+    return bounds.union(new Rectangle(x, y - 20, 40, 26));
+  }
+
+
+  /**
+   * determines if the cell shapes must be laid out again before painting, because the panel has
+   * been resized or a new game (with new cells) has started since they were last laid out.
+   * @return true if the shapes must be laid out again.
+   */
+  protected boolean layoutChanged() {
+    Dimension size = this.getSize();
+    BoardView board = model.getBoardView();
+    Cell first = model.getCellAtPosn(board.getDiagonalPos(0), board.getRowPos(0));
+    if (size.equals(this.layoutSize) && first == this.layoutCell) {
+      return false;
+    }
+    this.layoutSize = size;
+    this.layoutCell = first;
+    return true;
+  }
+
+
 
   /**
    * Is this click outside the board? check.
@@ -117,13 +200,12 @@ public abstract class AbstractReversiPanel extends JPanel implements PanelView {
    * @return the HexagonCell that is selected, or null if there is none.
    */
   protected Cell getSelected() {
-    ArrayList<ArrayList<Cell>> board = model.getGameBoard();
+    BoardView board = model.getBoardView();
     Cell selected = null;
-    for (ArrayList<Cell> list : board) {
-      for (Cell cell : list) {
-        if (cell.selected()) {
-          selected = cell;
-        }
+    for (int index = 0; index < board.size(); index++) {
+      Cell cell = model.getCellAtPosn(board.getDiagonalPos(index), board.getRowPos(index));
+      if (cell.selected()) {
+        selected = cell;
       }
     }
     return selected;
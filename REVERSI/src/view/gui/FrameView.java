@@ -2,6 +2,7 @@ package view.gui;
 
 
 import controller.ViewFeatures;
+import model.ModelChange;
 
 /**
  * An interface that represents the Frame to the view of a reversi game.
@@ -21,6 +22,13 @@ public interface FrameView {
    */
   void refresh();
 
+  /**
+   * updates the view after the given change to the model, by repainting only the cells that
+   * the change touched.
+   * @param change the change made to the model.
+   */
+  void refresh(ModelChange change);
+
   /**
    * Adds a message to the view.
    * @param message the written message to be added.
@@ -5,6 +5,7 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
+import java.awt.Rectangle;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Path2D;
 
@@ -17,8 +18,6 @@ public class Hexagon extends Path2D.Double {
   private final int centerX;
   //the pixel y-coordinate of a cell (where it is placed in the panel)
   private final int centerY;
-  //if the hexagon cell is clicked/highlighted
-  private boolean isClicked;
 
 
   /**
@@ -29,7 +28,6 @@ public class Hexagon extends Path2D.Double {
     this.hexCell = hexCell;
     this.centerX = centerX;
     this.centerY = centerY;
-    this.isClicked = this.hexCell.selected();
   }
 
   /**
@@ -74,7 +72,7 @@ public class Hexagon extends Path2D.Double {
    * @param g2d the graphics that the hexagon is drawn on (passed into drawHex).
    */
   private void setCellColor(Graphics2D g2d) {
-    if (this.isClicked) {
+    if (this.isClicked()) {
       g2d.setColor(Color.CYAN);
     }
     else {
@@ -129,7 +127,23 @@ public class Hexagon extends Path2D.Double {
   }
 
   public boolean isClicked() {
-    return this.isClicked;
+    //the hexagon is kept between paints, so it always asks its cell
+    return this.hexCell.selected();
+  }
+
+
+  /**
+   * the part of the panel that the hexagon and its outline cover, used to repaint only this
+   * hexagon when its cell changes.
+   * @param hexSideLength the side length of the hexagon.
+   * @return the smallest rectangle around the drawn hexagon.
+   */
+  public Rectangle getRepaintBounds(double hexSideLength) {
+    //half the width of the outline, plus a pixel lost when the vertices are rounded
+    int margin = 3;
+    int halfWidth = (int) Math.ceil(hexSideLength * Math.sqrt(3) / 2) + margin;
+    int halfHeight = (int) Math.ceil(hexSideLength) + margin;
+    return new Rectangle(centerX - halfWidth, centerY - halfHeight, halfWidth * 2, halfHeight * 2);
   }
 
 }
@@ -3,6 +3,7 @@ package view.gui;
 import controller.ViewFeatures;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import model.ModelChange;
 import model.ReadOnlyReversiModel;
 
 
@@ -38,6 +39,12 @@ public interface PanelView {
    */
   void deselectAll();
 
+  /**
+   * Repaints only the cells of the game board that the given change to the model touched.
+   * @param change the change made to the model.
+   */
+  void repaintCells(ModelChange change);
+
   ReadOnlyReversiModel getModel();
 
 
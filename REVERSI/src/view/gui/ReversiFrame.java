@@ -3,6 +3,8 @@ package view.gui;
 import controller.ViewFeatures;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import model.ModelChange;
 import model.ReadOnlyReversiModel;
 import view.ReversiView;
 
@@ -13,6 +15,8 @@ import view.ReversiView;
 public class ReversiFrame extends JFrame implements FrameView, ReversiView {
   //the panel that goes inside the frame in a reversi game
   private final AbstractReversiPanel panel;
+  //true if the panel will be repainted soon, so more refreshes before then need no repaint
+  private boolean refreshPending;
 
 
   /**
@@ -62,10 +66,35 @@ public class ReversiFrame extends JFrame implements FrameView, ReversiView {
 
   /**
    * updates the view to the current state of the model by repainting the panel.
+   * all the refreshes asked for before the event thread gets to the repaint share one repaint,
+   * so a move is painted once however many times it asks for a refresh.
    */
   @Override
   public void refresh() {
-    this.panel.repaint();
+    if (this.refreshPending) {
+      return;
+    }
+    this.refreshPending = true;
+    SwingUtilities.invokeLater(() -> {
+      this.refreshPending = false;
+      this.panel.repaint();
+    });
+  }
+
+
+  /**
+   * updates the view after the given change to the model. a move repaints only the placed piece
+   * and the pieces it turned over, and a new game repaints the whole panel.
+   * @param change the change made to the model.
+   */
+  @Override
+  public void refresh(ModelChange change) {
+    if (change.getKind() == ModelChange.Kind.START) {
+      this.refresh();
+    }
+    else {
+      this.panel.repaintCells(change);
+    }
   }
 
 
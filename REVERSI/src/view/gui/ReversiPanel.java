@@ -8,7 +8,10 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import javax.swing.event.MouseInputAdapter;
+import model.BoardView;
 import model.Cell;
 import model.ReadOnlyReversiModel;
 
@@ -20,6 +23,8 @@ public class ReversiPanel extends AbstractReversiPanel {
 
   //the set of hexagon images on the panel
   protected ArrayList<Hexagon> hexagons;
+  //the hexagon of each cell, to find the part of the panel to repaint when a cell changes
+  private final Map<Cell, Hexagon> hexagonsByCell;
 
 
 
@@ -31,6 +36,7 @@ public class ReversiPanel extends AbstractReversiPanel {
   public ReversiPanel(ReadOnlyReversiModel model) {
     super(model);
     this.hexagons = new ArrayList<>();
+    this.hexagonsByCell = new IdentityHashMap<>();
 
     //add mouse listener
     MouseEventsListener listener = new MouseEventsListener();
@@ -51,11 +57,17 @@ public class ReversiPanel extends AbstractReversiPanel {
     Rectangle bounds = this.getBounds();
     double sideLength = this.getHexSideLength(bounds);
     Graphics2D g2d = (Graphics2D) graphics;
-    //resets the board every time paint is called
-    this.hexagons = new ArrayList<>();
-    this.createHexagons(bounds);
-    //draws the hexagons onto the panel
+    //lays the board out again only when the panel is resized or a new game starts
+    if (this.layoutChanged()) {
+      this.hexagons = new ArrayList<>();
+      this.createHexagons(bounds);
+    }
+    //draws the hexagons in the part of the panel being repainted onto the panel
+    Rectangle clip = graphics.getClipBounds();
     for (Hexagon hex : hexagons) {
+      if (clip != null && !clip.intersects(hex.getRepaintBounds(sideLength))) {
+        continue;
+      }
       hex.drawHex(g2d, sideLength);
       if (hint && hex.isClicked() && (hex.getHexCell().isEmpty())) {
         addHint(hex, g2d);
@@ -93,9 +105,13 @@ public class ReversiPanel extends AbstractReversiPanel {
     double sideLength = this.getHexSideLength(bounds);
     double hexWidth = (Math.sqrt(3) * sideLength);
 
-    for (ArrayList<Cell> list : model.getGameBoard()) {
-      for (int i = 0; i < list.size(); i ++) {
-        Cell cell = list.get(i);
+    this.hexagonsByCell.clear();
+    BoardView board = model.getBoardView();
+    for (int row = 0; row < board.getRowCount(); row++) {
+      int rowStart = board.getRowStart(row);
+      for (int i = 0; i < board.getRowLength(row); i ++) {
+        Cell cell = model.getCellAtPosn(board.getDiagonalPos(rowStart + i),
+            board.getRowPos(rowStart + i));
         double middleXFrame = bounds.getWidth() / 2;
         //the number of half-widths the starting hexagon center should be from the center
         int numSpacesShift = ((model.getBoardSideLength() - 1) * 2) - (Math.abs(cell.getRowPos()));
@@ -112,6 +128,7 @@ public class ReversiPanel extends AbstractReversiPanel {
 
         Hexagon hexagon = new Hexagon(cell, x, y);
         hexagons.add(hexagon);
+        this.hexagonsByCell.put(cell, hexagon);
       }
     }
   }
@@ -141,31 +158,50 @@ public class ReversiPanel extends AbstractReversiPanel {
 
 
   /**
-   * Deselects all hexagons on the board so that they all return grey.
+   * Deselects all hexagons on the board so that they all return grey, and repaints only them.
    */
   @Override
   public void deselectAll() {
     for (Hexagon hex : hexagons) {
       if (hex.isClicked()) {
         hex.selectCell();
+        this.repaintCell(hex.getHexCell());
       }
     }
   }
 
 
   /**
-   * deselects any hexagons that is not the one being selected.
+   * deselects any hexagons that is not the one being selected, and repaints only them.
    * @param selected the hexagon being selected.
    */
   protected void resetFlips(Hexagon selected) {
     for (Hexagon hex : hexagons) {
       if (!hex.equals(selected) && hex.isClicked()) {
         hex.selectCell();
+        this.repaintCell(hex.getHexCell());
       }
     }
   }
 
 
+  /**
+   * the part of the panel that shows the given cell, including the hint drawn on it.
+   * @param cell a cell of the game board.
+   * @return the rectangle around the drawn hexagon, or null if the hexagons have not been laid
+   *     out.
+   */
+  @Override
+  protected Rectangle getCellBounds(Cell cell) {
+    Hexagon hex = this.hexagonsByCell.get(cell);
+    if (hex == null) {
+      return null;
+    }
+    Rectangle bounds = hex.getRepaintBounds(this.getHexSideLength(this.getBounds()));
+    return this.addHintBounds(bounds, hex.getCenterX(), hex.getCenterY());
+  }
+
+
   /**
    * Is this click outside the board? check.
    * @param mouseX represents the X of click.
@@ -180,8 +216,8 @@ public class ReversiPanel extends AbstractReversiPanel {
       }
     }
     if (!insideBoard) {
+      //deselecting repaints the deselected hexagons
       deselectAll();
-      repaint();
     }
   }
 
@@ -251,7 +287,7 @@ public class ReversiPanel extends AbstractReversiPanel {
         if (isPointInCell(mouseX, mouseY, hex.getCenterX(), hex.getCenterY(), sideLength)) {
           resetFlips(hex);
           hex.selectCell();
-          repaint();
+          repaintCell(hex.getHexCell());
         }
       }
     }
@@ -5,7 +5,6 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.util.ArrayList;
 import model.Cell;
 
 
@@ -28,9 +27,7 @@ public class ReversiPanelDecorator extends ReversiPanel {
     double sideLength = this.getHexSideLength(bounds);
     Graphics2D g2d = (Graphics2D) graphics;
 
-    //resets the board every time paint is called
-    this.hexagons = new ArrayList<>();
-    this.createHexagons(bounds);
+    //the hexagons were laid out (if needed) when the panel painted them above
     //draws the hexagons onto the panel
     for (Hexagon hex : hexagons) {
       hex.drawHex(g2d, sideLength);
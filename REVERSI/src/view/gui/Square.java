@@ -4,6 +4,7 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
+import java.awt.Rectangle;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Path2D;
 import model.Cell;
@@ -19,8 +20,6 @@ public class Square extends Path2D.Double {
   private final int centerX;
   //the pixel y-coordinate of a cell (where it is placed in the panel)
   private final int centerY;
-  //if the square cell is clicked/highlighted
-  private boolean isClicked;
 
 
   /**
@@ -30,7 +29,6 @@ public class Square extends Path2D.Double {
     this.sqCell = sqCell;
     this.centerX = centerX;
     this.centerY = centerY;
-    this.isClicked = this.sqCell.selected();
   }
 
   /**
@@ -74,7 +72,7 @@ public class Square extends Path2D.Double {
    * @param g2d the graphics that the square is drawn on (passed into drawSquare).
    */
   private void setCellColor(Graphics2D g2d) {
-    if (this.isClicked) {
+    if (this.isClicked()) {
       g2d.setColor(Color.CYAN);
     }
     else {
@@ -128,7 +126,22 @@ public class Square extends Path2D.Double {
   }
 
   public boolean isClicked() {
-    return this.isClicked;
+    //the square is kept between paints, so it always asks its cell
+    return this.sqCell.selected();
+  }
+
+
+  /**
+   * the part of the panel that the square and its outline cover, used to repaint only this
+   * square when its cell changes.
+   * @param sqSideLength the side length of the square.
+   * @return the smallest rectangle around the drawn square.
+   */
+  public Rectangle getRepaintBounds(double sqSideLength) {
+    //half the width of the outline, plus a pixel lost when the vertices are rounded
+    int margin = 3;
+    int half = (int) Math.ceil(0.75 * sqSideLength * Math.sqrt(0.5)) + margin;
+    return new Rectangle(centerX - half, centerY - half, half * 2, half * 2);
   }
 
 
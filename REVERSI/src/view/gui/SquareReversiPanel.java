@@ -7,8 +7,11 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.event.MouseInputAdapter;
+import model.BoardView;
 import model.Cell;
 import model.ReadOnlyReversiModel;
 
@@ -20,6 +23,8 @@ public class SquareReversiPanel extends AbstractReversiPanel {
 
   //the set of square images on the panel
   private List<Square> squares;
+  //the square of each cell, to find the part of the panel to repaint when a cell changes
+  private final Map<Cell, Square> squaresByCell;
 
 
 
@@ -31,6 +36,7 @@ public class SquareReversiPanel extends AbstractReversiPanel {
   public SquareReversiPanel(ReadOnlyReversiModel model) {
     super(model);
     this.squares = new ArrayList<>();
+    this.squaresByCell = new IdentityHashMap<>();
 
     //add mouse listener
     MouseEventsListener listener = new MouseEventsListener();
@@ -50,11 +56,17 @@ public class SquareReversiPanel extends AbstractReversiPanel {
     Rectangle bounds = this.getBounds();
     double sideLength = this.getSquareSideLength(bounds);
 
-    //resets the board every time paint is called
-    this.squares = new ArrayList<>();
-    this.createSquares(bounds);
-    //draws the squares onto the panel
+    //lays the board out again only when the panel is resized or a new game starts
+    if (this.layoutChanged()) {
+      this.squares = new ArrayList<>();
+      this.createSquares(bounds);
+    }
+    //draws the squares in the part of the panel being repainted onto the panel
+    Rectangle clip = graphics.getClipBounds();
     for (Square sq : squares) {
+      if (clip != null && !clip.intersects(sq.getRepaintBounds(sideLength))) {
+        continue;
+      }
       sq.drawSquare(g2d, sideLength);
       if (hint && sq.isClicked() && (sq.getSquareCell().isEmpty())) {
         addHint(sq, g2d);
@@ -98,9 +110,13 @@ public class SquareReversiPanel extends AbstractReversiPanel {
     double sideLength = this.getSquareSideLength(bounds);
     int boardSide = model.getBoardSideLength();
 
-    for (ArrayList<Cell> list : model.getGameBoard()) {
-      for (int i = 0; i < list.size(); i ++) {
-        Cell cell = list.get(i);
+    this.squaresByCell.clear();
+    BoardView board = model.getBoardView();
+    for (int row = 0; row < board.getRowCount(); row++) {
+      int rowStart = board.getRowStart(row);
+      for (int i = 0; i < board.getRowLength(row); i ++) {
+        Cell cell = model.getCellAtPosn(board.getDiagonalPos(rowStart + i),
+            board.getRowPos(rowStart + i));
         double middleXFrame = bounds.getWidth() / 2;
         double halfSideLength = sideLength / 2;
         int halfBoard = boardSide / 2;
@@ -113,6 +129,7 @@ public class SquareReversiPanel extends AbstractReversiPanel {
 
         Square square = new Square(cell, x, y);
         squares.add(square);
+        this.squaresByCell.put(cell, square);
       }
     }
   }
@@ -142,31 +159,50 @@ public class SquareReversiPanel extends AbstractReversiPanel {
 
 
   /**
-   * Deselects all squares on the board so that they all return grey.
+   * Deselects all squares on the board so that they all return grey, and repaints only them.
    */
   @Override
   public void deselectAll() {
     for (Square sq : squares) {
       if (sq.isClicked()) {
         sq.selectCell();
+        this.repaintCell(sq.getSquareCell());
       }
     }
   }
 
 
   /**
-   * deselects any cells that is not the one being selected.
+   * deselects any cells that is not the one being selected, and repaints only them.
    * @param selected the square being selected.
    */
   protected void resetFlips(Square selected) {
     for (Square sq : squares) {
       if (!sq.equals(selected) && sq.isClicked()) {
         sq.selectCell();
+        this.repaintCell(sq.getSquareCell());
       }
     }
   }
 
 
+  /**
+   * the part of the panel that shows the given cell, including the hint drawn on it.
+   * @param cell a cell of the game board.
+   * @return the rectangle around the drawn square, or null if the squares have not been laid
+   *     out.
+   */
+  @Override
+  protected Rectangle getCellBounds(Cell cell) {
+    Square sq = this.squaresByCell.get(cell);
+    if (sq == null) {
+      return null;
+    }
+    Rectangle bounds = sq.getRepaintBounds(this.getSquareSideLength(this.getBounds()));
+    return this.addHintBounds(bounds, sq.getCenterX(), sq.getCenterY());
+  }
+
+
   /**
    * Is this click outside the board? check.
    * @param mouseX represents the X of click.
@@ -181,8 +217,8 @@ public class SquareReversiPanel extends AbstractReversiPanel {
       }
     }
     if (!insideBoard) {
+      //deselecting repaints the deselected squares
       deselectAll();
-      repaint();
     }
   }
 
@@ -249,7 +285,7 @@ public class SquareReversiPanel extends AbstractReversiPanel {
         if (isPointInCell(mouseX, mouseY, sq.getCenterX(), sq.getCenterY(), sideLength)) {
           resetFlips(sq);
           sq.selectCell();
-          repaint();
+          repaintCell(sq.getSquareCell());
         }
       }
     }
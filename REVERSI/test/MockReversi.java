@@ -1,4 +1,7 @@
+import java.util.List;
 import model.BasicReversi;
+import model.Cell;
+import model.EvaluatedMoves;
 
 /**
  * A mock class of Basic Reversi created to test strategies. Consists of a String Builder
@@ -21,6 +24,24 @@ public class MockReversi extends BasicReversi {
     return super.checkValid(diagonalPos, rowPos);
   }
 
+  @Override
+  public List<Cell> getValidMoves() {
+    out.append("getting all the valid moves for the current player" + "\n");
+    return super.getValidMoves();
+  }
+
+  @Override
+  public EvaluatedMoves evaluateMoves() {
+    out.append("evaluating all the valid moves for the current player" + "\n");
+    EvaluatedMoves moves = super.evaluateMoves();
+    for (int move = 0; move < moves.size(); move++) {
+      out.append("the current player would gain " + moves.getFlipCount(move)
+          + " pieces by moving to the position (" + moves.getDiagonalPos(move) + ", "
+          + moves.getRowPos(move) + ")" + "\n");
+    }
+    return moves;
+  }
+
   @Override
   public int countPiecesGained(int diagonalPos, int rowPos) {
     out.append("checking the number of pieces the current player "
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.BasicReversi;
+import model.BitboardHexReversi;
+import model.Cell;
+import model.EvaluatedMoves;
+import model.PlayerEnum;
+import model.ReversiModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * Tests for a BitboardHexReversi model. Most tests play the same random game on a
+ * bitboard model and a BasicReversi model and check that both models always agree.
+ */
+public class TestBitboardHexModel {
+
+  //START GAME TESTS:
+
+  //tests that the initial pieces are placed in the same cells as in basic reversi
+  @Test
+  public void testStartGame1() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(4);
+    Assert.assertEquals("X", model.getCellAtPosn(0, -1).toString());
+    Assert.assertEquals("O", model.getCellAtPosn(1, -1).toString());
+    Assert.assertEquals("O", model.getCellAtPosn(-1, 0).toString());
+    Assert.assertEquals("X", model.getCellAtPosn(1, 0).toString());
+    Assert.assertEquals("X", model.getCellAtPosn(-1, 1).toString());
+    Assert.assertEquals("O", model.getCellAtPosn(0, 1).toString());
+    Assert.assertEquals(3, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(3, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(31, model.getPlayerScore(PlayerEnum.Empty));
+  }
+
+  //tests that an exception is thrown when the board is too small
+  @Test (expected = IllegalArgumentException.class)
+  public void testStartGame2() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(2);
+  }
+
+
+
+  //CHECK VALID TESTS:
+
+  //tests the valid moves of player X at the start of the game
+  @Test
+  public void testCheckValid1() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(4);
+    Assert.assertTrue(model.checkValid(1, -2));
+    Assert.assertTrue(model.checkValid(-2, 1));
+    Assert.assertFalse(model.checkValid(0, -1));
+    Assert.assertFalse(model.checkValid(0, 0));
+    Assert.assertFalse(model.checkValid(3, 0));
+    Assert.assertEquals(6, model.getValidMoves().size());
+  }
+
+  //tests that an exception is thrown for a position that is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testCheckValid2() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(4);
+    model.checkValid(3, 3);
+  }
+
+  //tests that pieces never wrap around from the end of one row to the start of the next, where
+  //the bits of the two cells are next to each other
+  @Test
+  public void testCheckValid3() {
+    ReversiModel model = new BitboardHexReversi();
+    ReversiModel basic = new BasicReversi();
+    model.startGame(3);
+    basic.startGame(3);
+    for (ArrayList<Cell> row : basic.getGameBoard()) {
+      for (Cell cell : row) {
+        Assert.assertEquals(basic.checkValid(cell.getDiagonalPos(), cell.getRowPos()),
+            model.checkValid(cell.getDiagonalPos(), cell.getRowPos()));
+      }
+    }
+  }
+
+
+
+  //PLAYER MOVE TESTS:
+
+  //tests that a move flips the sandwiched piece in both the masks and the cells
+  @Test
+  public void testPlayerMove1() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(4);
+    model.playerMove(1, -2, PlayerEnum.X);
+    Assert.assertEquals("X", model.getCellAtPosn(1, -2).toString());
+    Assert.assertEquals("X", model.getCellAtPosn(1, -1).toString());
+    Assert.assertEquals(5, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+  }
+
+  //tests that an invalid move throws an exception
+  @Test (expected = IllegalStateException.class)
+  public void testPlayerMove2() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(4);
+    model.playerMove(0, 0, PlayerEnum.X);
+  }
+
+
+
+  //TESTS AGAINST BASIC REVERSI:
+
+  //plays random games on boards that need one, two and three longs per mask, and checks both
+  //models agree at every turn
+  @Test
+  public void testMatchesBasicReversi() {
+    Random random = new Random(42);
+    for (int sideLength = 3; sideLength <= 7; sideLength++) {
+      for (int game = 0; game < 5; game++) {
+        this.playRandomGame(sideLength, random);
+      }
+    }
+  }
+
+  //applies the same random moves to both models, then undoes them all, checking both models
+  //agree at every step and end up back at the starting position
+  @Test
+  public void testUndoMatchesBasicReversi() {
+    Random random = new Random(11);
+    ReversiModel bitboard = new BitboardHexReversi();
+    ReversiModel basic = new BasicReversi();
+    bitboard.startGame(5);
+    basic.startGame(5);
+    int moves = 0;
+    while (!basic.isGameOver()) {
+      List<Cell> valids = basic.getValidMoves();
+      if (valids.isEmpty()) {
+        basic.applyPass();
+        bitboard.applyPass();
+      }
+      else {
+        Cell move = valids.get(random.nextInt(valids.size()));
+        basic.applyMove(move.getDiagonalPos(), move.getRowPos());
+        bitboard.applyMove(move.getDiagonalPos(), move.getRowPos());
+      }
+      moves++;
+      this.assertSameState(basic, bitboard);
+    }
+    for (int i = 0; i < moves; i++) {
+      basic.undoMove();
+      bitboard.undoMove();
+      this.assertSameState(basic, bitboard);
+    }
+    Assert.assertEquals(3, bitboard.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(3, bitboard.getPlayerScore(PlayerEnum.O));
+  }
+
+  //tests that a copy of the model is also a bitboard model in the same position
+  @Test
+  public void testCopy() {
+    ReversiModel model = new BitboardHexReversi();
+    model.startGame(5);
+    model.applyMove(1, -2);
+    ReversiModel copy = model.copy();
+    Assert.assertTrue(copy instanceof BitboardHexReversi);
+    this.assertSameState(model, copy);
+    Assert.assertEquals(model.getPositionKey(), copy.getPositionKey());
+  }
+
+
+  /**
+   * plays a game of random valid moves on both models, comparing them after every move.
+   * @param sideLength the side length of the boards.
+   * @param random the source of the random moves.
+   */
+  private void playRandomGame(int sideLength, Random random) {
+    ReversiModel bitboard = new BitboardHexReversi();
+    ReversiModel basic = new BasicReversi();
+    bitboard.startGame(sideLength);
+    basic.startGame(sideLength);
+    while (!basic.isGameOver()) {
+      this.assertSameState(basic, bitboard);
+      List<Cell> valids = basic.getValidMoves();
+      if (valids.isEmpty()) {
+        basic.playerPass(basic.getPlayerTurn());
+        bitboard.playerPass(bitboard.getPlayerTurn());
+      }
+      else {
+        Cell move = valids.get(random.nextInt(valids.size()));
+        basic.playerMove(move.getDiagonalPos(), move.getRowPos(), basic.getPlayerTurn());
+        bitboard.playerMove(move.getDiagonalPos(), move.getRowPos(), bitboard.getPlayerTurn());
+      }
+    }
+    this.assertSameState(basic, bitboard);
+    Assert.assertEquals(basic.getWinner(), bitboard.getWinner());
+  }
+
+
+  /**
+   * checks that every observable part of the two models is the same.
+   * @param expected the basic reversi model.
+   * @param actual the bitboard model.
+   */
+  private void assertSameState(ReversiModel expected, ReversiModel actual) {
+    Assert.assertEquals(expected.getPlayerTurn(), actual.getPlayerTurn());
+    Assert.assertEquals(expected.isGameOver(), actual.isGameOver());
+    Assert.assertEquals(expected.forcedPass(), actual.forcedPass());
+    for (PlayerEnum player : PlayerEnum.values()) {
+      Assert.assertEquals(expected.getPlayerScore(player), actual.getPlayerScore(player));
+    }
+    for (ArrayList<Cell> row : expected.getGameBoard()) {
+      for (Cell cell : row) {
+        int q = cell.getDiagonalPos();
+        int r = cell.getRowPos();
+        Assert.assertEquals(cell.toString(), actual.getCellAtPosn(q, r).toString());
+        Assert.assertEquals(expected.checkValid(q, r), actual.checkValid(q, r));
+        Assert.assertEquals(expected.countPiecesGained(q, r), actual.countPiecesGained(q, r));
+      }
+    }
+    Assert.assertEquals(expected.getValidMoves(), actual.getValidMoves());
+    EvaluatedMoves expectedMoves = expected.evaluateMoves();
+    EvaluatedMoves actualMoves = actual.evaluateMoves();
+    Assert.assertEquals(expectedMoves.size(), actualMoves.size());
+    for (int move = 0; move < expectedMoves.size(); move++) {
+      Assert.assertEquals(expectedMoves.getDiagonalPos(move), actualMoves.getDiagonalPos(move));
+      Assert.assertEquals(expectedMoves.getRowPos(move), actualMoves.getRowPos(move));
+      Assert.assertEquals(expectedMoves.getFlipCount(move), actualMoves.getFlipCount(move));
+    }
+  }
+
+}
@@ -0,0 +1,243 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.BitboardSquareReversi;
+import model.Cell;
+import model.EvaluatedMoves;
+import model.PlayerEnum;
+import model.ReversiModel;
+import model.SquareReversi;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * Tests for a BitboardSquareReversi model. Most tests play the same random game on a
+ * bitboard model and a SquareReversi model and check that both models always agree.
+ */
+public class TestBitboardSquareModel {
+
+  //START GAME TESTS:
+
+  //tests that the initial pieces are placed in the same cells as in square reversi
+  @Test
+  public void testStartGame1() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(8);
+    Assert.assertEquals("X", model.getCellAtPosn(3, 3).toString());
+    Assert.assertEquals("O", model.getCellAtPosn(4, 3).toString());
+    Assert.assertEquals("O", model.getCellAtPosn(3, 4).toString());
+    Assert.assertEquals("X", model.getCellAtPosn(4, 4).toString());
+    Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(60, model.getPlayerScore(PlayerEnum.Empty));
+  }
+
+  //tests that an exception is thrown when the board does not fit in a bitboard
+  @Test (expected = IllegalArgumentException.class)
+  public void testStartGame2() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(10);
+  }
+
+  //tests that an exception is thrown when the side length is odd
+  @Test (expected = IllegalArgumentException.class)
+  public void testStartGame3() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(5);
+  }
+
+
+
+  //CHECK VALID TESTS:
+
+  //tests the valid moves of player X at the start of the game
+  @Test
+  public void testCheckValid1() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(8);
+    Assert.assertTrue(model.checkValid(4, 2));
+    Assert.assertTrue(model.checkValid(5, 3));
+    Assert.assertTrue(model.checkValid(2, 4));
+    Assert.assertTrue(model.checkValid(3, 5));
+    Assert.assertFalse(model.checkValid(3, 2));
+    Assert.assertFalse(model.checkValid(3, 3));
+    Assert.assertFalse(model.checkValid(0, 0));
+  }
+
+  //tests that an exception is thrown for a position that is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testCheckValid2() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(8);
+    model.checkValid(8, 0);
+  }
+
+  //tests that pieces never wrap around from one edge of the board to the other
+  @Test
+  public void testCheckValid3() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(4);
+    Assert.assertFalse(model.checkValid(3, 0));
+    Assert.assertFalse(model.checkValid(0, 3));
+    Assert.assertTrue(model.checkValid(2, 0));
+  }
+
+
+
+  //PLAYER MOVE TESTS:
+
+  //tests that a move flips the sandwiched piece in both the masks and the cells
+  @Test
+  public void testPlayerMove1() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(8);
+    model.playerMove(4, 2, PlayerEnum.X);
+    Assert.assertEquals("X", model.getCellAtPosn(4, 2).toString());
+    Assert.assertEquals("X", model.getCellAtPosn(4, 3).toString());
+    Assert.assertEquals(4, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(1, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+  }
+
+  //tests that an invalid move throws an exception
+  @Test (expected = IllegalStateException.class)
+  public void testPlayerMove2() {
+    ReversiModel model = new BitboardSquareReversi();
+    model.startGame(8);
+    model.playerMove(0, 0, PlayerEnum.X);
+  }
+
+
+
+  //TESTS AGAINST SQUARE REVERSI:
+
+  //plays random games on every side length and checks both models agree at every turn
+  @Test
+  public void testMatchesSquareReversi() {
+    Random random = new Random(42);
+    for (int sideLength = 4; sideLength <= 8; sideLength += 2) {
+      for (int game = 0; game < 10; game++) {
+        this.playRandomGame(sideLength, random);
+      }
+    }
+  }
+
+  //tests that the winner of a finished game is the same in both models
+  @Test
+  public void testGetWinner() {
+    ReversiModel bitboard = new BitboardSquareReversi();
+    ReversiModel square = new SquareReversi();
+    bitboard.startGame(4);
+    square.startGame(4);
+    bitboard.playerMove(2, 0, PlayerEnum.X);
+    square.playerMove(2, 0, PlayerEnum.X);
+    bitboard.playerPass(PlayerEnum.O);
+    square.playerPass(PlayerEnum.O);
+    bitboard.playerPass(PlayerEnum.X);
+    square.playerPass(PlayerEnum.X);
+    Assert.assertTrue(bitboard.isGameOver());
+    Assert.assertEquals(square.getWinner(), bitboard.getWinner());
+  }
+
+  //applies the same random moves to both models, then undoes them all, checking both models
+  //agree at every step and end up back at the starting position
+  @Test
+  public void testUndoMatchesSquareReversi() {
+    Random random = new Random(11);
+    ReversiModel bitboard = new BitboardSquareReversi();
+    ReversiModel square = new SquareReversi();
+    bitboard.startGame(8);
+    square.startGame(8);
+    int moves = 0;
+    while (!square.isGameOver()) {
+      List<Cell> valids = square.getValidMoves();
+      if (valids.isEmpty()) {
+        square.applyPass();
+        bitboard.applyPass();
+      }
+      else {
+        Cell move = valids.get(random.nextInt(valids.size()));
+        square.applyMove(move.getDiagonalPos(), move.getRowPos());
+        bitboard.applyMove(move.getDiagonalPos(), move.getRowPos());
+      }
+      moves++;
+      this.assertSameState(square, bitboard);
+    }
+    for (int i = 0; i < moves; i++) {
+      square.undoMove();
+      bitboard.undoMove();
+      this.assertSameState(square, bitboard);
+    }
+    Assert.assertEquals(2, bitboard.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(2, bitboard.getPlayerScore(PlayerEnum.O));
+  }
+
+
+  /**
+   * plays a game of random valid moves on both models, comparing them after every move.
+   * @param sideLength the side length of the boards.
+   * @param random the source of the random moves.
+   */
+  private void playRandomGame(int sideLength, Random random) {
+    ReversiModel bitboard = new BitboardSquareReversi();
+    ReversiModel square = new SquareReversi();
+    bitboard.startGame(sideLength);
+    square.startGame(sideLength);
+    while (!square.isGameOver()) {
+      this.assertSameState(square, bitboard);
+      List<Cell> valids = new ArrayList<>();
+      for (ArrayList<Cell> row : square.getGameBoard()) {
+        for (Cell cell : row) {
+          if (square.checkValid(cell.getDiagonalPos(), cell.getRowPos())) {
+            valids.add(cell);
+          }
+        }
+      }
+      if (valids.isEmpty()) {
+        square.playerPass(square.getPlayerTurn());
+        bitboard.playerPass(bitboard.getPlayerTurn());
+      }
+      else {
+        Cell move = valids.get(random.nextInt(valids.size()));
+        square.playerMove(move.getDiagonalPos(), move.getRowPos(), square.getPlayerTurn());
+        bitboard.playerMove(move.getDiagonalPos(), move.getRowPos(), bitboard.getPlayerTurn());
+      }
+    }
+    this.assertSameState(square, bitboard);
+    Assert.assertEquals(square.getWinner(), bitboard.getWinner());
+  }
+
+
+  /**
+   * checks that every observable part of the two models is the same.
+   * @param expected the square reversi model.
+   * @param actual the bitboard model.
+   */
+  private void assertSameState(ReversiModel expected, ReversiModel actual) {
+    Assert.assertEquals(expected.getPlayerTurn(), actual.getPlayerTurn());
+    Assert.assertEquals(expected.isGameOver(), actual.isGameOver());
+    Assert.assertEquals(expected.forcedPass(), actual.forcedPass());
+    for (PlayerEnum player : PlayerEnum.values()) {
+      Assert.assertEquals(expected.getPlayerScore(player), actual.getPlayerScore(player));
+    }
+    int side = expected.getBoardSideLength();
+    for (int y = 0; y < side; y++) {
+      for (int x = 0; x < side; x++) {
+        Assert.assertEquals(expected.getCellAtPosn(x, y).toString(),
+            actual.getCellAtPosn(x, y).toString());
+        Assert.assertEquals(expected.checkValid(x, y), actual.checkValid(x, y));
+        Assert.assertEquals(expected.countPiecesGained(x, y), actual.countPiecesGained(x, y));
+      }
+    }
+    EvaluatedMoves expectedMoves = expected.evaluateMoves();
+    EvaluatedMoves actualMoves = actual.evaluateMoves();
+    Assert.assertEquals(expectedMoves.size(), actualMoves.size());
+    for (int move = 0; move < expectedMoves.size(); move++) {
+      Assert.assertEquals(expectedMoves.getDiagonalPos(move), actualMoves.getDiagonalPos(move));
+      Assert.assertEquals(expectedMoves.getRowPos(move), actualMoves.getRowPos(move));
+      Assert.assertEquals(expectedMoves.getFlipCount(move), actualMoves.getFlipCount(move));
+    }
+  }
+
+}
@@ -1,3 +1,8 @@
+import controller.PlayerFeatures;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
 import player.AIPlayer;
 import player.ActivePlayer;
 import player.HumanPlayer;
@@ -8,6 +13,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import strategy.CaptureMostPieces;
 import strategy.GoForCorners;
+import strategy.Strategy;
 import view.gui.ReversiFrame;
 
 
@@ -121,4 +127,160 @@ public class TestController {
         "pass this player's turn."));
   }
 
+
+
+
+  //TESTS FOR MAKE MOVE LATER:
+
+  /**
+   * A listener of an AI player that records the moves it is sent, and whether they were sent on
+   * the Swing event thread.
+   */
+  private static class RecordingFeatures implements PlayerFeatures {
+    private final StringBuilder out = new StringBuilder();
+    private final CountDownLatch sent = new CountDownLatch(1);
+
+    @Override
+    public void makeAIMove(int diagonalPos, int rowPos) {
+      out.append("move to (" + diagonalPos + ", " + rowPos + ") on the event thread: "
+          + SwingUtilities.isEventDispatchThread());
+      sent.countDown();
+    }
+
+    @Override
+    public void makeAIPass() {
+      out.append("pass on the event thread: " + SwingUtilities.isEventDispatchThread());
+      sent.countDown();
+    }
+
+    boolean awaitMove(long millis) throws InterruptedException {
+      return sent.await(millis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * A strategy that takes the given time to choose, and then moves like CaptureMostPieces.
+   * @param millis how long the strategy thinks, in milliseconds.
+   * @return the slow strategy.
+   */
+  private static Strategy slowStrategy(long millis) {
+    return (model, player) -> {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      return new CaptureMostPieces().chooseMove(model, player);
+    };
+  }
+
+  /**
+   * Tests that a move chosen on another thread is sent to the listener on the event thread.
+   */
+  @Test
+  public void testMakeMoveLater1() throws InterruptedException {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    AIPlayer player = new AIPlayer(new CaptureMostPieces(), model, PlayerEnum.X);
+    RecordingFeatures features = new RecordingFeatures();
+    player.addFeaturesListener(features);
+
+    player.makeMoveLater();
+    Assert.assertTrue(features.awaitMove(5000));
+    Assert.assertTrue(features.out.toString().startsWith("move to"));
+    Assert.assertTrue(features.out.toString().endsWith("on the event thread: true"));
+  }
+
+  /**
+   * Tests that when the strategy runs out of think time, the AI still moves, by capturing the
+   * most pieces.
+   */
+  @Test
+  public void testMakeMoveLater2() throws InterruptedException {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    AIPlayer player = new AIPlayer(slowStrategy(60000), model, PlayerEnum.X, 50);
+    RecordingFeatures features = new RecordingFeatures();
+    player.addFeaturesListener(features);
+
+    player.makeMoveLater();
+    Assert.assertTrue(features.awaitMove(5000));
+    Assert.assertTrue(features.out.toString().startsWith("move to"));
+  }
+
+  /**
+   * Tests that a cancelled move is never sent.
+   */
+  @Test
+  public void testMakeMoveLater3() throws InterruptedException {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    AIPlayer player = new AIPlayer(slowStrategy(100), model, PlayerEnum.X);
+    RecordingFeatures features = new RecordingFeatures();
+    player.addFeaturesListener(features);
+
+    player.makeMoveLater();
+    player.cancelMove();
+    Assert.assertFalse(features.awaitMove(500));
+    Assert.assertEquals("", features.out.toString());
+  }
+
+  /**
+   * Tests that a move chosen for a position the game is no longer in is never sent.
+   */
+  @Test
+  public void testMakeMoveLater4() throws InterruptedException {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    AIPlayer player = new AIPlayer(slowStrategy(100), model, PlayerEnum.X);
+    RecordingFeatures features = new RecordingFeatures();
+    player.addFeaturesListener(features);
+
+    player.makeMoveLater();
+    model.playerPass(PlayerEnum.X);
+    Assert.assertFalse(features.awaitMove(500));
+    Assert.assertEquals("", features.out.toString());
+  }
+
+  /**
+   * Tests that a search that runs past the think time and ignores being interrupted is never
+   * run at the same time as the next search on the same strategy.
+   */
+  @Test
+  public void testMakeMoveLater6() throws InterruptedException {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger mostRunning = new AtomicInteger();
+    Strategy stubborn = (position, player) -> {
+      mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(150);
+      while (System.nanoTime() < end) {
+        //keeps searching even when interrupted
+        Thread.yield();
+      }
+      running.decrementAndGet();
+      return new CaptureMostPieces().chooseMove(position, player);
+    };
+    AIPlayer player = new AIPlayer(stubborn, model, PlayerEnum.X, 20);
+
+    for (int i = 0; i < 5; i++) {
+      player.makeMoveLater();
+      Thread.sleep(40);
+    }
+    Thread.sleep(500);
+    Assert.assertEquals(1, mostRunning.get());
+    Assert.assertEquals(0, running.get());
+  }
+
+  /**
+   * Tests that the think time must be positive.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMakeMoveLater5() {
+    ReversiModel model = new BasicReversi();
+    new AIPlayer(new CaptureMostPieces(), model, PlayerEnum.X, 0);
+  }
+
 }
@@ -1,9 +1,19 @@
+import controller.ModelFeatures;
 import model.Cell;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import model.AbstractReversiModel;
 import model.BasicReversi;
+import model.BitboardHexReversi;
+import model.BoardSnapshot;
+import model.BoardView;
+import model.EvaluatedMoves;
+import model.HexagonCell;
+import model.ModelChange;
 import model.PlayerEnum;
+import model.ReversiModel;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -129,6 +139,28 @@ public class TestModel {
     Assert.assertEquals(expected, model.getCellAtPosn(0, 3));
   }
 
+  //tests that an exception is thrown for a position whose q and r coordinates are on the board
+  //but whose s coordinate is not.
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetCellAt5() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.getCellAtPosn(3, 3);
+  }
+
+  //tests that the getCellAt method returns the correct cell on a large board
+  @Test
+  public void testGetCellAt6() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(15);
+    ArrayList<ArrayList<Cell>> board = model.getGameBoard();
+    for (ArrayList<Cell> list : board) {
+      for (Cell cell : list) {
+        Assert.assertTrue(cell == model.getCellAtPosn(cell.getDiagonalPos(), cell.getRowPos()));
+      }
+    }
+  }
+
 
 
 
@@ -402,6 +434,932 @@ public class TestModel {
 
 
 
+
+  //TESTS FOR GET VALID MOVES:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testGetValidMoves1() {
+    BasicReversi model = new BasicReversi();
+    model.getValidMoves();
+  }
+
+  //tests the valid moves of both players at the start of the game and after a move
+  @Test
+  public void testGetValidMoves2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    List<Cell> valids = model.getValidMoves();
+    Assert.assertEquals(6, valids.size());
+    Assert.assertEquals(1, valids.get(0).getDiagonalPos());
+    Assert.assertEquals(-2, valids.get(0).getRowPos());
+
+    model.playerMove(1, -2, PlayerEnum.X);
+    for (Cell cell : model.getValidMoves()) {
+      Assert.assertTrue(cell.isEmpty());
+      Assert.assertTrue(model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos()) > 0);
+    }
+  }
+
+  //tests that the valid moves kept up to date after every move are the same as the empty cells
+  //that would turn over at least one piece, over a whole game.
+  @Test
+  public void testGetValidMoves3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(6);
+    while (!model.isGameOver()) {
+      List<Cell> expected = new ArrayList<>();
+      for (ArrayList<Cell> list : model.getGameBoard()) {
+        for (Cell cell : list) {
+          if (cell.isEmpty()
+              && model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos()) > 0) {
+            expected.add(cell);
+          }
+        }
+      }
+      List<Cell> valids = model.getValidMoves();
+      Assert.assertEquals(expected.size(), valids.size());
+      for (int i = 0; i < valids.size(); i++) {
+        Assert.assertTrue(expected.get(i) == valids.get(i));
+      }
+      if (valids.isEmpty()) {
+        model.playerPass(model.getPlayerTurn());
+      }
+      else {
+        Cell last = valids.get(valids.size() - 1);
+        model.playerMove(last.getDiagonalPos(), last.getRowPos(), model.getPlayerTurn());
+      }
+    }
+  }
+
+
+
+
+  //TESTS FOR EVALUATE MOVES:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testEvaluateMoves1() {
+    BasicReversi model = new BasicReversi();
+    model.evaluateMoves();
+  }
+
+  //plays random games, and checks in every position that the evaluated moves are the valid
+  //moves, in the same order, with the pieces each one gains
+  @Test
+  public void testEvaluateMoves2() {
+    Random random = new Random(5);
+    for (int game = 0; game < 5; game++) {
+      ReversiModel model = new BasicReversi();
+      model.startGame(5);
+      while (!model.isGameOver()) {
+        List<Cell> valids = model.getValidMoves();
+        EvaluatedMoves moves = model.evaluateMoves();
+        Assert.assertEquals(valids.size(), moves.size());
+        Assert.assertEquals(valids.isEmpty(), moves.isEmpty());
+        for (int move = 0; move < moves.size(); move++) {
+          Cell cell = valids.get(move);
+          Assert.assertEquals(cell.getDiagonalPos(), moves.getDiagonalPos(move));
+          Assert.assertEquals(cell.getRowPos(), moves.getRowPos(move));
+          Assert.assertEquals(model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos()),
+              moves.getFlipCount(move));
+        }
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+    }
+  }
+
+  //tests that the same evaluated moves are handed out until the position changes, and that
+  //undoing a move evaluates the position again
+  @Test
+  public void testEvaluateMoves3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    EvaluatedMoves start = model.evaluateMoves();
+    Assert.assertSame(start, model.evaluateMoves());
+    Assert.assertEquals(6, start.size());
+    model.applyMove(1, -2);
+    EvaluatedMoves reply = model.evaluateMoves();
+    Assert.assertNotSame(start, reply);
+    model.applyPass();
+    Assert.assertNotSame(reply, model.evaluateMoves());
+    model.undoMove();
+    model.undoMove();
+    EvaluatedMoves again = model.evaluateMoves();
+    Assert.assertEquals(start.size(), again.size());
+    for (int move = 0; move < start.size(); move++) {
+      Assert.assertEquals(start.getDiagonalPos(move), again.getDiagonalPos(move));
+      Assert.assertEquals(start.getFlipCount(move), again.getFlipCount(move));
+    }
+  }
+
+  //tests that an exception is thrown for a move that does not exist
+  @Test (expected = IndexOutOfBoundsException.class)
+  public void testEvaluateMoves4() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.evaluateMoves().getFlipCount(6);
+  }
+
+
+
+
+
+
+  //TESTS FOR APPLY MOVE AND UNDO MOVE:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testUndoMove1() {
+    ReversiModel model = new BasicReversi();
+    model.undoMove();
+  }
+
+  //tests that an exception is thrown if there is no move to undo
+  @Test (expected = IllegalStateException.class)
+  public void testUndoMove2() {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    model.applyMove(1, -2);
+    model.undoMove();
+    model.undoMove();
+  }
+
+  //tests that an exception is thrown for an invalid move
+  @Test (expected = IllegalStateException.class)
+  public void testApplyMove1() {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    model.applyMove(0, 0);
+  }
+
+  //tests that applying and undoing a move does not notify the listeners
+  @Test
+  public void testApplyMove2() {
+    ReversiModel model = new BasicReversi();
+    StringBuilder log = new StringBuilder();
+    model.addFeaturesListener(new ModelFeatures() {
+      public void modelChanged(ModelChange change) {
+        log.append("changed\n");
+      }
+
+      public void update() {
+        log.append("update\n");
+      }
+
+      public void notifyPlayerTurn() {
+        log.append("notify\n");
+      }
+
+      public void makeMoveIfAI() {
+        log.append("AI\n");
+      }
+
+      public void displayGameOver() {
+        log.append("game over\n");
+      }
+    });
+    model.startGame(4);
+    log.setLength(0);
+    model.applyMove(1, -2);
+    model.applyPass();
+    model.undoMove();
+    model.undoMove();
+    Assert.assertEquals("", log.toString());
+  }
+
+  //tests that applying a move changes the board like a player move, and undoing it changes
+  //the board back
+  @Test
+  public void testApplyMove3() {
+    ReversiModel model = new BasicReversi();
+    ReversiModel moved = new BasicReversi();
+    model.startGame(4);
+    moved.startGame(4);
+    String start = this.describe(model);
+    model.applyMove(1, -2);
+    moved.playerMove(1, -2, PlayerEnum.X);
+    Assert.assertEquals(this.describe(moved), this.describe(model));
+    model.undoMove();
+    Assert.assertEquals(start, this.describe(model));
+    Assert.assertEquals(PlayerEnum.X, model.getPlayerTurn());
+  }
+
+  //tests that two passes end the game, and undoing one of them does not
+  @Test
+  public void testApplyPass1() {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    model.applyPass();
+    model.applyPass();
+    Assert.assertTrue(model.isGameOver());
+    model.undoMove();
+    Assert.assertFalse(model.isGameOver());
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+  }
+
+  //plays random games to the end, then undoes every move and checks each position on the way
+  //back is exactly the position that was played through
+  @Test
+  public void testUndoMove3() {
+    Random random = new Random(7);
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new BasicReversi();
+      model.startGame(4);
+      List<String> positions = new ArrayList<>();
+      while (!model.isGameOver()) {
+        positions.add(this.describe(model));
+        List<Cell> valids = model.getValidMoves();
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+      for (int i = positions.size() - 1; i >= 0; i--) {
+        model.undoMove();
+        Assert.assertEquals(positions.get(i), this.describe(model));
+      }
+    }
+  }
+
+
+
+
+
+
+  //TESTS FOR MODEL CHANGES:
+
+  /**
+   * adds a listener to the model that records every change it is told about.
+   * @param model the model listened to.
+   * @return the changes, in the order the model made them.
+   */
+  private List<ModelChange> recordChanges(ReversiModel model) {
+    List<ModelChange> changes = new ArrayList<>();
+    model.addFeaturesListener(new ModelFeatures() {
+      public void modelChanged(ModelChange change) {
+        changes.add(change);
+      }
+
+      public void update() {
+        //only the changes are recorded
+      }
+
+      public void notifyPlayerTurn() {
+        //only the changes are recorded
+      }
+
+      public void makeMoveIfAI() {
+        //only the changes are recorded
+      }
+
+      public void displayGameOver() {
+        //only the changes are recorded
+      }
+    });
+    return changes;
+  }
+
+  //tests that starting the game is one change
+  @Test
+  public void testModelChanged1() {
+    ReversiModel model = new BasicReversi();
+    List<ModelChange> changes = this.recordChanges(model);
+    model.startGame(4);
+    Assert.assertEquals(1, changes.size());
+    Assert.assertEquals(ModelChange.Kind.START, changes.get(0).getKind());
+    Assert.assertNull(changes.get(0).getPlayer());
+    Assert.assertEquals(PlayerEnum.X, changes.get(0).getNextPlayer());
+    Assert.assertEquals(0, changes.get(0).getFlipCount());
+    Assert.assertFalse(changes.get(0).isGameOver());
+  }
+
+  //tests that a move is one change, holding the move and exactly the pieces it turned over
+  @Test
+  public void testModelChanged2() {
+    ReversiModel model = new BasicReversi();
+    List<ModelChange> changes = this.recordChanges(model);
+    model.startGame(4);
+    int before = model.getPlayerScore(PlayerEnum.O);
+    model.playerMove(1, -2, PlayerEnum.X);
+    Assert.assertEquals(2, changes.size());
+    ModelChange move = changes.get(1);
+    Assert.assertEquals(ModelChange.Kind.MOVE, move.getKind());
+    Assert.assertEquals(PlayerEnum.X, move.getPlayer());
+    Assert.assertEquals(1, move.getDiagonalPos());
+    Assert.assertEquals(-2, move.getRowPos());
+    Assert.assertEquals(before - model.getPlayerScore(PlayerEnum.O), move.getFlipCount());
+    for (int i = 0; i < move.getFlipCount(); i++) {
+      Assert.assertEquals(PlayerEnum.X, model.getCellAtPosn(move.getFlippedDiagonalPos(i),
+          move.getFlippedRowPos(i)).getState());
+    }
+    Assert.assertEquals(PlayerEnum.O, move.getNextPlayer());
+    Assert.assertFalse(move.isGameOver());
+  }
+
+  //tests that a pass is one change with no move, and that two passes end the game
+  @Test
+  public void testModelChanged3() {
+    ReversiModel model = new BasicReversi();
+    List<ModelChange> changes = this.recordChanges(model);
+    model.startGame(4);
+    model.playerPass(PlayerEnum.X);
+    Assert.assertEquals(2, changes.size());
+    Assert.assertEquals(ModelChange.Kind.PASS, changes.get(1).getKind());
+    Assert.assertEquals(PlayerEnum.X, changes.get(1).getPlayer());
+    Assert.assertEquals(0, changes.get(1).getFlipCount());
+    Assert.assertFalse(changes.get(1).isGameOver());
+    model.playerPass(PlayerEnum.O);
+    Assert.assertEquals(3, changes.size());
+    Assert.assertTrue(changes.get(2).isGameOver());
+  }
+
+  //tests that a pass has no position
+  @Test(expected = IllegalStateException.class)
+  public void testModelChanged4() {
+    ReversiModel model = new BasicReversi();
+    List<ModelChange> changes = this.recordChanges(model);
+    model.startGame(4);
+    model.playerPass(PlayerEnum.X);
+    changes.get(1).getDiagonalPos();
+  }
+
+
+
+
+
+  //TESTS FOR GET POSITION KEY:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testGetPositionKey1() {
+    BasicReversi model = new BasicReversi();
+    model.getPositionKey();
+  }
+
+  //tests that a move changes the key, and undoing it changes the key back
+  @Test
+  public void testGetPositionKey2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    long start = model.getPositionKey();
+    model.applyMove(1, -2);
+    Assert.assertNotEquals(start, model.getPositionKey());
+    model.undoMove();
+    Assert.assertEquals(start, model.getPositionKey());
+  }
+
+  //tests that a pass changes the key, because the other player's turn is a different position
+  @Test
+  public void testGetPositionKey3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    long start = model.getPositionKey();
+    model.applyPass();
+    long passed = model.getPositionKey();
+    Assert.assertNotEquals(start, passed);
+    model.applyPass();
+    Assert.assertNotEquals(start, model.getPositionKey());
+    Assert.assertNotEquals(passed, model.getPositionKey());
+  }
+
+  //tests that the same position reached by different moves has the same key, which is also the
+  //key of a copy of the model and of a new game
+  @Test
+  public void testGetPositionKey4() {
+    BasicReversi model = new BasicReversi();
+    BasicReversi other = new BasicReversi();
+    model.startGame(4);
+    other.startGame(4);
+    Assert.assertEquals(other.getPositionKey(), model.getPositionKey());
+    model.applyMove(1, -2);
+    Assert.assertEquals(model.getPositionKey(), model.copy().getPositionKey());
+    Assert.assertNotEquals(other.getPositionKey(), model.getPositionKey());
+  }
+
+  //tests that the turn and each pass change the key by a different, non-zero amount, so the same
+  //board with the other player to move has a different key
+  @Test
+  public void testGetPositionKey5() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    BoardView view = model.getBoardView();
+    Assert.assertNotEquals(0, view.getTurnKey());
+    Assert.assertNotEquals(view.getTurnKey(), view.getPassKey(true));
+    Assert.assertNotEquals(view.getTurnKey(), view.getPassKey(false));
+    Assert.assertNotEquals(view.getPassKey(true), view.getPassKey(false));
+    long start = model.getPositionKey();
+    model.applyPass();
+    Assert.assertNotEquals(start ^ view.getPassKey(true), model.getPositionKey());
+  }
+
+
+
+
+
+  //TESTS FOR SYMMETRIES AND THE CANONICAL KEY:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testGetCanonicalKey1() {
+    BasicReversi model = new BasicReversi();
+    model.getCanonicalKey();
+  }
+
+  //tests that every symmetry moves the cells of the board onto the board, and that the inverse
+  //of each symmetry moves them back
+  @Test
+  public void testTransformCell1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    Assert.assertEquals(12, model.getSymmetryCount());
+    for (int symmetry = 0; symmetry < model.getSymmetryCount(); symmetry++) {
+      int inverse = model.inverseSymmetry(symmetry);
+      for (ArrayList<Cell> row : model.getGameBoard()) {
+        for (Cell cell : row) {
+          Cell moved = model.transformCell(symmetry, cell.getDiagonalPos(), cell.getRowPos());
+          Assert.assertSame(cell,
+              model.transformCell(inverse, moved.getDiagonalPos(), moved.getRowPos()));
+          if (symmetry == 0) {
+            Assert.assertSame(cell, moved);
+          }
+        }
+      }
+    }
+    //turning the board by 60 degrees moves the corner at (3, 0) to (0, 3)
+    Cell turned = model.transformCell(1, 3, 0);
+    Assert.assertEquals(0, turned.getDiagonalPos());
+    Assert.assertEquals(3, turned.getRowPos());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testTransformCell2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.transformCell(12, 0, 0);
+  }
+
+  //tests that the six first moves, which are all turns or reflections of each other, reach
+  //positions with different position keys but the same canonical key
+  @Test
+  public void testGetCanonicalKey2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    List<Long> positionKeys = new ArrayList<>();
+    List<Long> canonicalKeys = new ArrayList<>();
+    for (Cell cell : model.getValidMoves()) {
+      model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      positionKeys.add(model.getPositionKey());
+      canonicalKeys.add(model.getCanonicalKey());
+      model.undoMove();
+    }
+    Assert.assertEquals(6, positionKeys.size());
+    Assert.assertEquals(6, positionKeys.stream().distinct().count());
+    Assert.assertEquals(1, canonicalKeys.stream().distinct().count());
+  }
+
+  //tests that a game and the same game turned by 120 degrees (which leaves the starting pieces
+  //where they are) always have the same canonical key, and that turning each position by its
+  //canonical symmetry gives the same board
+  @Test
+  public void testGetCanonicalKey3() {
+    BasicReversi model = new BasicReversi();
+    BasicReversi turned = new BasicReversi();
+    model.startGame(5);
+    turned.startGame(5);
+    Random rand = new Random(7);
+    while (!model.isGameOver()) {
+      Assert.assertEquals(model.getCanonicalKey(), turned.getCanonicalKey());
+      Assert.assertEquals(this.canonicalBoard(model), this.canonicalBoard(turned));
+      List<Cell> valids = model.getValidMoves();
+      if (valids.isEmpty()) {
+        model.applyPass();
+        turned.applyPass();
+      }
+      else {
+        Cell cell = valids.get(rand.nextInt(valids.size()));
+        Cell moved = model.transformCell(2, cell.getDiagonalPos(), cell.getRowPos());
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+        turned.applyMove(moved.getDiagonalPos(), moved.getRowPos());
+      }
+    }
+    Assert.assertEquals(model.getCanonicalKey(), turned.getCanonicalKey());
+  }
+
+
+  /**
+   * the states of the cells of the board turned by its canonical symmetry, in the order of the
+   * game board.
+   * @param model the model being described.
+   * @return a string of the turned board.
+   */
+  private String canonicalBoard(ReversiModel model) {
+    int symmetry = model.getCanonicalSymmetry();
+    int inverse = model.inverseSymmetry(symmetry);
+    StringBuilder board = new StringBuilder();
+    for (ArrayList<Cell> row : model.getGameBoard()) {
+      for (Cell cell : row) {
+        //the cell turned onto this position
+        board.append(model.transformCell(inverse, cell.getDiagonalPos(), cell.getRowPos())
+            .getState());
+      }
+    }
+    return board.toString();
+  }
+
+
+  /**
+   * describes everything about a position that a move can change: the pieces on the board,
+   * the player turn, the scores, whether the game is over, and the valid moves.
+   * @param model the model being described.
+   * @return a string of the position.
+   */
+  private String describe(ReversiModel model) {
+    StringBuilder position = new StringBuilder();
+    for (ArrayList<Cell> list : model.getGameBoard()) {
+      for (Cell cell : list) {
+        position.append(cell.toString());
+      }
+      position.append("\n");
+    }
+    position.append(model.getPlayerTurn()).append(" ");
+    position.append(model.getPlayerScore(PlayerEnum.X)).append(" ");
+    position.append(model.getPlayerScore(PlayerEnum.O)).append(" ");
+    position.append(model.isGameOver()).append(" ");
+    for (Cell cell : model.getValidMoves()) {
+      position.append(cell.getDiagonalPos()).append(",").append(cell.getRowPos()).append(" ");
+    }
+    return position.toString();
+  }
+
+
+
+
+
+  //TESTS FOR GET BOARD VIEW:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testGetBoardView1() {
+    BasicReversi model = new BasicReversi();
+    model.getBoardView();
+  }
+
+  //tests that the view has the same rows and cells, in the same order, as the game board
+  @Test
+  public void testGetBoardView2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.applyMove(1, -2);
+    BoardView view = model.getBoardView();
+    ArrayList<ArrayList<Cell>> board = model.getGameBoard();
+    Assert.assertEquals(board.size(), view.getRowCount());
+    Assert.assertEquals(37, view.size());
+    for (int row = 0; row < board.size(); row++) {
+      Assert.assertEquals(board.get(row).size(), view.getRowLength(row));
+      for (int i = 0; i < board.get(row).size(); i++) {
+        Cell cell = board.get(row).get(i);
+        int index = view.getRowStart(row) + i;
+        Assert.assertEquals(cell.getDiagonalPos(), view.getDiagonalPos(index));
+        Assert.assertEquals(cell.getRowPos(), view.getRowPos(index));
+        Assert.assertEquals(cell.toString(), view.getState(index).toString());
+        Assert.assertEquals(view.getState(index),
+            view.getStateAtPosn(cell.getDiagonalPos(), cell.getRowPos()));
+      }
+    }
+  }
+
+  //tests that the same view is always returned, and that it shows moves made after it was
+  //returned
+  @Test
+  public void testGetBoardView3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    BoardView view = model.getBoardView();
+    Assert.assertEquals(PlayerEnum.Empty, view.getStateAtPosn(1, -2));
+    Assert.assertEquals(PlayerEnum.O, view.getStateAtPosn(1, -1));
+    model.playerMove(1, -2, PlayerEnum.X);
+    Assert.assertSame(view, model.getBoardView());
+    Assert.assertEquals(PlayerEnum.X, view.getStateAtPosn(1, -2));
+    Assert.assertEquals(PlayerEnum.X, view.getStateAtPosn(1, -1));
+    model.undoMove();
+    Assert.assertEquals(PlayerEnum.Empty, view.getStateAtPosn(1, -2));
+  }
+
+  //tests that an exception is thrown for a position that is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetBoardView4() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.getBoardView().getStateAtPosn(3, 3);
+  }
+
+  //tests that the view finds cells by position and walks the same rays as the model, and that a
+  //snapshot has the same rays
+  @Test
+  public void testGetBoardView5() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    BoardView view = model.getBoardView();
+    BoardSnapshot snapshot = model.getSnapshot();
+    Assert.assertEquals(6, view.getDirectionCount());
+    int total = 0;
+    for (int index = 0; index < view.size(); index++) {
+      Assert.assertEquals(index,
+          view.getIndexAtPosn(view.getDiagonalPos(index), view.getRowPos(index)));
+      for (int direction = 0; direction < view.getDirectionCount(); direction++) {
+        int[] ray = view.getRay(index, direction);
+        Assert.assertArrayEquals(ray, snapshot.getRay(index, direction));
+        if (ray.length > 0) {
+          int stepQ = view.getDiagonalPos(ray[0]) - view.getDiagonalPos(index);
+          int stepR = view.getRowPos(ray[0]) - view.getRowPos(index);
+          Assert.assertEquals(1, Math.max(Math.abs(stepQ),
+              Math.max(Math.abs(stepR), Math.abs(stepQ + stepR))));
+        }
+        total += ray.length;
+      }
+    }
+    //each line of length n on the board is walked n * (n - 1) times, and each of the three axes
+    //has lines of length 4, 5, 6, 7, 6, 5 and 4
+    Assert.assertEquals(3 * (12 + 20 + 30 + 42 + 30 + 20 + 12), total);
+    int center = view.getIndexAtPosn(0, 0);
+    Assert.assertArrayEquals(new int[] {view.getIndexAtPosn(1, 0), view.getIndexAtPosn(2, 0),
+        view.getIndexAtPosn(3, 0)}, view.getRay(center, 0));
+  }
+
+  //tests that the keys of the view and of a snapshot make up the position key of the model
+  @Test
+  public void testGetBoardView6() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(5);
+    model.applyMove(1, -2);
+    for (int turn = 0; turn < 2; turn++) {
+      for (BoardView view : new BoardView[] {model.getBoardView(), model.getSnapshot()}) {
+        long key = (model.getPlayerTurn() == PlayerEnum.O) ? view.getTurnKey() : 0;
+        for (int index = 0; index < view.size(); index++) {
+          key ^= view.getCellKey(index, view.getState(index));
+        }
+        if (!model.getTurnsTaken().get(1)) {
+          key ^= view.getPassKey(true);
+        }
+        Assert.assertEquals(0, view.getCellKey(0, PlayerEnum.Empty));
+        Assert.assertEquals(model.getPositionKey(), key);
+      }
+      model.applyPass();
+    }
+  }
+
+
+
+
+
+
+  //TESTS FOR GET SNAPSHOT:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testGetSnapshot1() {
+    BasicReversi model = new BasicReversi();
+    model.getSnapshot();
+  }
+
+  //tests that a snapshot has the same cells, player turn, turns taken, scores, and key as the
+  //game it was made from
+  @Test
+  public void testGetSnapshot2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(5);
+    model.applyMove(1, -2);
+    model.applyPass();
+    BoardSnapshot snapshot = model.getSnapshot();
+    BoardView view = model.getBoardView();
+    Assert.assertEquals(view.size(), snapshot.size());
+    Assert.assertEquals(view.getRowCount(), snapshot.getRowCount());
+    for (int index = 0; index < view.size(); index++) {
+      Assert.assertEquals(view.getDiagonalPos(index), snapshot.getDiagonalPos(index));
+      Assert.assertEquals(view.getRowPos(index), snapshot.getRowPos(index));
+      Assert.assertEquals(view.getState(index), snapshot.getState(index));
+      Assert.assertEquals(view.getState(index),
+          snapshot.getStateAtPosn(view.getDiagonalPos(index), view.getRowPos(index)));
+    }
+    Assert.assertEquals(model.getPlayerTurn(), snapshot.getPlayerTurn());
+    Assert.assertEquals(model.getTurnsTaken(), snapshot.getTurnsTaken());
+    Assert.assertEquals(model.getPlayerScore(PlayerEnum.X), snapshot.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(model.getPlayerScore(PlayerEnum.O), snapshot.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(model.getPositionKey(), snapshot.getPositionKey());
+    Assert.assertEquals(5, snapshot.getBoardSideLength());
+    Assert.assertFalse(snapshot.isSquareReversi());
+  }
+
+  //tests that a snapshot does not change when more moves are made or undone, and that the same
+  //snapshot is returned while nothing changes
+  @Test
+  public void testGetSnapshot3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    BoardSnapshot start = model.getSnapshot();
+    Assert.assertSame(start, model.getSnapshot());
+    model.playerMove(1, -2, PlayerEnum.X);
+    BoardSnapshot moved = model.getSnapshot();
+    Assert.assertNotSame(start, moved);
+    Assert.assertEquals(PlayerEnum.Empty, start.getStateAtPosn(1, -2));
+    Assert.assertEquals(PlayerEnum.O, start.getStateAtPosn(1, -1));
+    Assert.assertEquals(PlayerEnum.X, start.getPlayerTurn());
+    Assert.assertEquals(PlayerEnum.X, moved.getStateAtPosn(1, -2));
+    Assert.assertEquals(PlayerEnum.X, moved.getStateAtPosn(1, -1));
+    Assert.assertEquals(PlayerEnum.O, moved.getPlayerTurn());
+    model.undoMove();
+    BoardSnapshot undone = model.getSnapshot();
+    Assert.assertEquals(PlayerEnum.X, moved.getStateAtPosn(1, -2));
+    for (int index = 0; index < start.size(); index++) {
+      Assert.assertEquals(start.getState(index), undone.getState(index));
+    }
+    Assert.assertEquals(start.getPositionKey(), undone.getPositionKey());
+  }
+
+  //tests that a snapshot read on another thread while a game is played shows the position it
+  //was made in
+  @Test
+  public void testGetSnapshot4() throws InterruptedException {
+    BasicReversi model = new BasicReversi();
+    model.startGame(6);
+    BoardSnapshot snapshot = model.getSnapshot();
+    String before = this.describe(snapshot);
+    String[] seen = new String[1];
+    Thread reader = new Thread(() -> {
+      for (int i = 0; i < 100; i++) {
+        seen[0] = this.describe(snapshot);
+      }
+    });
+    reader.start();
+    Random random = new Random(3);
+    while (!model.isGameOver()) {
+      List<Cell> valids = model.getValidMoves();
+      if (valids.isEmpty()) {
+        model.applyPass();
+      }
+      else {
+        Cell cell = valids.get(random.nextInt(valids.size()));
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      }
+    }
+    reader.join();
+    Assert.assertEquals(before, seen[0]);
+    Assert.assertNotEquals(before, this.describe(model.getSnapshot()));
+  }
+
+
+  /**
+   * describes the cells of a board view, one row on each line.
+   * @param view the view being described.
+   * @return a string of the board.
+   */
+  private String describe(BoardView view) {
+    StringBuilder board = new StringBuilder();
+    for (int row = 0; row < view.getRowCount(); row++) {
+      for (int i = 0; i < view.getRowLength(row); i++) {
+        board.append(view.getState(view.getRowStart(row) + i));
+      }
+      board.append("\n");
+    }
+    return board.toString();
+  }
+
+
+
+
+
+
+  //TESTS FOR CELL STATES:
+
+  //tests that every player has its own code, which turns back into the same player
+  @Test
+  public void testCellState1() {
+    Assert.assertEquals(0, PlayerEnum.Empty.getCode());
+    Assert.assertEquals(1, PlayerEnum.X.getCode());
+    Assert.assertEquals(2, PlayerEnum.O.getCode());
+    for (PlayerEnum player : PlayerEnum.values()) {
+      Assert.assertEquals(player, PlayerEnum.fromCode(player.getCode()));
+    }
+  }
+
+  //tests that an exception is thrown for a code that is not a player
+  @Test (expected = IllegalArgumentException.class)
+  public void testCellState2() {
+    PlayerEnum.fromCode((byte) 3);
+  }
+
+  //tests that a cell of the game board always shows the state kept by the model, after moves
+  //are made and undone
+  @Test
+  public void testCellState3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    Cell placed = model.getCellAtPosn(1, -2);
+    Cell flipped = model.getCellAtPosn(1, -1);
+    Assert.assertEquals(PlayerEnum.Empty, placed.getState());
+    Assert.assertTrue(placed.isEmpty());
+    Assert.assertEquals(PlayerEnum.O, flipped.getState());
+    model.applyMove(1, -2);
+    Assert.assertEquals(PlayerEnum.X, placed.getState());
+    Assert.assertFalse(placed.isEmpty());
+    Assert.assertEquals(PlayerEnum.X, flipped.getState());
+    Assert.assertEquals("X", flipped.toString());
+    model.undoMove();
+    Assert.assertEquals(PlayerEnum.Empty, placed.getState());
+    Assert.assertEquals(PlayerEnum.O, flipped.getState());
+  }
+
+  //tests that a cell made on its own keeps its own state
+  @Test
+  public void testCellState4() {
+    HexagonCell cell = new HexagonCell(PlayerEnum.O, 0, 0);
+    Assert.assertEquals(PlayerEnum.O, cell.getState());
+    cell.changeCellState(PlayerEnum.X);
+    Assert.assertEquals(PlayerEnum.X, cell.getState());
+    Assert.assertEquals("X", cell.toString());
+    Assert.assertEquals(PlayerEnum.Empty, new HexagonCell(1, 1).getState());
+    Assert.assertTrue(new HexagonCell(1, 1).isEmpty());
+  }
+
+  //tests that changing a cell of the game board keeps the valid moves of the model up to date
+  @Test
+  public void testCellState5() {
+    for (BasicReversi model : new BasicReversi[] {new BasicReversi(), new BitboardHexReversi()}) {
+      model.startGame(4);
+      long key = model.getPositionKey();
+      model.getCellAtPosn(1, -1).changeCellState(PlayerEnum.X);
+      Assert.assertFalse(model.checkValid(1, -2));
+      Assert.assertEquals(0, model.countPiecesGained(1, -2));
+      Assert.assertNotEquals(key, model.getPositionKey());
+      Assert.assertEquals(4, model.getPlayerScore(PlayerEnum.X));
+      for (Cell cell : model.getValidMoves()) {
+        Assert.assertTrue(model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos()) > 0);
+      }
+      model.getCellAtPosn(1, -1).changeCellState(PlayerEnum.O);
+      Assert.assertEquals(key, model.getPositionKey());
+      Assert.assertTrue(model.checkValid(1, -2));
+    }
+  }
+
+
+
+
+
+
+  //TESTS FOR COUNT PIECES GAINED:
+
+  //plays random games, and checks before every move that the pieces counted for each valid move
+  //are the pieces that move turns over
+  @Test
+  public void testCountPiecesGained1() {
+    Random random = new Random(3);
+    for (int game = 0; game < 5; game++) {
+      ReversiModel model = new BasicReversi();
+      model.startGame(5);
+      while (!model.isGameOver()) {
+        List<Cell> valids = model.getValidMoves();
+        for (Cell cell : valids) {
+          int gained = model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos());
+          int before = model.getPlayerScore(PlayerEnum.O);
+          model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+          int after = model.getPlayerScore(PlayerEnum.O);
+          Assert.assertEquals(gained, Math.abs(after - before) - (after > before ? 1 : 0));
+          model.undoMove();
+        }
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+    }
+  }
+
+  //tests that an exception is thrown if the position is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testCountPiecesGained2() {
+    ReversiModel model = new BasicReversi();
+    model.startGame(5);
+    model.countPiecesGained(5, 0);
+  }
+
+
+
+
+
+
   //TESTS FOR GET WINNER:
 
   //tests that an exception is thrown if the game is not started
@@ -454,6 +1412,20 @@ public class TestModel {
     Assert.assertTrue(model.checkValid(1, -2));
   }
 
+  //tests valid and invalid moves on a large board
+  @Test
+  public void testCheckValid2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(12);
+
+    Assert.assertTrue(model.checkValid(1, -2));
+    Assert.assertEquals(1, model.countPiecesGained(1, -2));
+    Assert.assertFalse(model.checkValid(0, 0));
+    Assert.assertFalse(model.checkValid(11, -11));
+    model.playerMove(1, -2, PlayerEnum.X);
+    Assert.assertEquals("X", model.getCellAtPosn(1, -1).toString());
+  }
+
 
 
 
@@ -488,6 +1460,60 @@ public class TestModel {
     Assert.assertEquals(3, model.getPlayerScore(PlayerEnum.O));
   }
 
+  //plays random games to the end and back, and checks the scores always match the cells on the
+  //board
+  @Test
+  public void testGetPlayerScore2() {
+    Random random = new Random(11);
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new BasicReversi();
+      model.startGame(4);
+      int moves = 0;
+      while (!model.isGameOver()) {
+        List<Cell> valids = model.getValidMoves();
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+        moves++;
+        this.checkScores(model);
+      }
+      for (int i = 0; i < moves; i++) {
+        model.undoMove();
+        this.checkScores(model);
+      }
+    }
+  }
+
+  //tests that a copy of a game keeps the scores of the game
+  @Test
+  public void testGetPlayerScore3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.applyMove(1, -2);
+    ReversiModel copy = model.copy();
+    Assert.assertEquals(5, copy.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(2, copy.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(30, copy.getPlayerScore(PlayerEnum.Empty));
+  }
+
+  //checks that the score of each player, and of the empty cells, is the number of cells they
+  //occupy on the board
+  private void checkScores(ReversiModel model) {
+    int[] counts = new int[3];
+    for (List<Cell> row : model.getGameBoard()) {
+      for (Cell cell : row) {
+        counts[cell.getState().getCode()]++;
+      }
+    }
+    Assert.assertEquals(counts[0], model.getPlayerScore(PlayerEnum.Empty));
+    Assert.assertEquals(counts[1], model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(counts[2], model.getPlayerScore(PlayerEnum.O));
+  }
+
 
 
   //TESTS FOR POSN IN CORNER
@@ -529,6 +1555,84 @@ public class TestModel {
 
 
 
+  //TESTS FOR POSN ON EDGE
+
+  @Test
+  public void posnOnEdge1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(5);
+    Assert.assertTrue(model.posnOnEdge(0, -4));
+    Assert.assertTrue(model.posnOnEdge(2, -4));
+    Assert.assertTrue(model.posnOnEdge(-4, 2));
+    Assert.assertTrue(model.posnOnEdge(1, 3));
+    Assert.assertFalse(model.posnOnEdge(0, 0));
+    Assert.assertFalse(model.posnOnEdge(1, -3));
+    Assert.assertFalse(model.posnOnEdge(-3, 3));
+  }
+
+  //tests that posn on edge cannot be used before the game starts
+  @Test(expected = IllegalStateException.class)
+  public void posnOnEdge2() {
+    BasicReversi model = new BasicReversi();
+    model.posnOnEdge(0, 0);
+  }
+
+
+
+  //TESTS FOR GET POSITION WEIGHT
+
+  //tests the weight of a corner, a cell next to a corner, an edge, and an inner cell
+  @Test
+  public void testGetPositionWeight1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(5);
+    Assert.assertEquals(AbstractReversiModel.CORNER_WEIGHT, model.getPositionWeight(0, -4));
+    Assert.assertEquals(AbstractReversiModel.NEAR_CORNER_WEIGHT, model.getPositionWeight(1, -4));
+    Assert.assertEquals(AbstractReversiModel.NEAR_CORNER_WEIGHT, model.getPositionWeight(0, -3));
+    Assert.assertEquals(AbstractReversiModel.EDGE_WEIGHT, model.getPositionWeight(2, -4));
+    Assert.assertEquals(AbstractReversiModel.INNER_WEIGHT, model.getPositionWeight(0, 0));
+  }
+
+  //tests that every cell has the weight of the kind of cell it is
+  @Test
+  public void testGetPositionWeight2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(6);
+    for (Cell cell : model.getValidMoves()) {
+      Assert.assertEquals(AbstractReversiModel.INNER_WEIGHT,
+          model.getPositionWeight(cell.getDiagonalPos(), cell.getRowPos()));
+    }
+    for (ArrayList<Cell> row : model.getGameBoard()) {
+      for (Cell cell : row) {
+        int q = cell.getDiagonalPos();
+        int r = cell.getRowPos();
+        int weight = model.getPositionWeight(q, r);
+        if (model.posnInCorner(q, r)) {
+          Assert.assertEquals(AbstractReversiModel.CORNER_WEIGHT, weight);
+        }
+        else if (model.posnNextToCorner(q, r)) {
+          Assert.assertEquals(AbstractReversiModel.NEAR_CORNER_WEIGHT, weight);
+        }
+        else if (model.posnOnEdge(q, r)) {
+          Assert.assertEquals(AbstractReversiModel.EDGE_WEIGHT, weight);
+        }
+        else {
+          Assert.assertEquals(AbstractReversiModel.INNER_WEIGHT, weight);
+        }
+      }
+    }
+  }
+
+  //tests that an invalid position has no weight
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPositionWeight3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.getPositionWeight(4, 0);
+  }
+
+
+
 
   //TESTS FOR MODEL PRIVATE METHODS:
   /*
@@ -0,0 +1,120 @@
+import java.util.ArrayList;
+import java.util.List;
+import model.BasicReversi;
+import model.BitboardHexReversi;
+import model.BitboardSquareReversi;
+import model.Cell;
+import model.ReversiModel;
+import model.SquareReversi;
+import org.junit.Assert;
+import org.junit.Test;
+import perft.Perft;
+import perft.PerftResult;
+
+
+/**
+ * Tests for counting every line of moves from the start of a game.
+ */
+public class TestPerft {
+
+  //tests that an exception is thrown for a missing model factory
+  @Test (expected = IllegalArgumentException.class)
+  public void testConstructor1() {
+    new Perft(null, 4);
+  }
+
+  //tests that an exception is thrown for a negative depth
+  @Test (expected = IllegalArgumentException.class)
+  public void testRun1() {
+    new Perft(BasicReversi::new, 4).run(-1);
+  }
+
+  //tests the counts of an 8x8 square board against the known counts of the standard game
+  @Test
+  public void testRun2() {
+    long[] expected = {1, 4, 12, 56, 244, 1396, 8200, 55092};
+    Perft perft = new Perft(SquareReversi::new, 8);
+    for (int depth = 0; depth < expected.length; depth++) {
+      PerftResult result = perft.run(depth);
+      Assert.assertEquals(depth, result.getDepth());
+      Assert.assertEquals(expected[depth], result.getLeaves());
+    }
+  }
+
+  //tests that the bitboard models count the same lines as the models they have to match
+  @Test
+  public void testRun3() {
+    for (int depth = 1; depth <= 6; depth++) {
+      Assert.assertEquals(new Perft(SquareReversi::new, 6).run(depth).getLeaves(),
+          new Perft(BitboardSquareReversi::new, 6).run(depth).getLeaves());
+      Assert.assertEquals(new Perft(BasicReversi::new, 4).run(depth).getLeaves(),
+          new Perft(BitboardHexReversi::new, 4).run(depth).getLeaves());
+    }
+    Assert.assertEquals(6, new Perft(BasicReversi::new, 4).run(1).getLeaves());
+  }
+
+  //tests that a game that ends before the depth counts as one leaf, including a game ended by
+  //two passes in a row, so counting deeper than any game lasts gives the number of games
+  @Test
+  public void testRun4() {
+    long games = new Perft(BasicReversi::new, 3).run(20).getLeaves();
+    Assert.assertEquals(games, new Perft(BasicReversi::new, 3).run(40).getLeaves());
+    ReversiModel model = new BasicReversi();
+    model.startGame(3);
+    Assert.assertEquals(this.countGames(model), games);
+  }
+
+  //tests that the same models agree everywhere
+  @Test
+  public void testCompare1() {
+    Assert.assertNull(new Perft(SquareReversi::new, 8).compare(BitboardSquareReversi::new, 4));
+    Assert.assertNull(new Perft(BasicReversi::new, 5).compare(BitboardHexReversi::new, 4));
+  }
+
+  //tests that a model with different rules is found, along with the moves that lead to it
+  @Test
+  public void testCompare2() {
+    String difference = new Perft(BasicReversi::new, 4).compare(
+        () -> new BasicReversi() {
+          //a model that forgets the last of the valid moves
+          @Override
+          public List<Cell> getValidMoves() {
+            List<Cell> moves = new ArrayList<>(super.getValidMoves());
+            if (moves.size() > 1) {
+              moves.remove(moves.size() - 1);
+            }
+            return moves;
+          }
+        }, 3);
+    Assert.assertNotNull(difference);
+    Assert.assertTrue(difference.startsWith("after start: valid moves"));
+  }
+
+
+  /**
+   * counts every game that can be played from the current position by making every move,
+   * without any of the shortcuts of a perft count.
+   * @param model the game being played, which is put back as it was.
+   * @return the number of games.
+   */
+  private long countGames(ReversiModel model) {
+    if (model.isGameOver()) {
+      return 1;
+    }
+    List<Cell> moves = model.getValidMoves();
+    if (moves.isEmpty()) {
+      model.applyPass();
+      long games = this.countGames(model);
+      model.undoMove();
+      return games;
+    }
+    long games = 0;
+    for (Cell move : moves) {
+      model.applyMove(move.getDiagonalPos(), move.getRowPos());
+      games += this.countGames(model);
+      model.undoMove();
+    }
+    return games;
+  }
+
+}
@@ -1,7 +1,13 @@
+import controller.ModelFeatures;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import model.AbstractReversiModel;
+import model.BoardSnapshot;
+import model.BoardView;
 import model.Cell;
+import model.ModelChange;
 import model.PlayerEnum;
 import model.ReversiModel;
 import model.SquareReversi;
@@ -327,6 +333,166 @@ public class TestSquareModel {
 
 
 
+  //TESTS FOR GET VALID MOVES:
+
+  //tests the valid moves of player X at the start of the game, in board order
+  @Test
+  public void testGetValidMoves1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(8);
+    List<Cell> valids = model.getValidMoves();
+    Assert.assertEquals(4, valids.size());
+    Assert.assertEquals(4, valids.get(0).getDiagonalPos());
+    Assert.assertEquals(2, valids.get(0).getRowPos());
+    Assert.assertEquals(3, valids.get(3).getDiagonalPos());
+    Assert.assertEquals(5, valids.get(3).getRowPos());
+  }
+
+  //tests that the valid moves of player O are updated after player X moves
+  @Test
+  public void testGetValidMoves2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(8);
+    model.playerMove(4, 2, PlayerEnum.X);
+    List<Cell> valids = model.getValidMoves();
+    Assert.assertEquals(3, valids.size());
+    for (Cell cell : valids) {
+      Assert.assertTrue(model.checkValid(cell.getDiagonalPos(), cell.getRowPos()));
+    }
+  }
+
+
+
+
+
+  //TESTS FOR GET BOARD VIEW:
+
+  //tests that the view has one row for every row of the board, with the cells in the same order
+  //as the game board
+  @Test
+  public void testGetBoardView1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    BoardView view = model.getBoardView();
+    Assert.assertEquals(6, view.getRowCount());
+    Assert.assertEquals(36, view.size());
+    ArrayList<ArrayList<Cell>> board = model.getGameBoard();
+    for (int row = 0; row < 6; row++) {
+      Assert.assertEquals(row * 6, view.getRowStart(row));
+      Assert.assertEquals(6, view.getRowLength(row));
+      for (int i = 0; i < 6; i++) {
+        Assert.assertEquals(board.get(row).get(i).getDiagonalPos(),
+            view.getDiagonalPos((row * 6) + i));
+        Assert.assertEquals(board.get(row).get(i).getRowPos(), view.getRowPos((row * 6) + i));
+      }
+    }
+  }
+
+  //tests that the view shows the state of every cell after a move is made
+  @Test
+  public void testGetBoardView2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    BoardView view = model.getBoardView();
+    model.playerMove(2, 0, PlayerEnum.X);
+    Assert.assertEquals(PlayerEnum.X, view.getStateAtPosn(2, 0));
+    for (int index = 0; index < view.size(); index++) {
+      Assert.assertEquals(model.getCellAtPosn(view.getDiagonalPos(index),
+          view.getRowPos(index)).toString(), view.getState(index).toString());
+    }
+  }
+
+  //tests that an exception is thrown for a row that is not on the board
+  @Test (expected = IndexOutOfBoundsException.class)
+  public void testGetBoardView3() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    model.getBoardView().getRowStart(4);
+  }
+
+
+
+
+
+  //TESTS FOR GET SNAPSHOT:
+
+  //tests that a snapshot of a square game has the cells and scores of the game, and does not
+  //change when another move is made
+  @Test
+  public void testGetSnapshot1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    model.playerMove(3, 1, PlayerEnum.X);
+    BoardSnapshot snapshot = model.getSnapshot();
+    Assert.assertTrue(snapshot.isSquareReversi());
+    Assert.assertEquals(6, snapshot.getRowCount());
+    for (int index = 0; index < snapshot.size(); index++) {
+      Assert.assertEquals(model.getCellAtPosn(snapshot.getDiagonalPos(index),
+          snapshot.getRowPos(index)).toString(), snapshot.getState(index).toString());
+    }
+    Assert.assertEquals(4, snapshot.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(1, snapshot.getPlayerScore(PlayerEnum.O));
+    model.playerMove(2, 1, PlayerEnum.O);
+    Assert.assertEquals(PlayerEnum.Empty, snapshot.getStateAtPosn(2, 1));
+    Assert.assertEquals(PlayerEnum.O, model.getSnapshot().getStateAtPosn(2, 1));
+  }
+
+  //tests that an exception is thrown for a position that is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetSnapshot2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    model.getSnapshot().getStateAtPosn(4, 0);
+  }
+
+
+
+
+
+  //TESTS FOR COUNT PIECES GAINED:
+
+  //plays random games, and checks before every move that the pieces counted for each valid move
+  //are the pieces that move turns over
+  @Test
+  public void testCountPiecesGained1() {
+    Random random = new Random(3);
+    for (int game = 0; game < 5; game++) {
+      ReversiModel model = new SquareReversi();
+      model.startGame(6);
+      while (!model.isGameOver()) {
+        List<Cell> valids = model.getValidMoves();
+        for (Cell cell : valids) {
+          int gained = model.countPiecesGained(cell.getDiagonalPos(), cell.getRowPos());
+          int before = model.getPlayerScore(PlayerEnum.O);
+          model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+          int after = model.getPlayerScore(PlayerEnum.O);
+          Assert.assertEquals(gained, Math.abs(after - before) - (after > before ? 1 : 0));
+          model.undoMove();
+        }
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+    }
+  }
+
+  //tests that an exception is thrown if the position is not on the board
+  @Test (expected = IllegalArgumentException.class)
+  public void testCountPiecesGained2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    model.countPiecesGained(6, 0);
+  }
+
+
+
+
+
+
   //TESTS FOR GET WINNER:
 
   //tests that an exception is thrown if the game is not started
@@ -418,6 +584,22 @@ public class TestSquareModel {
     Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.O));
   }
 
+  //tests that the scores follow the moves made and undone
+  @Test
+  public void testGetPlayerScore2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    Cell move = model.getValidMoves().get(0);
+    model.applyMove(move.getDiagonalPos(), move.getRowPos());
+    Assert.assertEquals(4, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(1, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(11, model.getPlayerScore(PlayerEnum.Empty));
+    model.undoMove();
+    Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.X));
+    Assert.assertEquals(2, model.getPlayerScore(PlayerEnum.O));
+    Assert.assertEquals(12, model.getPlayerScore(PlayerEnum.Empty));
+  }
+
 
 
 
@@ -459,5 +641,235 @@ public class TestSquareModel {
 
 
 
+  //TESTS FOR POSN ON EDGE
+
+  @Test
+  public void posnOnEdge1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    Assert.assertTrue(model.posnOnEdge(0, 0));
+    Assert.assertTrue(model.posnOnEdge(2, 0));
+    Assert.assertTrue(model.posnOnEdge(5, 3));
+    Assert.assertTrue(model.posnOnEdge(3, 5));
+    Assert.assertFalse(model.posnOnEdge(1, 1));
+    Assert.assertFalse(model.posnOnEdge(2, 3));
+    Assert.assertFalse(model.posnOnEdge(4, 4));
+  }
+
+
+
+  //TESTS FOR GET POSITION WEIGHT
+
+  //tests the weight of a corner, a cell next to a corner, an edge, and an inner cell
+  @Test
+  public void testGetPositionWeight1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    Assert.assertEquals(AbstractReversiModel.CORNER_WEIGHT, model.getPositionWeight(5, 0));
+    Assert.assertEquals(AbstractReversiModel.NEAR_CORNER_WEIGHT, model.getPositionWeight(4, 0));
+    Assert.assertEquals(AbstractReversiModel.NEAR_CORNER_WEIGHT, model.getPositionWeight(4, 1));
+    Assert.assertEquals(AbstractReversiModel.EDGE_WEIGHT, model.getPositionWeight(0, 2));
+    Assert.assertEquals(AbstractReversiModel.INNER_WEIGHT, model.getPositionWeight(2, 2));
+  }
+
+
+
+
+  //TESTS FOR SYMMETRIES AND THE CANONICAL KEY
+
+  //tests that a square board has 8 symmetries, and that each one moves a corner to a corner
+  //and is undone by its inverse
+  @Test
+  public void testTransformCell1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    Assert.assertEquals(8, model.getSymmetryCount());
+    for (int symmetry = 0; symmetry < model.getSymmetryCount(); symmetry++) {
+      Cell corner = model.transformCell(symmetry, 5, 0);
+      Assert.assertTrue(model.posnInCorner(corner.getDiagonalPos(), corner.getRowPos()));
+      Cell cell = model.transformCell(symmetry, 1, 2);
+      Assert.assertSame(model.getCellAtPosn(1, 2), model.transformCell(
+          model.inverseSymmetry(symmetry), cell.getDiagonalPos(), cell.getRowPos()));
+    }
+  }
+
+  //tests that a game and the same game reflected across its diagonal (which leaves the starting
+  //pieces where they are) always have the same canonical key, while their position keys differ
+  @Test
+  public void testGetCanonicalKey1() {
+    ReversiModel model = new SquareReversi();
+    ReversiModel reflected = new SquareReversi();
+    model.startGame(8);
+    reflected.startGame(8);
+    Random rand = new Random(11);
+    boolean differed = false;
+    while (!model.isGameOver()) {
+      Assert.assertEquals(model.getCanonicalKey(), reflected.getCanonicalKey());
+      differed |= model.getPositionKey() != reflected.getPositionKey();
+      List<Cell> valids = model.getValidMoves();
+      if (valids.isEmpty()) {
+        model.applyPass();
+        reflected.applyPass();
+      }
+      else {
+        Cell cell = valids.get(rand.nextInt(valids.size()));
+        Cell moved = model.transformCell(1, cell.getDiagonalPos(), cell.getRowPos());
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+        reflected.applyMove(moved.getDiagonalPos(), moved.getRowPos());
+      }
+    }
+    Assert.assertTrue(differed);
+  }
+
+
+
+
+  //TESTS FOR APPLY MOVE AND UNDO MOVE:
+
+  //tests that an exception is thrown if the game has not been started
+  @Test (expected = IllegalStateException.class)
+  public void testUndoMove1() {
+    ReversiModel model = new SquareReversi();
+    model.undoMove();
+  }
+
+  //tests that an exception is thrown if there is no move to undo
+  @Test (expected = IllegalStateException.class)
+  public void testUndoMove2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    model.applyMove(3, 1);
+    model.undoMove();
+    model.undoMove();
+  }
+
+  //tests that an exception is thrown for an invalid move
+  @Test (expected = IllegalStateException.class)
+  public void testApplyMove1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    model.applyMove(0, 0);
+  }
+
+  //tests that applying and undoing a move does not notify the listeners
+  @Test
+  public void testApplyMove2() {
+    ReversiModel model = new SquareReversi();
+    StringBuilder log = new StringBuilder();
+    model.addFeaturesListener(new ModelFeatures() {
+      public void modelChanged(ModelChange change) {
+        log.append("changed\n");
+      }
+
+      public void update() {
+        log.append("update\n");
+      }
+
+      public void notifyPlayerTurn() {
+        log.append("notify\n");
+      }
+
+      public void makeMoveIfAI() {
+        log.append("AI\n");
+      }
+
+      public void displayGameOver() {
+        log.append("game over\n");
+      }
+    });
+    model.startGame(6);
+    log.setLength(0);
+    model.applyMove(3, 1);
+    model.applyPass();
+    model.undoMove();
+    model.undoMove();
+    Assert.assertEquals("", log.toString());
+  }
+
+  //tests that applying a move changes the board like a player move, and undoing it changes
+  //the board back
+  @Test
+  public void testApplyMove3() {
+    ReversiModel model = new SquareReversi();
+    ReversiModel moved = new SquareReversi();
+    model.startGame(6);
+    moved.startGame(6);
+    String start = this.describe(model);
+    model.applyMove(3, 1);
+    moved.playerMove(3, 1, PlayerEnum.X);
+    Assert.assertEquals(this.describe(moved), this.describe(model));
+    model.undoMove();
+    Assert.assertEquals(start, this.describe(model));
+    Assert.assertEquals(PlayerEnum.X, model.getPlayerTurn());
+  }
+
+  //tests that two passes end the game, and undoing one of them does not
+  @Test
+  public void testApplyPass1() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    model.applyPass();
+    model.applyPass();
+    Assert.assertTrue(model.isGameOver());
+    model.undoMove();
+    Assert.assertFalse(model.isGameOver());
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+  }
+
+  //plays random games to the end, then undoes every move and checks each position on the way
+  //back is exactly the position that was played through
+  @Test
+  public void testUndoMove3() {
+    Random random = new Random(7);
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new SquareReversi();
+      model.startGame(6);
+      List<String> positions = new ArrayList<>();
+      while (!model.isGameOver()) {
+        positions.add(this.describe(model));
+        List<Cell> valids = model.getValidMoves();
+        if (valids.isEmpty()) {
+          model.applyPass();
+        }
+        else {
+          Cell move = valids.get(random.nextInt(valids.size()));
+          model.applyMove(move.getDiagonalPos(), move.getRowPos());
+        }
+      }
+      for (int i = positions.size() - 1; i >= 0; i--) {
+        model.undoMove();
+        Assert.assertEquals(positions.get(i), this.describe(model));
+      }
+    }
+  }
+
+
+  /**
+   * describes everything about a position that a move can change: the pieces on the board,
+   * the player turn, the scores, whether the game is over, and the valid moves.
+   * @param model the model being described.
+   * @return a string of the position.
+   */
+  private String describe(ReversiModel model) {
+    StringBuilder position = new StringBuilder();
+    for (ArrayList<Cell> list : model.getGameBoard()) {
+      for (Cell cell : list) {
+        position.append(cell.toString());
+      }
+      position.append("\n");
+    }
+    position.append(model.getPlayerTurn()).append(" ");
+    position.append(model.getPlayerScore(PlayerEnum.X)).append(" ");
+    position.append(model.getPlayerScore(PlayerEnum.O)).append(" ");
+    position.append(model.isGameOver()).append(" ");
+    for (Cell cell : model.getValidMoves()) {
+      position.append(cell.getDiagonalPos()).append(",").append(cell.getRowPos()).append(" ");
+    }
+    return position.toString();
+  }
+
+
+
+
 
 }
@@ -1,12 +1,29 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
 import model.BasicReversi;
+import model.Cell;
 import model.PlayerEnum;
+import model.ReversiModel;
+import model.SquareReversi;
 import org.junit.Assert;
 import org.junit.Test;
+import strategy.AlphaBetaSearch;
 import strategy.AvoidCorners;
 import strategy.CaptureMostPieces;
 import strategy.Coord;
+import strategy.EndgameSolver;
 import strategy.GoForCorners;
+import strategy.MonteCarloTreeSearch;
+import strategy.OpeningBook;
+import strategy.OpeningBookBuilder;
+import strategy.ParallelAlphaBetaSearch;
+import strategy.RolloutPolicy;
 import strategy.Strategy;
+import strategy.TranspositionTable;
+import strategy.TryTwo;
 
 
 /**
@@ -116,4 +133,478 @@ public class TestStrategy {
     Assert.assertEquals(expected1, actual1);
   }
 
+
+  //tests that an exception is thrown if it is not the player's turn
+  @Test (expected = IllegalArgumentException.class)
+  public void testAlphaBetaSearch1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    new AlphaBetaSearch().chooseMove(model, PlayerEnum.O);
+  }
+
+  //tests that an exception is thrown if the time budget is not positive
+  @Test (expected = IllegalArgumentException.class)
+  public void testAlphaBetaSearch2() {
+    new AlphaBetaSearch(0);
+  }
+
+  //tests that the search picks a valid move and does not change the model it searches
+  @Test
+  public void testAlphaBetaSearch3() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.playerMove(1, -2, PlayerEnum.X);
+    String board = model.getGameBoard().toString();
+    AlphaBetaSearch strategy = new AlphaBetaSearch(50);
+
+    Coord actual = strategy.chooseMove(model, PlayerEnum.O);
+    Assert.assertTrue(model.checkValid(actual.getDiagonalPos(), actual.getRowPos()));
+    Assert.assertEquals(board, model.getGameBoard().toString());
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+    Assert.assertTrue(strategy.getLastDepth() >= 1);
+  }
+
+  //tests that the search takes a corner that wins the game
+  @Test
+  public void testAlphaBetaSearch4() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    Strategy strategy = new AlphaBetaSearch();
+
+    model.playerMove(1, -2, PlayerEnum.X);
+    model.playerMove(-2, 1, PlayerEnum.O);
+    model.playerMove(-3, 2, PlayerEnum.X);
+    model.playerMove(-3, 1, PlayerEnum.O);
+
+    Coord actual = strategy.chooseMove(model, PlayerEnum.X);
+    Assert.assertEquals(new Coord(-3, 0), actual);
+  }
+
+  //plays a whole game on a small square board, where the search can see to the end of the game,
+  //against the capture most pieces strategy. the second player always wins a 4x4 game.
+  @Test
+  public void testAlphaBetaSearch5() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    Strategy first = new CaptureMostPieces();
+    AlphaBetaSearch second = new AlphaBetaSearch(1000);
+
+    while (!model.isGameOver()) {
+      Strategy strategy = (model.getPlayerTurn() == PlayerEnum.X) ? first : second;
+      Coord move = strategy.chooseMove(model, model.getPlayerTurn());
+      if (move == null) {
+        model.playerPass(model.getPlayerTurn());
+      }
+      else {
+        model.playerMove(move.getDiagonalPos(), move.getRowPos(), model.getPlayerTurn());
+      }
+    }
+    Assert.assertEquals(PlayerEnum.O, model.getWinner());
+    Assert.assertTrue(second.getLastDepth() < AlphaBetaSearch.DEFAULT_MAX_DEPTH);
+  }
+
+  //tests that a search sharing a table with an earlier search of the same position starts from
+  //what the earlier search found, and picks the same move
+  @Test
+  public void testAlphaBetaSearch6() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    TranspositionTable table = new TranspositionTable(1 << 12);
+    AlphaBetaSearch first = new AlphaBetaSearch(1000, 64, table);
+    AlphaBetaSearch second = new AlphaBetaSearch(1000, 64, table);
+
+    Coord firstMove = first.chooseMove(model, PlayerEnum.X);
+    Coord secondMove = second.chooseMove(model, PlayerEnum.X);
+    Assert.assertEquals(firstMove, secondMove);
+    Assert.assertTrue(second.getLastNodeCount() < first.getLastNodeCount());
+    long entry = table.probe(model.getPositionKey());
+    Assert.assertEquals(TranspositionTable.SOLVED, TranspositionTable.getDepth(entry));
+  }
+
+  //tests that an exception is thrown if the number of threads is not positive
+  @Test (expected = IllegalArgumentException.class)
+  public void testParallelAlphaBetaSearch1() {
+    new ParallelAlphaBetaSearch(100, 0);
+  }
+
+  //tests that the parallel search picks a valid move and does not change the model it searches
+  @Test
+  public void testParallelAlphaBetaSearch2() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    model.playerMove(1, -2, PlayerEnum.X);
+    String board = model.getGameBoard().toString();
+    ParallelAlphaBetaSearch strategy = new ParallelAlphaBetaSearch(50, 3);
+
+    Coord actual = strategy.chooseMove(model, PlayerEnum.O);
+    Assert.assertTrue(model.checkValid(actual.getDiagonalPos(), actual.getRowPos()));
+    Assert.assertEquals(board, model.getGameBoard().toString());
+    Assert.assertEquals(PlayerEnum.O, model.getPlayerTurn());
+    Assert.assertTrue(strategy.getLastDepth() >= 1);
+  }
+
+  //tests that the parallel search finds the same winning game as the search on one thread,
+  //when both can see to the end of the game
+  @Test
+  public void testParallelAlphaBetaSearch3() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    Strategy first = new CaptureMostPieces();
+    ParallelAlphaBetaSearch second = new ParallelAlphaBetaSearch(1000, 4);
+
+    while (!model.isGameOver()) {
+      Strategy strategy = (model.getPlayerTurn() == PlayerEnum.X) ? first : second;
+      Coord move = strategy.chooseMove(model, model.getPlayerTurn());
+      if (move == null) {
+        model.playerPass(model.getPlayerTurn());
+      }
+      else {
+        model.playerMove(move.getDiagonalPos(), move.getRowPos(), model.getPlayerTurn());
+      }
+    }
+    Assert.assertEquals(PlayerEnum.O, model.getWinner());
+  }
+
+  //tests that a parallel search closed through the strategy wrapping it cannot search again
+  @Test (expected = IllegalStateException.class)
+  public void testParallelAlphaBetaSearch4() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    ParallelAlphaBetaSearch search = new ParallelAlphaBetaSearch(50, 2);
+    Strategy strategy = new TryTwo(new EndgameSolver(), search);
+    Assert.assertNotNull(strategy.chooseMove(model, PlayerEnum.X));
+    strategy.close();
+    search.chooseMove(model, PlayerEnum.X);
+  }
+
+  //tests that an exception is thrown if it is not the player's turn
+  @Test (expected = IllegalArgumentException.class)
+  public void testMonteCarloTreeSearch1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    new MonteCarloTreeSearch().chooseMove(model, PlayerEnum.O);
+  }
+
+  //tests that an exception is thrown if the number of playouts is not positive
+  @Test (expected = IllegalArgumentException.class)
+  public void testMonteCarloTreeSearch2() {
+    new MonteCarloTreeSearch(RolloutPolicy.RANDOM, 0, 100);
+  }
+
+  //tests that the search stops at the playout limit, picks a valid move on both types of board,
+  //and does not change the model it searches
+  @Test
+  public void testMonteCarloTreeSearch3() {
+    for (ReversiModel model : new ReversiModel[] {new BasicReversi(), new SquareReversi()}) {
+      model.startGame(4);
+      String board = model.getGameBoard().toString();
+      MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(
+          RolloutPolicy.CAPTURE_MOST_PIECES, 300, 10000, new Random(1));
+
+      Coord actual = strategy.chooseMove(model, PlayerEnum.X);
+      Assert.assertTrue(model.checkValid(actual.getDiagonalPos(), actual.getRowPos()));
+      Assert.assertEquals(board, model.getGameBoard().toString());
+      Assert.assertEquals(300, strategy.getLastPlayoutCount());
+    }
+  }
+
+  //tests that the tree of one move is reused for the next move after the other player's reply
+  @Test
+  public void testMonteCarloTreeSearch4() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(
+        RolloutPolicy.RANDOM, 2000, 10000, new Random(1));
+
+    Coord first = strategy.chooseMove(model, PlayerEnum.X);
+    Assert.assertFalse(strategy.lastMoveReusedTree());
+    model.playerMove(first.getDiagonalPos(), first.getRowPos(), PlayerEnum.X);
+    Coord reply = new CaptureMostPieces().chooseMove(model, PlayerEnum.O);
+    model.playerMove(reply.getDiagonalPos(), reply.getRowPos(), PlayerEnum.O);
+    strategy.chooseMove(model, PlayerEnum.X);
+    Assert.assertTrue(strategy.lastMoveReusedTree());
+  }
+
+  //plays a whole hexagon game against the hard strategy, which the search wins
+  @Test
+  public void testMonteCarloTreeSearch5() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(5);
+    Strategy first = new MonteCarloTreeSearch(RolloutPolicy.RANDOM, 3000, 10000, new Random(3));
+    Strategy second = new TryTwo(new GoForCorners(),
+        new TryTwo(new AvoidCorners(), new CaptureMostPieces()));
+
+    while (!model.isGameOver()) {
+      Strategy strategy = (model.getPlayerTurn() == PlayerEnum.X) ? first : second;
+      Coord move = strategy.chooseMove(model, model.getPlayerTurn());
+      if (move == null) {
+        model.playerPass(model.getPlayerTurn());
+      }
+      else {
+        model.playerMove(move.getDiagonalPos(), move.getRowPos(), model.getPlayerTurn());
+      }
+    }
+    Assert.assertEquals(PlayerEnum.X, model.getWinner());
+  }
+
+  //tests that a new search still picks a valid move when the time budget runs out before any
+  //game has been played out
+  @Test
+  public void testMonteCarloTreeSearch6() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(8);
+    for (int i = 0; i < 200; i++) {
+      MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(RolloutPolicy.RANDOM,
+          Integer.MAX_VALUE, 1, new Random(i));
+      Coord move = strategy.chooseMove(model, PlayerEnum.X);
+      Assert.assertTrue(model.checkValid(move.getDiagonalPos(), move.getRowPos()));
+      Assert.assertTrue(strategy.getLastPlayoutCount() >= 1);
+    }
+  }
+
+
+  //tests that an exception is thrown if it is not the player's turn
+  @Test (expected = IllegalArgumentException.class)
+  public void testEndgameSolver1() {
+    BasicReversi model = new BasicReversi();
+    model.startGame(4);
+    new EndgameSolver().chooseMove(model, PlayerEnum.O);
+  }
+
+  //tests that an exception is thrown if the number of empty cells is not positive
+  @Test (expected = IllegalArgumentException.class)
+  public void testEndgameSolver2() {
+    new EndgameSolver(0, EndgameSolver.Mode.EXACT);
+  }
+
+  //tests that the solver does not pick a move while too many cells are empty
+  @Test
+  public void testEndgameSolver3() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(6);
+    Assert.assertNull(new EndgameSolver().chooseMove(model, PlayerEnum.X));
+  }
+
+  //tests that the solver finds the best result, and a move that gets it, on both boards,
+  //compared with searching every move without skipping any
+  @Test
+  public void testEndgameSolver4() {
+    Random rand = new Random(21);
+    int solved = 0;
+    for (int game = 0; game < 6; game++) {
+      ReversiModel model = (game % 2 == 0) ? new SquareReversi() : new BasicReversi();
+      model.startGame(game % 2 == 0 ? 6 : 4);
+      if (!this.playUntilEmpties(model, 8, rand)) {
+        continue;
+      }
+      EndgameSolver exact = new EndgameSolver(8, EndgameSolver.Mode.EXACT);
+      EndgameSolver winLossDraw = new EndgameSolver(8, EndgameSolver.Mode.WIN_LOSS_DRAW);
+      String board = model.getGameBoard().toString();
+
+      Coord move = exact.chooseMove(model, model.getPlayerTurn());
+      int best = this.fullSearch(model);
+      Assert.assertEquals(board, model.getGameBoard().toString());
+      Assert.assertEquals(best, exact.getLastScore());
+      model.applyMove(move.getDiagonalPos(), move.getRowPos());
+      Assert.assertEquals(best, -this.fullSearch(model));
+      model.undoMove();
+
+      Coord wldMove = winLossDraw.chooseMove(model, model.getPlayerTurn());
+      Assert.assertEquals(Integer.signum(best), winLossDraw.getLastScore());
+      model.applyMove(wldMove.getDiagonalPos(), wldMove.getRowPos());
+      Assert.assertEquals(Integer.signum(best), Integer.signum(-this.fullSearch(model)));
+      model.undoMove();
+      solved++;
+    }
+    Assert.assertTrue(solved >= 3);
+  }
+
+  //plays a whole 4x4 game, where the solver can see the whole game from the start, in front of
+  //the capture most pieces strategy. the second player always wins a 4x4 game.
+  @Test
+  public void testEndgameSolver5() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(4);
+    Strategy first = new CaptureMostPieces();
+    Strategy second = new TryTwo(new EndgameSolver(12, EndgameSolver.Mode.EXACT),
+        new CaptureMostPieces());
+
+    while (!model.isGameOver()) {
+      Strategy strategy = (model.getPlayerTurn() == PlayerEnum.X) ? first : second;
+      Coord move = strategy.chooseMove(model, model.getPlayerTurn());
+      if (move == null) {
+        model.playerPass(model.getPlayerTurn());
+      }
+      else {
+        model.playerMove(move.getDiagonalPos(), move.getRowPos(), model.getPlayerTurn());
+      }
+    }
+    Assert.assertEquals(PlayerEnum.O, model.getWinner());
+  }
+
+  //TESTS FOR OPENING BOOK:
+  //every position of the first moves is in the book, with a valid move
+  @Test
+  public void testOpeningBook1() throws IOException {
+    Path file = Files.createTempFile("square-4", ".book");
+    try {
+      SquareReversi model = new SquareReversi();
+      model.startGame(4);
+      int positions = new OpeningBookBuilder(new AlphaBetaSearch(50), 2).build(model, file);
+      OpeningBook book = new OpeningBook(file, new CaptureMostPieces());
+      Assert.assertEquals(positions, book.size());
+      //the start, and one position for the four first moves, which are all reflections or
+      //turns of each other
+      Assert.assertEquals(2, positions);
+
+      for (Cell cell : model.getValidMoves()) {
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+        Coord move = book.lookUp(model);
+        Assert.assertNotNull(move);
+        Assert.assertTrue(model.checkValid(move.getDiagonalPos(), move.getRowPos()));
+        Assert.assertEquals(move, book.chooseMove(model, model.getPlayerTurn()));
+        model.undoMove();
+      }
+      Assert.assertNotNull(book.lookUp(model));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  //a position after the first moves is not in the book, so the delegate picks the move
+  @Test
+  public void testOpeningBook2() throws IOException {
+    Path file = Files.createTempFile("square-4", ".book");
+    try {
+      SquareReversi model = new SquareReversi();
+      model.startGame(4);
+      new OpeningBookBuilder(new AlphaBetaSearch(50), 1).build(model, file);
+      OpeningBook book = new OpeningBook(file, new CaptureMostPieces());
+      Cell first = model.getValidMoves().get(0);
+      model.applyMove(first.getDiagonalPos(), first.getRowPos());
+
+      Assert.assertNull(book.lookUp(model));
+      Assert.assertEquals(new CaptureMostPieces().chooseMove(model, model.getPlayerTurn()),
+          book.chooseMove(model, model.getPlayerTurn()));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  //a book is not used for another kind or size of board
+  @Test
+  public void testOpeningBook3() throws IOException {
+    Path file = Files.createTempFile("square-4", ".book");
+    try {
+      SquareReversi model = new SquareReversi();
+      model.startGame(4);
+      new OpeningBookBuilder(new AlphaBetaSearch(50), 2).build(model, file);
+      OpeningBook book = new OpeningBook(file, new CaptureMostPieces());
+
+      SquareReversi bigger = new SquareReversi();
+      bigger.startGame(6);
+      Assert.assertNull(book.lookUp(bigger));
+      BasicReversi hexagon = new BasicReversi();
+      hexagon.startGame(4);
+      Assert.assertNull(book.lookUp(hexagon));
+      Assert.assertEquals(new CaptureMostPieces().chooseMove(hexagon, PlayerEnum.X),
+          book.chooseMove(hexagon, PlayerEnum.X));
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  //the score of a position is only stored for positions in the book
+  @Test (expected = IllegalArgumentException.class)
+  public void testOpeningBook4() throws IOException {
+    Path file = Files.createTempFile("hexagon-3", ".book");
+    try {
+      BasicReversi model = new BasicReversi();
+      model.startGame(3);
+      new OpeningBookBuilder(new AlphaBetaSearch(50), 1).build(model, file);
+      OpeningBook book = new OpeningBook(file, new CaptureMostPieces());
+      book.getScore(model);
+      Cell first = model.getValidMoves().get(0);
+      model.applyMove(first.getDiagonalPos(), first.getRowPos());
+      book.getScore(model);
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testOpeningBookNotABook() throws IOException {
+    Path file = Files.createTempFile("square-8", ".book");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17,
+          18, 19, 20});
+      new OpeningBook(file, new CaptureMostPieces());
+    }
+    finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testOpeningBookNoDepth() {
+    new OpeningBookBuilder(new AlphaBetaSearch(50), 0);
+  }
+
+  /**
+   * plays random moves until the given number of cells are empty and the player to move has a
+   * valid move.
+   * @param model a started game.
+   * @param empties the number of empty cells to stop at.
+   * @param rand the random moves.
+   * @return false if the game ended first.
+   */
+  private boolean playUntilEmpties(ReversiModel model, int empties, Random rand) {
+    while (!model.isGameOver()) {
+      List<Cell> valids = model.getValidMoves();
+      if (model.getPlayerScore(PlayerEnum.Empty) <= empties && !valids.isEmpty()) {
+        return true;
+      }
+      if (valids.isEmpty()) {
+        model.applyPass();
+      }
+      else {
+        Cell cell = valids.get(rand.nextInt(valids.size()));
+        model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      }
+    }
+    return false;
+  }
+
+  /**
+   * the best difference in pieces the player to move can get, found by searching every move
+   * to the end of the game.
+   * @param model the position searched, which is back in the same position afterward.
+   * @return the player's pieces minus the other player's pieces at the end of the game.
+   */
+  private int fullSearch(ReversiModel model) {
+    if (model.isGameOver()) {
+      PlayerEnum own = model.getPlayerTurn() == PlayerEnum.X ? PlayerEnum.X : PlayerEnum.O;
+      PlayerEnum other = (own == PlayerEnum.X) ? PlayerEnum.O : PlayerEnum.X;
+      return model.getPlayerScore(own) - model.getPlayerScore(other);
+    }
+    List<Cell> valids = model.getValidMoves();
+    if (valids.isEmpty()) {
+      model.applyPass();
+      int score = -this.fullSearch(model);
+      model.undoMove();
+      return score;
+    }
+    int best = Integer.MIN_VALUE;
+    for (Cell cell : valids) {
+      model.applyMove(cell.getDiagonalPos(), cell.getRowPos());
+      best = Math.max(best, -this.fullSearch(model));
+      model.undoMove();
+    }
+    return best;
+  }
+
 }
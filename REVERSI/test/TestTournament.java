@@ -0,0 +1,103 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import model.BasicReversi;
+import model.Player;
+import model.ReadOnlyReversiModel;
+import model.SquareReversi;
+import org.junit.Assert;
+import org.junit.Test;
+import strategy.AvoidCorners;
+import strategy.CaptureMostPieces;
+import strategy.Coord;
+import strategy.GoForCorners;
+import strategy.Strategy;
+import strategy.TryTwo;
+import tournament.Tournament;
+import tournament.TournamentResult;
+
+
+/**
+ * Tests for a tournament between two strategies.
+ */
+public class TestTournament {
+
+  //tests that an exception is thrown for a missing strategy
+  @Test (expected = IllegalArgumentException.class)
+  public void testConstructor1() {
+    new Tournament(BasicReversi::new, 3, CaptureMostPieces::new, null, 1);
+  }
+
+  //tests that an exception is thrown for a tournament with no threads
+  @Test (expected = IllegalArgumentException.class)
+  public void testConstructor2() {
+    new Tournament(BasicReversi::new, 3, CaptureMostPieces::new, CaptureMostPieces::new, 0);
+  }
+
+  //tests that an exception is thrown for a tournament of no games
+  @Test (expected = IllegalArgumentException.class)
+  public void testPlay1() {
+    new Tournament(BasicReversi::new, 3, CaptureMostPieces::new, CaptureMostPieces::new, 1)
+        .play(0);
+  }
+
+  //tests that every game is counted once, and that a strategy playing itself with the colors
+  //swapped every game finishes even
+  @Test
+  public void testPlay2() {
+    TournamentResult result = new Tournament(BasicReversi::new, 4, CaptureMostPieces::new,
+        CaptureMostPieces::new, 3).play(10);
+    Assert.assertEquals(10, result.getGames());
+    Assert.assertEquals(result.getWins(), result.getLosses());
+    Assert.assertEquals(0, result.getAverageDiscDifferential(), 0);
+    Assert.assertTrue(result.getGamesPerSecond() > 0);
+  }
+
+  //tests that the results are from the side of the first strategy, on a square board
+  @Test
+  public void testPlay3() {
+    TournamentResult forward = new Tournament(SquareReversi::new, 6, CaptureMostPieces::new,
+        () -> new TryTwo(new GoForCorners(), new TryTwo(new AvoidCorners(),
+            new CaptureMostPieces())), 2).play(4);
+    TournamentResult backward = new Tournament(SquareReversi::new, 6,
+        () -> new TryTwo(new GoForCorners(), new TryTwo(new AvoidCorners(),
+            new CaptureMostPieces())), CaptureMostPieces::new, 2).play(4);
+    Assert.assertEquals(4, forward.getGames());
+    Assert.assertEquals(forward.getWins(), backward.getLosses());
+    Assert.assertEquals(forward.getDraws(), backward.getDraws());
+    Assert.assertEquals(forward.getAverageDiscDifferential(),
+        -backward.getAverageDiscDifferential(), 0);
+  }
+
+  //tests that a strategy picking a move that is not valid stops the tournament
+  @Test (expected = IllegalStateException.class)
+  public void testPlay4() {
+    new Tournament(BasicReversi::new, 3, () -> (model, player) -> new Coord(0, 0),
+        CaptureMostPieces::new, 1).play(1);
+  }
+
+  //tests that the strategies made for each game are closed once the game is over
+  @Test
+  public void testPlay5() {
+    AtomicInteger made = new AtomicInteger();
+    AtomicInteger closed = new AtomicInteger();
+    TournamentResult result = new Tournament(BasicReversi::new, 3, () -> {
+      made.incrementAndGet();
+      return new Strategy() {
+        private final Strategy strategy = new CaptureMostPieces();
+
+        @Override
+        public Coord chooseMove(ReadOnlyReversiModel model, Player player) {
+          return this.strategy.chooseMove(model, player);
+        }
+
+        @Override
+        public void close() {
+          closed.incrementAndGet();
+        }
+      };
+    }, CaptureMostPieces::new, 2).play(6);
+    Assert.assertEquals(6, result.getGames());
+    Assert.assertEquals(6, made.get());
+    Assert.assertEquals(6, closed.get());
+  }
+
+}
@@ -0,0 +1,91 @@
+import org.junit.Assert;
+import org.junit.Test;
+import strategy.Coord;
+import strategy.TranspositionTable;
+
+
+/**
+ * Tests for a transposition table.
+ */
+public class TestTranspositionTable {
+
+  //tests that an exception is thrown for a table with no entries
+  @Test (expected = IllegalArgumentException.class)
+  public void testConstructor1() {
+    new TranspositionTable(0);
+  }
+
+  //tests that the size is rounded up to a power of two
+  @Test
+  public void testConstructor2() {
+    Assert.assertEquals(8, new TranspositionTable(5).size());
+    Assert.assertEquals(8, new TranspositionTable(8).size());
+  }
+
+  //tests that a position that was never stored is not found
+  @Test
+  public void testProbe1() {
+    TranspositionTable table = new TranspositionTable(16);
+    Assert.assertEquals(0, table.probe(12345L));
+  }
+
+  //tests that everything stored for a position is found again, including negative scores and
+  //negative (hexagon) move positions
+  @Test
+  public void testProbe2() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(12345L, 7, -250, TranspositionTable.LOWER_BOUND, new Coord(-3, 2));
+    long entry = table.probe(12345L);
+    Assert.assertNotEquals(0, entry);
+    Assert.assertEquals(7, TranspositionTable.getDepth(entry));
+    Assert.assertEquals(-250, TranspositionTable.getScore(entry));
+    Assert.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+    Assert.assertEquals(new Coord(-3, 2), TranspositionTable.getMove(entry));
+  }
+
+  //tests that a position in the same slot as a stored one is not mistaken for it
+  @Test
+  public void testProbe3() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 3, 10, TranspositionTable.EXACT, null);
+    Assert.assertEquals(0, table.probe(17L));
+    Assert.assertNull(TranspositionTable.getMove(table.probe(1L)));
+  }
+
+  //tests that a deeper entry of the same search is not replaced by a shallower one, but is by a
+  //shallower one from a newer search
+  @Test
+  public void testStore1() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 6, 10, TranspositionTable.EXACT, new Coord(1, 1));
+    table.store(17L, 2, 20, TranspositionTable.EXACT, new Coord(2, 2));
+    Assert.assertEquals(6, TranspositionTable.getDepth(table.probe(1L)));
+    Assert.assertEquals(0, table.probe(17L));
+
+    table.newSearch();
+    table.store(17L, 2, 20, TranspositionTable.EXACT, new Coord(2, 2));
+    Assert.assertEquals(0, table.probe(1L));
+    Assert.assertEquals(20, TranspositionTable.getScore(table.probe(17L)));
+  }
+
+  //tests that storing a position again without a move keeps its earlier best move
+  @Test
+  public void testStore2() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 2, 10, TranspositionTable.EXACT, new Coord(4, 5));
+    table.store(1L, 3, 12, TranspositionTable.UPPER_BOUND, null);
+    long entry = table.probe(1L);
+    Assert.assertEquals(3, TranspositionTable.getDepth(entry));
+    Assert.assertEquals(new Coord(4, 5), TranspositionTable.getMove(entry));
+  }
+
+  //tests that clearing the table removes every entry
+  @Test
+  public void testClear() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 2, 10, TranspositionTable.EXACT, null);
+    table.clear();
+    Assert.assertEquals(0, table.probe(1L));
+  }
+
+}
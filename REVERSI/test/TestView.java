@@ -1,9 +1,22 @@
+import controller.ModelFeatures;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import model.Cell;
+import model.ModelChange;
 import model.PlayerEnum;
+import model.ReversiModel;
+import model.SquareReversi;
 import org.junit.Assert;
 import org.junit.Test;
 
 import model.BasicReversi;
 import view.ReversiTextualView;
+import view.gui.AbstractReversiPanel;
+import view.gui.ReversiPanel;
+import view.gui.SquareReversiPanel;
 
 /**
  * Test methods of the View class.
@@ -128,4 +141,123 @@ public class TestView {
         "  _ _ _ \n";
     Assert.assertEquals(modelBoardSecondMove, modelView.toString());
   }
+
+
+
+  //TESTS FOR REPAINTING ONLY THE CHANGED CELLS:
+
+  /**
+   * adds a listener to the model that records every change it is told about.
+   * @param model the model listened to.
+   * @return the changes, in the order the model made them.
+   */
+  private List<ModelChange> recordChanges(ReversiModel model) {
+    List<ModelChange> changes = new ArrayList<>();
+    model.addFeaturesListener(new ModelFeatures() {
+      public void modelChanged(ModelChange change) {
+        changes.add(change);
+      }
+
+      public void update() {
+        //only the changes are recorded
+      }
+
+      public void notifyPlayerTurn() {
+        //only the changes are recorded
+      }
+
+      public void makeMoveIfAI() {
+        //only the changes are recorded
+      }
+
+      public void displayGameOver() {
+        //only the changes are recorded
+      }
+    });
+    return changes;
+  }
+
+  /**
+   * paints the panel onto an image, only inside the given area.
+   * @param panel the panel painted.
+   * @param image the image painted on.
+   * @param clip the area painted, or null for the whole panel.
+   */
+  private void paint(AbstractReversiPanel panel, BufferedImage image, Rectangle clip) {
+    Graphics2D graphics = image.createGraphics();
+    if (clip != null) {
+      graphics.setClip(clip);
+    }
+    panel.paintComponent(graphics);
+    graphics.dispose();
+  }
+
+  /**
+   * checks that repainting only the area a move asks to repaint gives the same picture as
+   * repainting the whole panel.
+   * @param model the started model the panel shows, where X can move to the given position.
+   * @param panel the panel of the model, which records the areas it is asked to repaint.
+   * @param repainted the areas the panel is asked to repaint.
+   * @param diagonalPos the diagonal position of the move.
+   * @param rowPos the row position of the move.
+   */
+  private void checkRepaintCells(ReversiModel model, AbstractReversiPanel panel,
+      List<Rectangle> repainted, int diagonalPos, int rowPos) {
+    List<ModelChange> changes = this.recordChanges(model);
+    panel.setSize(500, 500);
+    BufferedImage before = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB);
+    this.paint(panel, before, null);
+
+    model.playerMove(diagonalPos, rowPos, PlayerEnum.X);
+    panel.repaintCells(changes.get(0));
+    Assert.assertEquals(1 + changes.get(0).getFlipCount(), repainted.size());
+    Rectangle dirty = new Rectangle(repainted.get(0));
+    for (Rectangle area : repainted) {
+      dirty.add(area);
+    }
+    //the dirty area is only a small part of the panel
+    Assert.assertTrue(dirty.width * dirty.height < 500 * 500 / 4);
+
+    BufferedImage full = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB);
+    this.paint(panel, full, null);
+    for (Rectangle area : repainted) {
+      this.paint(panel, before, area);
+    }
+    for (int x = 0; x < 500; x++) {
+      for (int y = 0; y < 500; y++) {
+        Assert.assertEquals(full.getRGB(x, y), before.getRGB(x, y));
+      }
+    }
+  }
+
+  //tests that repainting the cells a move changed on a hexagon board shows the move
+  @Test
+  public void testRepaintCells1() {
+    ReversiModel model = new BasicReversi();
+    model.startGame(4);
+    List<Rectangle> repainted = new ArrayList<>();
+    ReversiPanel panel = new ReversiPanel(model) {
+      @Override
+      public void repaint(Rectangle area) {
+        repainted.add(area);
+      }
+    };
+    this.checkRepaintCells(model, panel, repainted, 1, -2);
+  }
+
+  //tests that repainting the cells a move changed on a square board shows the move
+  @Test
+  public void testRepaintCells2() {
+    ReversiModel model = new SquareReversi();
+    model.startGame(8);
+    List<Rectangle> repainted = new ArrayList<>();
+    SquareReversiPanel panel = new SquareReversiPanel(model) {
+      @Override
+      public void repaint(Rectangle area) {
+        repainted.add(area);
+      }
+    };
+    Cell move = model.getValidMoves().get(0);
+    this.checkRepaintCells(model, panel, repainted, move.getDiagonalPos(), move.getRowPos());
+  }
 }
\ No newline at end of file